@@ -0,0 +1,50 @@
+package org.alumni.benchmarks;
+
+import org.alumni.model.Role;
+import org.alumni.model.User;
+import org.alumni.security.JwtTokenProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+
+/**
+ * Builds application objects outside a Spring context, the way the container would.
+ */
+final class BenchmarkFixtures {
+
+    // 64 random-looking bytes, enough for HS512.
+    static final String JWT_SECRET = Base64.getEncoder().encodeToString(
+            "benchmark-secret-benchmark-secret-benchmark-secret-benchmark-sec".getBytes());
+
+    static final long SEVEN_DAYS_MILLIS = 604_800_000L;
+
+    private BenchmarkFixtures() {
+    }
+
+    static JwtTokenProvider jwtTokenProvider() {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", JWT_SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpirationDate", SEVEN_DAYS_MILLIS);
+        ReflectionTestUtils.invokeMethod(provider, "init");
+        return provider;
+    }
+
+    static User user() {
+        User user = new User();
+        user.setId("665f1c2e8b3e4a6d2c9f0a11");
+        user.setName("Asha Rao");
+        user.setEmail("asha.rao@example.com");
+        user.setPhone("+91-9000000000");
+        user.setPassword("{bcrypt}$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z7DgJ6.9g0bLr8vJ1CBPe8p2");
+        user.setRole(Role.ROLE_ALUMNI);
+        user.setCompanyName("Example Corp");
+        user.setCompanyRole("Software Engineer");
+        return user;
+    }
+
+    static Authentication authentication(User user) {
+        return new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+    }
+}
@@ -0,0 +1,116 @@
+package org.alumni.benchmarks;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.alumni.metrics.AuthMetrics;
+import org.alumni.model.User;
+import org.alumni.security.JwtAuthenticationFilter;
+import org.alumni.security.JwtTokenProvider;
+import org.alumni.security.PrincipalSource;
+import org.alumni.security.RevokedTokenRegistry;
+import org.alumni.security.SecurityEventRecorder;
+import org.alumni.security.TokenVerification;
+import org.alumni.security.VerifiedTokenCache;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.security.Key;
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of rejecting bad tokens, as seen during token spraying.
+ * {@code legacyVerify} reproduces the previous exception-per-rejection path: jjwt's default
+ * parser plus the message string that used to be logged at ERROR. The log write itself is left
+ * out so the JMH output stays readable, which makes the legacy numbers optimistic.
+ * {@code verify} is the current provider, and {@code filter} the whole filter pass, including
+ * the security event counter.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class InvalidTokenBenchmark {
+
+    public enum Kind {
+        EXPIRED,
+        BAD_SIGNATURE,
+        TRUNCATED,
+        GARBAGE
+    }
+
+    @Param({"EXPIRED", "BAD_SIGNATURE", "TRUNCATED", "GARBAGE"})
+    public Kind kind;
+
+    private JwtTokenProvider provider;
+    private JwtParser legacyParser;
+    private JwtAuthenticationFilter filter;
+    private String token;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private final FilterChain chain = (req, res) -> { };
+
+    @Setup
+    public void setUp() {
+        provider = BenchmarkFixtures.jwtTokenProvider();
+        Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(BenchmarkFixtures.JWT_SECRET));
+        legacyParser = Jwts.parserBuilder().setSigningKey(key).build();
+
+        User user = BenchmarkFixtures.user();
+        String valid = provider.generateToken(BenchmarkFixtures.authentication(user));
+        token = switch (kind) {
+            case EXPIRED -> Jwts.builder()
+                    .setSubject(user.getEmail())
+                    .setIssuedAt(new Date(System.currentTimeMillis() - 120_000))
+                    .setExpiration(new Date(System.currentTimeMillis() - 60_000))
+                    .signWith(key)
+                    .compact();
+            case BAD_SIGNATURE -> Jwts.builder()
+                    .setSubject(user.getEmail())
+                    .setExpiration(new Date(System.currentTimeMillis() + 3_600_000))
+                    .signWith(Keys.hmacShaKeyFor(new byte[64]))
+                    .compact();
+            case TRUNCATED -> valid.substring(0, valid.lastIndexOf('.'));
+            case GARBAGE -> "definitely not a token " + valid.substring(0, 40);
+        };
+
+        filter = new JwtAuthenticationFilter(provider, username -> user,
+                new VerifiedTokenCache(true, 10_000, Duration.ofMinutes(15)),
+                new RevokedTokenRegistry(null, null, new SimpleMeterRegistry(), 0.001),
+                new AuthMetrics(new SimpleMeterRegistry()),
+                new SecurityEventRecorder(new SimpleMeterRegistry(), 1),
+                PrincipalSource.TOKEN);
+        request = new MockHttpServletRequest("GET", "/api/users/me");
+        request.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public void legacyVerify(Blackhole blackhole) {
+        try {
+            blackhole.consume(legacyParser.parseClaimsJws(token).getBody());
+        } catch (ExpiredJwtException e) {
+            blackhole.consume("JWT token is expired: " + e.getMessage());
+        } catch (JwtException | IllegalArgumentException e) {
+            blackhole.consume("Invalid JWT token: " + e.getMessage());
+        }
+    }
+
+    @Benchmark
+    public TokenVerification verify() {
+        return provider.verify(token);
+    }
+
+    @Benchmark
+    public void filter() throws Exception {
+        filter.doFilter(request, response, chain);
+    }
+}
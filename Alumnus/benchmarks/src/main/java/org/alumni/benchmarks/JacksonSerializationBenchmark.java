@@ -0,0 +1,52 @@
+package org.alumni.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.alumni.dto.ApiResponse;
+import org.alumni.dto.JwtAuthResponse;
+import org.alumni.model.User;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization cost of the auth API's response bodies, using an ObjectMapper
+ * configured the way Spring MVC configures its own.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class JacksonSerializationBenchmark {
+
+    private ObjectWriter writer;
+    private JwtAuthResponse jwtAuthResponse;
+    private ApiResponse apiResponse;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writer();
+        jwtAuthResponse = new JwtAuthResponse(BenchmarkFixtures.jwtTokenProvider()
+                .generateToken(BenchmarkFixtures.authentication(BenchmarkFixtures.user())));
+        apiResponse = new ApiResponse(true, "User registered successfully!");
+        user = BenchmarkFixtures.user();
+    }
+
+    @Benchmark
+    public byte[] jwtAuthResponse() throws JsonProcessingException {
+        return writer.writeValueAsBytes(jwtAuthResponse);
+    }
+
+    @Benchmark
+    public byte[] apiResponse() throws JsonProcessingException {
+        return writer.writeValueAsBytes(apiResponse);
+    }
+
+    @Benchmark
+    public byte[] user() throws JsonProcessingException {
+        return writer.writeValueAsBytes(user);
+    }
+}
@@ -0,0 +1,67 @@
+package org.alumni.benchmarks;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.alumni.metrics.AuthMetrics;
+import org.alumni.model.User;
+import org.alumni.security.JwtAuthenticationFilter;
+import org.alumni.security.JwtTokenProvider;
+import org.alumni.security.PrincipalSource;
+import org.alumni.security.RevokedTokenRegistry;
+import org.alumni.security.SecurityEventRecorder;
+import org.alumni.security.VerifiedTokenCache;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A full pass through the JWT filter for an authenticated request.
+ * The UserDetailsService is a stub that returns a fixed user, so DATABASE mode
+ * measures the filter's own overhead rather than a real Mongo round trip.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"TOKEN", "DATABASE"})
+    public PrincipalSource principalSource;
+
+    @Param({"true", "false"})
+    public boolean tokenCache;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private final FilterChain chain = (req, res) -> { };
+
+    @Setup
+    public void setUp() {
+        JwtTokenProvider provider = BenchmarkFixtures.jwtTokenProvider();
+        User user = BenchmarkFixtures.user();
+        UserDetailsService userDetailsService = username -> user;
+        VerifiedTokenCache cache = new VerifiedTokenCache(tokenCache, 10_000, Duration.ofMinutes(15));
+        // Nothing is revoked, so the registry answers from its Bloom filter and never reaches the repository.
+        RevokedTokenRegistry revokedTokens = new RevokedTokenRegistry(null, null, new SimpleMeterRegistry(), 0.001);
+        filter = new JwtAuthenticationFilter(provider, userDetailsService, cache, revokedTokens,
+                new AuthMetrics(new SimpleMeterRegistry()), new SecurityEventRecorder(new SimpleMeterRegistry(), 1),
+                principalSource);
+
+        request = new MockHttpServletRequest("GET", "/api/users/me");
+        request.addHeader("Authorization", "Bearer " + provider.generateToken(BenchmarkFixtures.authentication(user)));
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Object doFilter() throws Exception {
+        filter.doFilter(request, response, chain);
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
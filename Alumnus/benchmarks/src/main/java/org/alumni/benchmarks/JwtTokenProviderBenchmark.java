@@ -0,0 +1,78 @@
+package org.alumni.benchmarks;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.alumni.security.JwtTokenProvider;
+import org.alumni.security.TokenVerification;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.security.core.Authentication;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token signing and verification throughput, on one thread unless -t is passed, so ops/sec is per core.
+ * 'validateThenGetUsername' is the two-pass sequence the filter used before verify() existed.
+ * 'legacyValidateThenGetUsername' is that sequence as it was before the key and parser were
+ * built at startup: each pass decodes the secret and builds a parser. Comparing it with 'verify'
+ * gives the before/after figure for single-pass verification.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class JwtTokenProviderBenchmark {
+
+    private JwtTokenProvider provider;
+    private Authentication authentication;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        provider = BenchmarkFixtures.jwtTokenProvider();
+        authentication = BenchmarkFixtures.authentication(BenchmarkFixtures.user());
+        token = provider.generateToken(authentication);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return provider.generateToken(authentication);
+    }
+
+    @Benchmark
+    public TokenVerification verify() {
+        return provider.verify(token);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return provider.validateToken(token);
+    }
+
+    @Benchmark
+    public String getUsername() {
+        return provider.getUsername(token);
+    }
+
+    @Benchmark
+    public void legacyValidateThenGetUsername(Blackhole blackhole) {
+        Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(BenchmarkFixtures.JWT_SECRET)))
+                .build()
+                .parse(token);
+        Claims claims = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(BenchmarkFixtures.JWT_SECRET)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+        blackhole.consume(claims.getSubject());
+    }
+
+    @Benchmark
+    public void validateThenGetUsername(Blackhole blackhole) {
+        if (provider.validateToken(token)) {
+            blackhole.consume(provider.getUsername(token));
+        }
+    }
+}
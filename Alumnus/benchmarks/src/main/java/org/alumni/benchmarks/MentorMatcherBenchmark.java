@@ -0,0 +1,97 @@
+package org.alumni.benchmarks;
+
+import org.alumni.matching.MentorMatcher;
+import org.alumni.matching.MentorSnapshot;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The nightly mentor matching run at 100k students and 50k alumni, top 10 each, on a
+ * fork/join pool with one thread per core; students per second is students divided by the
+ * time per run. Also the on-demand match of a single student.
+ * <p>
+ * Colleges, branches, companies and titles are drawn with a skew, as in real data, where a
+ * few large colleges and employers account for most people. Alumni fill in their college and
+ * branch four times in five.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class MentorMatcherBenchmark {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MentorMatcherBenchmark.class);
+
+    private static final int COLLEGES = 800;
+    private static final int BRANCHES = 25;
+    private static final int COMPANIES = 6_000;
+    private static final int TITLES = 400;
+    private static final int MENTORS_PER_STUDENT = 10;
+
+    @Param("100000")
+    public int students;
+
+    @Param("50000")
+    public int alumni;
+
+    private MentorMatcher matcher;
+    private String[] studentIds;
+    private String[] studentColleges;
+    private String[] studentBranches;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        MentorSnapshot.Builder builder = MentorSnapshot.builder();
+        for (int i = 0; i < alumni; i++) {
+            boolean education = random.nextInt(5) != 0;
+            builder.add("a" + i, "Alumnus " + i,
+                    "Company " + skewed(random, COMPANIES), "Title " + skewed(random, TITLES),
+                    education ? "College " + skewed(random, COLLEGES) : null,
+                    education ? "Branch " + skewed(random, BRANCHES) : null);
+        }
+        MentorSnapshot snapshot = builder.build();
+        matcher = new MentorMatcher(snapshot);
+
+        studentIds = new String[students];
+        studentColleges = new String[students];
+        studentBranches = new String[students];
+        for (int i = 0; i < students; i++) {
+            studentIds[i] = "s" + i;
+            studentColleges[i] = "College " + skewed(random, COLLEGES);
+            studentBranches[i] = "Branch " + skewed(random, BRANCHES);
+        }
+        pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        LOGGER.info("MentorSnapshot: {} alumni, ~{} MB estimated; {} threads",
+                snapshot.size(), snapshot.estimatedBytes() / (1024 * 1024), pool.getParallelism());
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public MentorMatcher.Result matchAllStudents() {
+        return matcher.matchAll(studentIds, studentColleges, studentBranches, MENTORS_PER_STUDENT, pool);
+    }
+
+    @Benchmark
+    public List<MentorMatcher.Mentor> matchOneStudent() {
+        return matcher.match(studentIds[0], studentColleges[0], studentBranches[0], MENTORS_PER_STUDENT);
+    }
+
+    /**
+     * Picks 0..n-1 with roughly Zipf-like weights: low values are much more common.
+     */
+    private static int skewed(Random random, int n) {
+        return (int) Math.min(n - 1, Math.floor(Math.pow(n, random.nextDouble())) - 1);
+    }
+}
@@ -0,0 +1,128 @@
+package org.alumni.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.Jwts;
+import org.alumni.model.User;
+import org.alumni.security.JwtTokenProvider;
+import org.alumni.social.SocialIdentity;
+import org.alumni.social.SocialLoginProperties;
+import org.alumni.social.SocialTokenVerifier;
+import org.alumni.social.SocialTokenVerifiers;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Social logins per second, minus the MongoDB upsert: verifying a provider ID token against
+ * cached keys, and that plus issuing our own access token. Keys are served by a local JWKS
+ * stand-in; {@code jwksFetches} is logged at teardown to show logins did not hit it.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class SocialLoginBenchmark {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SocialLoginBenchmark.class);
+
+    private static final String ISSUER = "https://accounts.example.com";
+    private static final String CLIENT_ID = "benchmark-client";
+
+    private final AtomicInteger jwksFetches = new AtomicInteger();
+    private HttpServer jwksServer;
+    private SocialTokenVerifiers verifiers;
+    private JwtTokenProvider jwtTokenProvider;
+    private User user;
+    private String idToken;
+
+    @Setup
+    public void setUp() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+        byte[] jwks = jwks((RSAPublicKey) keyPair.getPublic(), "benchmark-key");
+
+        jwksServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        jwksServer.createContext("/certs", exchange -> {
+            jwksFetches.incrementAndGet();
+            exchange.getResponseHeaders().add("Cache-Control", "public, max-age=3600");
+            exchange.sendResponseHeaders(200, jwks.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(jwks);
+            }
+        });
+        jwksServer.start();
+
+        SocialLoginProperties.Provider provider = new SocialLoginProperties.Provider();
+        provider.setJwksUri(URI.create("http://127.0.0.1:" + jwksServer.getAddress().getPort() + "/certs"));
+        provider.setIssuers(List.of(ISSUER));
+        provider.setAudiences(List.of(CLIENT_ID));
+        SocialLoginProperties properties = new SocialLoginProperties();
+        properties.getProviders().put("example", provider);
+        verifiers = new SocialTokenVerifiers(properties, new ObjectMapper(),
+                new StaticListableBeanFactory().getBeanProvider(SocialTokenVerifier.class));
+        verifiers.refreshKeys();
+
+        jwtTokenProvider = BenchmarkFixtures.jwtTokenProvider();
+        user = BenchmarkFixtures.user();
+        idToken = Jwts.builder()
+                .setHeaderParam("kid", "benchmark-key")
+                .setIssuer(ISSUER)
+                .setAudience(CLIENT_ID)
+                .setSubject("1234567890")
+                .claim("email", user.getEmail())
+                .claim("email_verified", true)
+                .claim("name", user.getName())
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(keyPair.getPrivate())
+                .compact();
+    }
+
+    @TearDown
+    public void tearDown() {
+        jwksServer.stop(0);
+        LOGGER.info("JWKS fetches: {}", jwksFetches.get());
+    }
+
+    @Benchmark
+    public SocialIdentity verify() {
+        return verifiers.verify("example", idToken);
+    }
+
+    @Benchmark
+    public String verifyAndIssue() {
+        verifiers.verify("example", idToken);
+        return jwtTokenProvider.generateToken(BenchmarkFixtures.authentication(user));
+    }
+
+    private static byte[] jwks(RSAPublicKey key, String keyId) {
+        String json = "{\"keys\":[{\"kty\":\"RSA\",\"use\":\"sig\",\"alg\":\"RS256\",\"kid\":\"" + keyId + "\","
+                + "\"n\":\"" + base64url(key.getModulus()) + "\",\"e\":\"" + base64url(key.getPublicExponent()) + "\"}]}";
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String base64url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes[0] == 0 && bytes.length > 1) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,82 @@
+package org.alumni.benchmarks;
+
+import org.alumni.search.UserSearchIndex;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookup latency of the user search index at a million users.
+ * Names are built from random syllables so that, as with real names, each prefix matches
+ * a small slice of the index. The index's estimated footprint is logged after setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class UserSearchIndexBenchmark {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UserSearchIndexBenchmark.class);
+
+    private static final String[] SYLLABLES = {"an", "ar", "be", "ca", "da", "el", "fa", "go", "ha", "in",
+            "ja", "ka", "li", "ma", "ne", "or", "pa", "ri", "sa", "ta", "ul", "va", "wi", "ya", "zo",
+            "ch", "sh", "th", "ro", "mi"};
+    private static final String[] COMPANY_SUFFIXES = {"labs", "systems", "technologies"};
+
+    @Param("1000000")
+    public int users;
+
+    private UserSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        String[] companies = new String[5_000];
+        for (int i = 0; i < companies.length; i++) {
+            companies[i] = word(random, 3) + " " + COMPANY_SUFFIXES[i % COMPANY_SUFFIXES.length];
+        }
+        index = new UserSearchIndex();
+        for (int i = 0; i < users; i++) {
+            String name = word(random, 2 + random.nextInt(2)) + " " + word(random, 2 + random.nextInt(2));
+            index.put(Integer.toString(i), name, companies[random.nextInt(companies.length)]);
+        }
+        LOGGER.info("UserSearchIndex: {} users, ~{} MB estimated", index.size(), index.estimatedBytes() / (1024 * 1024));
+    }
+
+    @Benchmark
+    public List<UserSearchIndex.Hit> twoLetterPrefix() {
+        return index.search("ka", 10);
+    }
+
+    @Benchmark
+    public List<UserSearchIndex.Hit> wordPrefix() {
+        return index.search("kalim", 10);
+    }
+
+    @Benchmark
+    public List<UserSearchIndex.Hit> nameAndCompany() {
+        return index.search("kalima sato", 10);
+    }
+
+    @Benchmark
+    public List<UserSearchIndex.Hit> typo() {
+        return index.search("kalmia", 10);
+    }
+
+    @Benchmark
+    public List<UserSearchIndex.Hit> noMatch() {
+        return index.search("xq", 10);
+    }
+
+    private static String word(Random random, int syllables) {
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < syllables; i++) {
+            word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        return word.toString();
+    }
+}
@@ -0,0 +1,97 @@
+package org.alumni.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives requests with a closed workload model: a fixed number of users, each on its own
+ * virtual thread, send a request, wait for the response, pause for the think time and repeat.
+ * Each user keeps its connection open between requests, so this is the way to hold thousands
+ * of concurrent connections against the server and compare how the servlet and reactive
+ * stacks cope. Throughput here is an outcome rather than an input: a slower server gets fewer
+ * requests, so compare latency and throughput together.
+ */
+final class ClosedModelDriver implements LoadDriver {
+
+    private final HttpClient client;
+    private final Scenario.Target target;
+    private final LoadTestConfig config;
+    private final Scenario[] weightedScenarios;
+
+    ClosedModelDriver(HttpClient client, Scenario.Target target, LoadTestConfig config) {
+        this.client = client;
+        this.target = target;
+        this.config = config;
+        this.weightedScenarios = OpenModelDriver.expand(config.mix());
+    }
+
+    @Override
+    public Map<Scenario, OpenModelDriver.ScenarioStats> run(Duration duration) throws InterruptedException {
+        Map<Scenario, OpenModelDriver.ScenarioStats> stats = new EnumMap<>(Scenario.class);
+        for (Scenario scenario : config.mix().keySet()) {
+            stats.put(scenario, new OpenModelDriver.ScenarioStats());
+        }
+
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        List<Thread> users = new ArrayList<>(config.users());
+        for (int i = 0; i < config.users(); i++) {
+            users.add(Thread.ofVirtual().name("loadtest-user-", i).start(() -> runUser(stats, end)));
+        }
+
+        // Users finish their last request after the deadline; it still counts towards the results.
+        long drainDeadline = end + TimeUnit.SECONDS.toNanos(30);
+        for (Thread user : users) {
+            long remaining = drainDeadline - System.nanoTime();
+            if (remaining <= 0 || !user.join(Duration.ofNanos(remaining))) {
+                user.interrupt();
+            }
+        }
+        for (OpenModelDriver.ScenarioStats scenarioStats : stats.values()) {
+            scenarioStats.elapsedNanos = System.nanoTime() - start;
+        }
+        return stats;
+    }
+
+    private void runUser(Map<Scenario, OpenModelDriver.ScenarioStats> stats, long end) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long thinkNanos = config.thinkTime().toNanos();
+        try {
+            // Spread the first requests over one think time instead of opening every connection at once.
+            TimeUnit.NANOSECONDS.sleep(thinkNanos > 0 ? random.nextLong(thinkNanos) : 0);
+            while (System.nanoTime() < end) {
+                Scenario scenario = weightedScenarios[random.nextInt(weightedScenarios.length)];
+                send(scenario, stats.get(scenario));
+                if (thinkNanos > 0) {
+                    // +/-50% so that the users do not fall into lockstep.
+                    TimeUnit.NANOSECONDS.sleep(thinkNanos / 2 + random.nextLong(thinkNanos));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void send(Scenario scenario, OpenModelDriver.ScenarioStats stats) throws InterruptedException {
+        long requestStart = System.nanoTime();
+        try {
+            HttpResponse<Void> response = client.send(scenario.request(target), HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() >= 400) {
+                stats.errors.increment();
+                stats.countStatus(response.statusCode());
+            }
+        } catch (IOException e) {
+            stats.errors.increment();
+        }
+        long micros = Math.max(1, (System.nanoTime() - requestStart) / 1_000L);
+        stats.latencyMicros.recordValue(Math.min(micros, OpenModelDriver.HIGHEST_TRACKABLE_MICROS));
+    }
+}
@@ -0,0 +1,16 @@
+package org.alumni.loadtest;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * A way of putting load on the server: {@link OpenModelDriver} (a fixed arrival rate)
+ * or {@link ClosedModelDriver} (a fixed number of concurrent users).
+ */
+interface LoadDriver {
+
+    /**
+     * Runs the workload for the given duration and returns the statistics per scenario.
+     */
+    Map<Scenario, OpenModelDriver.ScenarioStats> run(Duration duration) throws InterruptedException;
+}
@@ -0,0 +1,160 @@
+package org.alumni.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Summarises a run (throughput, p50/p95/p99/max latency and error rate per scenario),
+ * checks it against the latency budget, and writes it as JSON and HTML.
+ */
+final class LoadReport {
+
+    record Row(String scenario, long requests, long errors, long dropped, double errorRate, double throughputPerSecond,
+               double p50Millis, double p95Millis, double p99Millis, double maxMillis, Map<Integer, Long> errorStatuses) {
+    }
+
+    record Budget(long p99Millis, double maxErrorRate, boolean passed, List<String> violations) {
+    }
+
+    private final LoadTestConfig config;
+    private final List<Row> rows = new ArrayList<>();
+    private final Budget budget;
+    private final int deliveredEmails;
+
+    LoadReport(LoadTestConfig config, Map<Scenario, OpenModelDriver.ScenarioStats> stats, int deliveredEmails) {
+        this.config = config;
+        this.deliveredEmails = deliveredEmails;
+
+        Histogram total = null;
+        long totalErrors = 0;
+        long totalDropped = 0;
+        long elapsedNanos = 1;
+        for (Map.Entry<Scenario, OpenModelDriver.ScenarioStats> entry : stats.entrySet()) {
+            OpenModelDriver.ScenarioStats scenarioStats = entry.getValue();
+            Histogram histogram = scenarioStats.latencyMicros.copy();
+            total = total == null ? histogram.copy() : add(total, histogram);
+            totalErrors += scenarioStats.errors.sum();
+            totalDropped += scenarioStats.dropped.sum();
+            elapsedNanos = Math.max(elapsedNanos, scenarioStats.elapsedNanos);
+            Map<Integer, Long> statuses = new TreeMap<>();
+            scenarioStats.errorStatuses.forEach((status, count) -> statuses.put(status, count.sum()));
+            rows.add(row(entry.getKey().reportName(), histogram, scenarioStats.errors.sum(), scenarioStats.dropped.sum(),
+                    scenarioStats.elapsedNanos, statuses));
+        }
+        Row totalRow = row("total", total, totalErrors, totalDropped, elapsedNanos, Map.of());
+        rows.add(totalRow);
+
+        List<String> violations = new ArrayList<>();
+        if (totalRow.p99Millis() > config.budgetP99Millis()) {
+            violations.add(String.format("p99 latency %.1f ms exceeds the budget of %d ms", totalRow.p99Millis(), config.budgetP99Millis()));
+        }
+        if (totalRow.errorRate() > config.budgetMaxErrorRate()) {
+            violations.add(String.format("error rate %.4f exceeds the budget of %.4f", totalRow.errorRate(), config.budgetMaxErrorRate()));
+        }
+        this.budget = new Budget(config.budgetP99Millis(), config.budgetMaxErrorRate(), violations.isEmpty(), violations);
+    }
+
+    boolean passed() {
+        return budget.passed();
+    }
+
+    List<Row> rows() {
+        return rows;
+    }
+
+    Budget budget() {
+        return budget;
+    }
+
+    void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("webMode", LoadTestMain.webMode(config));
+        settings.put("model", config.closedModel() ? "closed" : "open");
+        if (config.closedModel()) {
+            settings.put("users", config.users());
+            settings.put("thinkTime", config.thinkTime().toString());
+        } else {
+            settings.put("ratePerSecond", config.ratePerSecond());
+        }
+        settings.put("duration", config.duration().toString());
+        settings.put("warmup", config.warmup().toString());
+        if (!config.closedModel()) {
+            settings.put("arrivals", config.poissonArrivals() ? "poisson" : "uniform");
+        }
+        settings.put("mix", config.mix());
+        settings.put("virtualThreads", Boolean.getBoolean("spring.threads.virtual.enabled"));
+        json.put("config", settings);
+        json.put("results", rows);
+        json.put("deliveredEmails", deliveredEmails);
+        json.put("budget", budget);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(directory.resolve("loadtest-report.json").toFile(), json);
+
+        Files.writeString(directory.resolve("loadtest-report.html"), html());
+    }
+
+    private String html() {
+        StringBuilder html = new StringBuilder()
+                .append("<!DOCTYPE html>\n<html><head><meta charset=\"utf-8\"><title>Alumnus load test</title>\n")
+                .append("<style>body{font-family:sans-serif}table{border-collapse:collapse}")
+                .append("td,th{border:1px solid #ccc;padding:4px 8px;text-align:right}th:first-child,td:first-child{text-align:left}")
+                .append(".pass{color:#080}.fail{color:#b00}</style></head><body>\n")
+                .append("<h1>Alumnus load test</h1>\n")
+                .append(String.format("<p>%s for %s after %s warm-up against the %s stack. Mix: %s</p>%n",
+                        config.closedModel()
+                                ? String.format("%d users with %s think time", config.users(), config.thinkTime())
+                                : String.format("%.0f req/s (%s arrivals)", config.ratePerSecond(), config.poissonArrivals() ? "poisson" : "uniform"),
+                        config.duration(), config.warmup(), LoadTestMain.webMode(config), config.mix()))
+                .append("<table><tr><th>Scenario</th><th>Requests</th><th>Throughput/s</th><th>Errors</th><th>Dropped</th>")
+                .append("<th>Error rate</th><th>p50 ms</th><th>p95 ms</th><th>p99 ms</th><th>max ms</th></tr>\n");
+        for (Row row : rows) {
+            html.append(String.format("<tr><td>%s</td><td>%d</td><td>%.1f</td><td>%d</td><td>%d</td><td>%.4f</td>"
+                            + "<td>%.1f</td><td>%.1f</td><td>%.1f</td><td>%.1f</td></tr>%n",
+                    row.scenario(), row.requests(), row.throughputPerSecond(), row.errors(), row.dropped(), row.errorRate(),
+                    row.p50Millis(), row.p95Millis(), row.p99Millis(), row.maxMillis()));
+        }
+        html.append("</table>\n")
+                .append(String.format("<p>Budget: p99 &le; %d ms, error rate &le; %.4f &mdash; <strong class=\"%s\">%s</strong></p>%n",
+                        budget.p99Millis(), budget.maxErrorRate(), budget.passed() ? "pass" : "fail", budget.passed() ? "PASS" : "FAIL"));
+        for (String violation : budget.violations()) {
+            html.append("<p class=\"fail\">").append(violation).append("</p>\n");
+        }
+        return html.append("</body></html>\n").toString();
+    }
+
+    private static Histogram add(Histogram total, Histogram histogram) {
+        total.add(histogram);
+        return total;
+    }
+
+    private static Row row(String scenario, Histogram histogram, long errors, long dropped, long elapsedNanos,
+                           Map<Integer, Long> statuses) {
+        long requests = histogram.getTotalCount() + dropped;
+        double seconds = elapsedNanos / 1e9;
+        return new Row(scenario, requests, errors, dropped,
+                requests == 0 ? 0 : (double) (errors + dropped) / requests,
+                seconds == 0 ? 0 : histogram.getTotalCount() / seconds,
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(95)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getMaxValue()),
+                statuses);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,89 @@
+package org.alumni.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Load test settings, read from 'loadtest.*' system properties (see loadtest/pom.xml for defaults).
+ */
+record LoadTestConfig(double ratePerSecond,
+                      Duration duration,
+                      Duration warmup,
+                      boolean poissonArrivals,
+                      Map<Scenario, Integer> mix,
+                      int seedUsers,
+                      int maxInFlight,
+                      boolean closedModel,
+                      int users,
+                      Duration thinkTime,
+                      boolean reactiveWebMode,
+                      long budgetP99Millis,
+                      double budgetMaxErrorRate,
+                      Path reportDir) {
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                Double.parseDouble(property("rate", "200")),
+                DurationStyle.detectAndParse(property("duration", "60s")),
+                DurationStyle.detectAndParse(property("warmup", "10s")),
+                !"uniform".equalsIgnoreCase(property("arrivals", "poisson")),
+                parseMix(property("mix", "login=40,register=10,forgot-password=10,authenticated=40")),
+                Integer.parseInt(property("seed-users", "200")),
+                Integer.parseInt(property("max-in-flight", "10000")),
+                "closed".equalsIgnoreCase(property("model", "open")),
+                Integer.parseInt(property("users", "10000")),
+                DurationStyle.detectAndParse(property("think-time", "1s")),
+                "reactive".equalsIgnoreCase(property("web-mode", "servlet")),
+                Long.parseLong(property("budget.p99-millis", "500")),
+                Double.parseDouble(property("budget.max-error-rate", "0.01")),
+                Path.of(property("report-dir", "target")));
+    }
+
+    /**
+     * These settings as a closed-model run against the given web stack, reporting into a
+     * subdirectory named after it, so that runs against both stacks can sit side by side.
+     */
+    LoadTestConfig closedModelOn(boolean reactive) {
+        return closedModel(reactive, reactive ? "reactive" : "servlet");
+    }
+
+    /**
+     * These settings as a closed-model run against the servlet stack, reporting into the given subdirectory.
+     */
+    LoadTestConfig closedModelOnServlet(String reportSubdirectory) {
+        return closedModel(false, reportSubdirectory);
+    }
+
+    private LoadTestConfig closedModel(boolean reactive, String reportSubdirectory) {
+        return new LoadTestConfig(ratePerSecond, duration, warmup, poissonArrivals, mix, seedUsers, maxInFlight,
+                true, users, thinkTime, reactive, budgetP99Millis, budgetMaxErrorRate,
+                reportDir.resolve(reportSubdirectory));
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty("loadtest." + name, defaultValue);
+    }
+
+    private static Map<Scenario, Integer> parseMix(String mix) {
+        Map<Scenario, Integer> weights = new EnumMap<>(Scenario.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry '" + entry + "', expected name=weight");
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(Scenario.byName(parts[0].trim().toLowerCase(Locale.ROOT)), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("The scenario mix is empty");
+        }
+        return weights;
+    }
+}
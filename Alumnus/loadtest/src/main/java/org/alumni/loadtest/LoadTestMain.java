@@ -0,0 +1,142 @@
+package org.alumni.loadtest;
+
+import org.alumni.Main;
+import org.alumni.model.Role;
+import org.alumni.model.User;
+import org.alumni.security.JwtTokenProvider;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Boots the application against in-process MongoDB and SMTP stand-ins, seeds users,
+ * drives the configured request mix, and writes the report.
+ * Exits with status 1 when the latency or error budget is exceeded.
+ */
+public final class LoadTestMain {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoadTestMain.class);
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadReport report = run(LoadTestConfig.fromSystemProperties());
+        System.exit(report.passed() ? 0 : 1);
+    }
+
+    /**
+     * Runs one load test against a freshly started application, writes the report to the
+     * configured directory and logs a summary.
+     */
+    static LoadReport run(LoadTestConfig config) throws Exception {
+        try (StandInServices standIns = StandInServices.start();
+             ConfigurableApplicationContext context = startApplication(standIns, config);
+             ExecutorService clientExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            Scenario.Target target = new Scenario.Target("http://127.0.0.1:" + port, config.seedUsers(), seedUsers(context, config.seedUsers()));
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .executor(clientExecutor)
+                    .build();
+            LoadDriver driver = config.closedModel()
+                    ? new ClosedModelDriver(client, target, config)
+                    : new OpenModelDriver(client, target, config);
+
+            if (!config.warmup().isZero()) {
+                LOGGER.info("Warming up for {}", config.warmup());
+                driver.run(config.warmup());
+            }
+            if (config.closedModel()) {
+                LOGGER.info("Running {} users with {} think time for {} with mix {} ({} stack)",
+                        config.users(), config.thinkTime(), config.duration(), config.mix(), webMode(config));
+            } else {
+                LOGGER.info("Running {} req/s for {} with mix {} ({} stack)",
+                        config.ratePerSecond(), config.duration(), config.mix(), webMode(config));
+            }
+            Map<Scenario, OpenModelDriver.ScenarioStats> stats = driver.run(config.duration());
+
+            LoadReport report = new LoadReport(config, stats, standIns.deliveredEmails());
+            report.write(config.reportDir());
+            for (LoadReport.Row row : report.rows()) {
+                LOGGER.info("{}: {} requests, {} /s, error rate {}, p50 {} ms, p95 {} ms, p99 {} ms, max {} ms",
+                        row.scenario(), row.requests(), String.format("%.1f", row.throughputPerSecond()),
+                        String.format("%.4f", row.errorRate()), row.p50Millis(), row.p95Millis(), row.p99Millis(), row.maxMillis());
+            }
+            report.budget().violations().forEach(violation -> LOGGER.error("Budget exceeded: {}", violation));
+            LOGGER.info("Report written to {}", config.reportDir().toAbsolutePath());
+            return report;
+        }
+    }
+
+    static String webMode(LoadTestConfig config) {
+        return config.reactiveWebMode() ? "reactive" : "servlet";
+    }
+
+    private static ConfigurableApplicationContext startApplication(StandInServices standIns, LoadTestConfig config) {
+        String jwtSecret = Base64.getEncoder().encodeToString(
+                "load-test-secret-load-test-secret-load-test-secret-load-test-se".getBytes());
+        SpringApplicationBuilder application = new SpringApplicationBuilder(Main.class);
+        if (config.reactiveWebMode()) {
+            // The same profile as 'mvn spring-boot:run -Preactive': WebFlux on Netty with the reactive MongoDB driver.
+            application.profiles("reactive");
+        }
+        // Command-line arguments outrank application.properties.
+        return application.run(
+                "--server.port=0",
+                "--spring.data.mongodb.uri=" + standIns.mongoUri(),
+                "--spring.mail.host=127.0.0.1",
+                "--spring.mail.port=" + standIns.smtpPort(),
+                "--spring.mail.properties.mail.smtp.auth=false",
+                "--spring.mail.properties.mail.smtp.starttls.enable=false",
+                // All load comes from one address, so the credential rate limits would cap it.
+                "--app.security.rate-limit.enabled=false",
+                // A single node has no peers to notify, and the stand-in has no tailable cursors.
+                "--app.invalidation.enabled=false",
+                "--app.jwt-secret=" + jwtSecret);
+    }
+
+    /**
+     * Inserts the users that login and forgot-password requests target, all sharing one hash,
+     * and returns an access token for the authenticated scenario.
+     */
+    private static String seedUsers(ConfigurableApplicationContext context, int count) {
+        MongoTemplate mongoTemplate = context.getBean(MongoTemplate.class);
+        String hash = context.getBean(PasswordEncoder.class).encode(Scenario.Target.SEED_PASSWORD);
+
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User user = new User();
+            user.setId(new ObjectId().toHexString());
+            user.setName("Load Test User " + i);
+            user.setEmail(Scenario.Target.seedEmail(i));
+            user.setPhone("9000000000");
+            user.setPassword(hash);
+            user.setRole(i % 2 == 0 ? Role.ROLE_STUDENT : Role.ROLE_ALUMNI);
+            users.add(user);
+        }
+        mongoTemplate.insertAll(users);
+        LOGGER.info("Seeded {} users", count);
+
+        User first = users.get(0);
+        return context.getBean(JwtTokenProvider.class)
+                .generateToken(new UsernamePasswordAuthenticationToken(first, null, first.getAuthorities()));
+    }
+}
@@ -0,0 +1,126 @@
+package org.alumni.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives requests with an open workload model: arrivals follow the configured rate
+ * whether or not earlier requests have finished, as real users do.
+ * Latency is measured from each request's intended start time, so time spent queued
+ * behind a slow server is counted rather than hidden (no coordinated omission).
+ */
+final class OpenModelDriver implements LoadDriver {
+
+    static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final HttpClient client;
+    private final Scenario.Target target;
+    private final LoadTestConfig config;
+    private final Scenario[] weightedScenarios;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    OpenModelDriver(HttpClient client, Scenario.Target target, LoadTestConfig config) {
+        this.client = client;
+        this.target = target;
+        this.config = config;
+        this.weightedScenarios = expand(config.mix());
+    }
+
+    @Override
+    public Map<Scenario, ScenarioStats> run(Duration duration) throws InterruptedException {
+        Map<Scenario, ScenarioStats> stats = new EnumMap<>(Scenario.class);
+        for (Scenario scenario : config.mix().keySet()) {
+            stats.put(scenario, new ScenarioStats());
+        }
+
+        double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / config.ratePerSecond();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        double nextArrival = start;
+
+        while (nextArrival < end) {
+            long intendedStart = (long) nextArrival;
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Scenario scenario = weightedScenarios[ThreadLocalRandom.current().nextInt(weightedScenarios.length)];
+            dispatch(scenario, stats.get(scenario), intendedStart);
+            nextArrival += config.poissonArrivals()
+                    ? -Math.log(1.0 - ThreadLocalRandom.current().nextDouble()) * meanIntervalNanos
+                    : meanIntervalNanos;
+        }
+
+        // Let the stragglers finish; they still count towards the results.
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        for (ScenarioStats scenarioStats : stats.values()) {
+            scenarioStats.elapsedNanos = System.nanoTime() - start;
+        }
+        return stats;
+    }
+
+    private void dispatch(Scenario scenario, ScenarioStats stats, long intendedStart) {
+        if (inFlight.incrementAndGet() > config.maxInFlight()) {
+            // The server has fallen so far behind that more load would only measure the client.
+            inFlight.decrementAndGet();
+            stats.dropped.increment();
+            return;
+        }
+        HttpRequest request = scenario.request(target);
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, failure) -> {
+                    long micros = Math.max(1, (System.nanoTime() - intendedStart) / 1_000L);
+                    stats.latencyMicros.recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+                    if (failure != null) {
+                        stats.errors.increment();
+                    } else if (response.statusCode() >= 400) {
+                        stats.errors.increment();
+                        stats.countStatus(response.statusCode());
+                    }
+                    inFlight.decrementAndGet();
+                });
+    }
+
+    static Scenario[] expand(Map<Scenario, Integer> mix) {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        Scenario[] expanded = new Scenario[total];
+        int i = 0;
+        for (Map.Entry<Scenario, Integer> entry : mix.entrySet()) {
+            for (int n = 0; n < entry.getValue(); n++) {
+                expanded[i++] = entry.getKey();
+            }
+        }
+        return expanded;
+    }
+
+    /**
+     * Latency and error counts for one scenario.
+     */
+    static final class ScenarioStats {
+        final Histogram latencyMicros = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        final LongAdder errors = new LongAdder();
+        final LongAdder dropped = new LongAdder();
+        final Map<Integer, LongAdder> errorStatuses = new ConcurrentHashMap<>();
+        long elapsedNanos;
+
+        void countStatus(int status) {
+            errorStatuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+        }
+    }
+}
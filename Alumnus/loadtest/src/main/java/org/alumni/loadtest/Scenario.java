@@ -0,0 +1,96 @@
+package org.alumni.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The request types the load test can drive, each building one HTTP request per arrival.
+ */
+enum Scenario {
+
+    LOGIN("login") {
+        @Override
+        HttpRequest request(Target target) {
+            return post(target, "/api/auth/login",
+                    "{\"email\":\"" + target.randomSeedEmail() + "\",\"password\":\"" + Target.SEED_PASSWORD + "\"}");
+        }
+    },
+    REGISTER("register") {
+        @Override
+        HttpRequest request(Target target) {
+            long n = REGISTRATIONS.incrementAndGet();
+            return post(target, "/api/auth/register",
+                    "{\"name\":\"Load Test " + n + "\",\"email\":\"loadtest.new." + n + "@example.com\","
+                            + "\"phone\":\"9000000000\",\"password\":\"" + Target.SEED_PASSWORD + "\",\"role\":\"Student\","
+                            + "\"collegeName\":\"Load Test College\",\"branch\":\"CSE\"}");
+        }
+    },
+    FORGOT_PASSWORD("forgot-password") {
+        @Override
+        HttpRequest request(Target target) {
+            return post(target, "/api/auth/forgot-password", "{\"email\":\"" + target.randomSeedEmail() + "\"}");
+        }
+    },
+    AUTHENTICATED("authenticated") {
+        @Override
+        HttpRequest request(Target target) {
+            return HttpRequest.newBuilder(target.uri(Target.AUTHENTICATED_PATH))
+                    .header("Authorization", "Bearer " + target.accessToken())
+                    .GET()
+                    .build();
+        }
+    };
+
+    private static final AtomicLong REGISTRATIONS = new AtomicLong();
+
+    private final String reportName;
+
+    Scenario(String reportName) {
+        this.reportName = reportName;
+    }
+
+    String reportName() {
+        return reportName;
+    }
+
+    abstract HttpRequest request(Target target);
+
+    static Scenario byName(String name) {
+        for (Scenario scenario : values()) {
+            if (scenario.reportName.equals(name)) {
+                return scenario;
+            }
+        }
+        throw new IllegalArgumentException("Unknown scenario '" + name + "'");
+    }
+
+    private static HttpRequest post(Target target, String path, String json) {
+        return HttpRequest.newBuilder(target.uri(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    /**
+     * The running application as seen by the scenarios.
+     */
+    record Target(String baseUrl, int seedUsers, String accessToken) {
+
+        static final String SEED_PASSWORD = "LoadTest#123";
+        static final String AUTHENTICATED_PATH = "/api/config-check";
+
+        static String seedEmail(int index) {
+            return "loadtest.user." + index + "@example.com";
+        }
+
+        String randomSeedEmail() {
+            return seedEmail(ThreadLocalRandom.current().nextInt(seedUsers));
+        }
+
+        URI uri(String path) {
+            return URI.create(baseUrl + path);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package org.alumni.loadtest;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+
+import java.net.InetSocketAddress;
+
+/**
+ * In-process replacements for the external services the application talks to:
+ * an in-memory MongoDB wire-protocol server and an SMTP server that accepts and discards mail.
+ */
+final class StandInServices implements AutoCloseable {
+
+    private final MongoServer mongoServer;
+    private final GreenMail smtpServer;
+    private final String mongoUri;
+
+    private StandInServices(MongoServer mongoServer, GreenMail smtpServer, String mongoUri) {
+        this.mongoServer = mongoServer;
+        this.smtpServer = smtpServer;
+        this.mongoUri = mongoUri;
+    }
+
+    static StandInServices start() {
+        MongoServer mongoServer = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = mongoServer.bind();
+        String mongoUri = "mongodb://" + address.getHostString() + ":" + address.getPort() + "/alumni_db";
+
+        GreenMail smtpServer = new GreenMail(new ServerSetup(0, "127.0.0.1", ServerSetup.PROTOCOL_SMTP).dynamicPort());
+        smtpServer.start();
+        return new StandInServices(mongoServer, smtpServer, mongoUri);
+    }
+
+    String mongoUri() {
+        return mongoUri;
+    }
+
+    int smtpPort() {
+        return smtpServer.getSmtp().getPort();
+    }
+
+    int deliveredEmails() {
+        return smtpServer.getReceivedMessages().length;
+    }
+
+    @Override
+    public void close() {
+        smtpServer.stop();
+        mongoServer.shutdownNow();
+    }
+}
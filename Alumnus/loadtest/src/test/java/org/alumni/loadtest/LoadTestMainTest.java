@@ -0,0 +1,38 @@
+package org.alumni.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A few seconds of light load, so that a change that stops the harness from booting the
+ * application with its shipped settings fails here rather than when someone needs the numbers.
+ * Latency is not asserted; it depends on the machine.
+ */
+class LoadTestMainTest {
+
+    @Test
+    void bootsTheApplicationAndServesRequestsWithoutErrors() throws Exception {
+        Map<Scenario, Integer> mix = new EnumMap<>(Scenario.class);
+        for (Scenario scenario : Scenario.values()) {
+            mix.put(scenario, 1);
+        }
+        Path reportDir = Path.of("target", "smoke");
+        LoadTestConfig config = new LoadTestConfig(6, Duration.ofSeconds(5), Duration.ZERO, false, mix, 10, 100,
+                false, 0, Duration.ZERO, false, Long.MAX_VALUE, 0.0, reportDir);
+
+        LoadReport report = LoadTestMain.run(config);
+
+        // Scenarios are picked at random, so only the total is sure to have requests.
+        assertThat(report.rows().get(report.rows().size() - 1).requests()).isPositive();
+        assertThat(report.rows()).allSatisfy(row -> assertThat(row.errorRate()).as(row.scenario()).isZero());
+        assertThat(report.passed()).isTrue();
+        assertThat(Files.exists(reportDir.resolve("loadtest-report.json"))).isTrue();
+    }
+}
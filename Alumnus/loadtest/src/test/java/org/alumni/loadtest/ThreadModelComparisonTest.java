@@ -0,0 +1,76 @@
+package org.alumni.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Holds loadtest.users concurrent connections (10k by default) against the servlet stack with the
+ * closed model, first with request handling on platform threads and then on virtual threads, and
+ * writes both results side by side to thread-model-comparison.json in the report directory.
+ * As with {@link WebStackComparisonTest}, only the error budget is asserted; the latency and
+ * throughput figures are for the reader of the report.
+ * <p>
+ * It takes a few minutes, so it only runs when asked for with -Dloadtest.compare-thread-models=true.
+ */
+@EnabledIfSystemProperty(named = "loadtest.compare-thread-models", matches = "true")
+class ThreadModelComparisonTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ThreadModelComparisonTest.class);
+    private static final String VIRTUAL_THREADS = "spring.threads.virtual.enabled";
+
+    @Test
+    void bothThreadModelsServeEveryConnection() throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+
+        LoadReport.Row platform = runWithVirtualThreads(config, false);
+        LoadReport.Row virtual = runWithVirtualThreads(config, true);
+
+        Map<String, Object> comparison = new LinkedHashMap<>();
+        comparison.put("users", config.users());
+        comparison.put("thinkTime", config.thinkTime().toString());
+        comparison.put("duration", config.duration().toString());
+        comparison.put("mix", config.mix());
+        comparison.put("platformThreads", platform);
+        comparison.put("virtualThreads", virtual);
+        Files.createDirectories(config.reportDir());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(config.reportDir().resolve("thread-model-comparison.json").toFile(), comparison);
+        for (LoadReport.Row row : List.of(platform, virtual)) {
+            LOGGER.info("{} users on {} threads: {} /s, error rate {}, p50 {} ms, p99 {} ms",
+                    config.users(), row == platform ? "platform" : "virtual", String.format("%.1f", row.throughputPerSecond()),
+                    String.format("%.4f", row.errorRate()), row.p50Millis(), row.p99Millis());
+        }
+
+        assertThat(platform.requests()).isPositive();
+        assertThat(virtual.requests()).isPositive();
+        assertThat(platform.errorRate()).isLessThanOrEqualTo(config.budgetMaxErrorRate());
+        assertThat(virtual.errorRate()).isLessThanOrEqualTo(config.budgetMaxErrorRate());
+    }
+
+    // A system property, so it outranks application.properties and lands in the run's own report.
+    private static LoadReport.Row runWithVirtualThreads(LoadTestConfig config, boolean enabled) throws Exception {
+        String previous = System.setProperty(VIRTUAL_THREADS, Boolean.toString(enabled));
+        try {
+            List<LoadReport.Row> rows = LoadTestMain.run(config.closedModelOnServlet(
+                    enabled ? "virtual-threads" : "platform-threads")).rows();
+            return rows.get(rows.size() - 1);
+        } finally {
+            if (previous == null) {
+                System.clearProperty(VIRTUAL_THREADS);
+            } else {
+                System.setProperty(VIRTUAL_THREADS, previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package org.alumni.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Holds loadtest.users concurrent connections (10k by default) with the closed model, first against
+ * the servlet stack and then against the reactive one, and writes both results side by side to
+ * web-stack-comparison.json in the report directory. Every connection must be served within the
+ * error budget on both stacks; which one has the better latency and throughput is for the reader
+ * of the report, not an assertion, since it depends on the machine.
+ * <p>
+ * It takes a few minutes, so it only runs when asked for with -Dloadtest.compare-web-stacks=true.
+ * Other loadtest.* properties apply as in the regular run.
+ */
+@EnabledIfSystemProperty(named = "loadtest.compare-web-stacks", matches = "true")
+class WebStackComparisonTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WebStackComparisonTest.class);
+
+    @Test
+    void bothStacksServeEveryConnection() throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+
+        LoadReport.Row servlet = total(LoadTestMain.run(config.closedModelOn(false)));
+        LoadReport.Row reactive = total(LoadTestMain.run(config.closedModelOn(true)));
+
+        Map<String, Object> comparison = new LinkedHashMap<>();
+        comparison.put("users", config.users());
+        comparison.put("thinkTime", config.thinkTime().toString());
+        comparison.put("duration", config.duration().toString());
+        comparison.put("mix", config.mix());
+        comparison.put("servlet", servlet);
+        comparison.put("reactive", reactive);
+        Files.createDirectories(config.reportDir());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(config.reportDir().resolve("web-stack-comparison.json").toFile(), comparison);
+        for (LoadReport.Row row : List.of(servlet, reactive)) {
+            LOGGER.info("{} users on the {} stack: {} /s, error rate {}, p50 {} ms, p99 {} ms",
+                    config.users(), row == servlet ? "servlet" : "reactive", String.format("%.1f", row.throughputPerSecond()),
+                    String.format("%.4f", row.errorRate()), row.p50Millis(), row.p99Millis());
+        }
+
+        assertThat(servlet.requests()).isPositive();
+        assertThat(reactive.requests()).isPositive();
+        assertThat(servlet.errorRate()).isLessThanOrEqualTo(config.budgetMaxErrorRate());
+        assertThat(reactive.errorRate()).isLessThanOrEqualTo(config.budgetMaxErrorRate());
+    }
+
+    private static LoadReport.Row total(LoadReport report) {
+        List<LoadReport.Row> rows = report.rows();
+        return rows.get(rows.size() - 1);
+    }
+}
@@ -0,0 +1,7 @@
+package org.alumni.audit;
+
+public enum AuditEventType {
+    LOGIN,
+    SOCIAL_LOGIN,
+    PASSWORD_RESET
+}
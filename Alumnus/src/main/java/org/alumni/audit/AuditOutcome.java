@@ -0,0 +1,7 @@
+package org.alumni.audit;
+
+public enum AuditOutcome {
+    SUCCESS,
+    FAILURE,
+    ERROR
+}
@@ -0,0 +1,128 @@
+package org.alumni.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A bounded, pre-allocated ring of audit events for many producers and exactly one consumer.
+ * <p>
+ * Events are stored column-wise in arrays allocated once, so publishing allocates nothing and
+ * takes no lock: a producer claims a slot with one compare-and-set on the tail, writes the
+ * fields and then publishes the slot by advancing its sequence number. The consumer reads slots
+ * in order and hands each one back by moving its sequence a full lap ahead (the bounded queue
+ * design of D. Vyukov). A full ring is reported to the caller rather than waited on.
+ */
+public final class AuditRingBuffer {
+
+    private final int mask;
+    private final int capacity;
+    // sequences[i] == position: free for the producer claiming that position;
+    // position + 1: published and readable; position + capacity: consumed, free for the next lap.
+    private final AtomicLongArray sequences;
+    private final long[] timestamps;
+    private final AuditEventType[] types;
+    private final AuditOutcome[] outcomes;
+    private final String[] emails;
+    private final String[] roles;
+    private final String[] remoteAddresses;
+
+    private final AtomicLong tail = new AtomicLong();
+    // Only the consumer thread touches the head.
+    private long head;
+
+    /**
+     * @param capacity Rounded up to the next power of two.
+     */
+    public AuditRingBuffer(int capacity) {
+        if (capacity < 2 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("capacity must be between 2 and 2^30");
+        }
+        this.capacity = Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.sequences = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            sequences.set(i, i);
+        }
+        this.timestamps = new long[this.capacity];
+        this.types = new AuditEventType[this.capacity];
+        this.outcomes = new AuditOutcome[this.capacity];
+        this.emails = new String[this.capacity];
+        this.roles = new String[this.capacity];
+        this.remoteAddresses = new String[this.capacity];
+    }
+
+    /**
+     * Publishes an event without blocking. Safe to call from any thread.
+     * @return false if the ring is full and the event was not stored.
+     */
+    public boolean offer(long timestamp, AuditEventType type, AuditOutcome outcome,
+                         String email, String role, String remoteAddress) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    timestamps[index] = timestamp;
+                    types[index] = type;
+                    outcomes[index] = outcome;
+                    emails[index] = email;
+                    roles[index] = role;
+                    remoteAddresses[index] = remoteAddress;
+                    // The volatile write makes the fields above visible to the consumer.
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                // The consumer has not yet freed this slot from the previous lap.
+                return false;
+            } else {
+                // Another producer claimed this position first.
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Hands up to {@code max} published events to the sink, oldest first.
+     * Must only be called from the single consumer thread.
+     * @return The number of events drained.
+     */
+    public int drain(Sink sink, int max) {
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) (head & mask);
+            if (sequences.get(index) != head + 1) {
+                // Empty, or the producer for this slot has claimed it but not finished writing.
+                break;
+            }
+            sink.accept(timestamps[index], types[index], outcomes[index],
+                    emails[index], roles[index], remoteAddresses[index]);
+            emails[index] = null;
+            roles[index] = null;
+            remoteAddresses[index] = null;
+            sequences.set(index, head + capacity);
+            head++;
+            drained++;
+        }
+        return drained;
+    }
+
+    /**
+     * @return An estimate of the number of events waiting; exact only when producers are idle.
+     */
+    public int size() {
+        return (int) Math.max(0, Math.min(capacity, tail.get() - head));
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    @FunctionalInterface
+    public interface Sink {
+        void accept(long timestamp, AuditEventType type, AuditOutcome outcome,
+                    String email, String role, String remoteAddress);
+    }
+}
@@ -0,0 +1,243 @@
+package org.alumni.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.alumni.dto.LoginStats;
+import org.alumni.model.LoginAuditRecord;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.DateOperators;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Records login, social login and password-reset attempts without a database write on the
+ * request thread. Request threads publish into an {@link AuditRingBuffer}; one writer thread
+ * drains it and inserts into the {@code login_audit} time-series collection in batches of up to
+ * {@code flush-size}, or sooner once the oldest waiting event is {@code flush-interval} old.
+ * <p>
+ * When the buffer is full, the {@code overflow} policy decides: DROP discards the event at once,
+ * BLOCK makes the request thread wait up to {@code block-timeout} for space before discarding it.
+ * Dropped events are counted in {@code auth.audit.events{result=dropped}}.
+ */
+@Component
+public class LoginAuditService implements DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoginAuditService.class);
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long BLOCKED_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    public enum OverflowPolicy {
+        DROP,
+        BLOCK
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+    private final AuditRingBuffer buffer;
+    private final int flushSize;
+    private final long flushIntervalNanos;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutNanos;
+    private final Counter queuedCounter;
+    private final Counter droppedCounter;
+    private final Counter writtenCounter;
+    private final Counter writeFailuresCounter;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public LoginAuditService(MongoTemplate mongoTemplate,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.audit.enabled:true}") boolean enabled,
+                             @Value("${app.audit.buffer-size:65536}") int bufferSize,
+                             @Value("${app.audit.flush-size:500}") int flushSize,
+                             @Value("${app.audit.flush-interval:1s}") Duration flushInterval,
+                             @Value("${app.audit.overflow:drop}") OverflowPolicy overflowPolicy,
+                             @Value("${app.audit.block-timeout:50ms}") Duration blockTimeout) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.buffer = new AuditRingBuffer(bufferSize);
+        this.flushSize = flushSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutNanos = blockTimeout.toNanos();
+
+        this.queuedCounter = eventsCounter(meterRegistry, "queued");
+        this.droppedCounter = eventsCounter(meterRegistry, "dropped");
+        this.writtenCounter = Counter.builder("auth.audit.written")
+                .description("Audit events inserted into MongoDB")
+                .register(meterRegistry);
+        this.writeFailuresCounter = Counter.builder("auth.audit.write.failures")
+                .description("Failed audit batch inserts; the batch is retried")
+                .register(meterRegistry);
+        Gauge.builder("auth.audit.buffer.size", buffer, AuditRingBuffer::size)
+                .description("Audit events waiting to be written")
+                .register(meterRegistry);
+    }
+
+    private static Counter eventsCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("auth.audit.events")
+                .description("Audit events published by request threads")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        ensureTimeSeriesCollection();
+        running = true;
+        writer = Thread.ofPlatform().name("login-audit-writer").daemon().start(this::writeLoop);
+        LOGGER.info("Login audit started: buffer {}, flush size {}, overflow {}", buffer.capacity(), flushSize, overflowPolicy);
+    }
+
+    /**
+     * Publishes an attempt for the writer thread. Never touches the database.
+     * @param role The account's role, or null if it is not known.
+     */
+    public void record(AuditEventType type, AuditOutcome outcome, String email, String role, String remoteAddress) {
+        if (!enabled) {
+            return;
+        }
+        long timestamp = System.currentTimeMillis();
+        if (buffer.offer(timestamp, type, outcome, email, role, remoteAddress)) {
+            queuedCounter.increment();
+            return;
+        }
+        if (overflowPolicy == OverflowPolicy.BLOCK && running) {
+            long deadline = System.nanoTime() + blockTimeoutNanos;
+            do {
+                LockSupport.parkNanos(BLOCKED_PARK_NANOS);
+                if (buffer.offer(timestamp, type, outcome, email, role, remoteAddress)) {
+                    queuedCounter.increment();
+                    return;
+                }
+            } while (System.nanoTime() - deadline < 0);
+        }
+        droppedCounter.increment();
+    }
+
+    /**
+     * Login and social login attempts per role and hour, from {@code from} (inclusive) to {@code to} (exclusive).
+     */
+    public List<LoginStats> loginStats(Date from, Date to) {
+        TypedAggregation<LoginAuditRecord> aggregation = Aggregation.newAggregation(LoginAuditRecord.class,
+                Aggregation.match(Criteria.where("timestamp").gte(from).lt(to)
+                        .and("meta.type").in(AuditEventType.LOGIN, AuditEventType.SOCIAL_LOGIN)),
+                Aggregation.project()
+                        .and(DateOperators.dateOf("timestamp").toString("%Y-%m-%dT%H:00:00Z")).as("hour")
+                        .and("meta.role").as("role")
+                        .and(outcomeFlag(AuditOutcome.SUCCESS)).as("success")
+                        .and(outcomeFlag(AuditOutcome.FAILURE)).as("failure"),
+                Aggregation.group("hour", "role")
+                        .count().as("attempts")
+                        .sum("success").as("successes")
+                        .sum("failure").as("failures"),
+                Aggregation.sort(Sort.by("hour", "role")));
+
+        List<LoginStats> stats = new ArrayList<>();
+        for (Document row : mongoTemplate.aggregate(aggregation, Document.class)) {
+            Document key = row.get("_id", Document.class);
+            stats.add(new LoginStats(key.getString("hour"), key.getString("role"),
+                    row.get("attempts", Number.class).longValue(),
+                    row.get("successes", Number.class).longValue(),
+                    row.get("failures", Number.class).longValue()));
+        }
+        return stats;
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            // The writer drains what is left before it exits.
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    private static ConditionalOperators.Cond outcomeFlag(AuditOutcome outcome) {
+        return ConditionalOperators.when(ComparisonOperators.valueOf("meta.outcome").equalToValue(outcome.name()))
+                .then(1)
+                .otherwise(0);
+    }
+
+    private void writeLoop() {
+        List<LoginAuditRecord> batch = new ArrayList<>(flushSize);
+        AuditRingBuffer.Sink sink = (timestamp, type, outcome, email, role, remoteAddress) -> batch.add(
+                new LoginAuditRecord(new Date(timestamp), new LoginAuditRecord.Meta(type, outcome, role), email, remoteAddress));
+        long flushDeadline = 0;
+
+        while (running || buffer.size() > 0 || !batch.isEmpty()) {
+            boolean wasEmpty = batch.isEmpty();
+            int drained = buffer.drain(sink, flushSize - batch.size());
+            if (wasEmpty && drained > 0) {
+                flushDeadline = System.nanoTime() + flushIntervalNanos;
+            }
+            boolean due = !batch.isEmpty()
+                    && (batch.size() >= flushSize || System.nanoTime() - flushDeadline >= 0 || !running);
+            if (due) {
+                if (write(batch)) {
+                    batch.clear();
+                } else if (running) {
+                    // Keep the batch and retry after one interval; meanwhile the ring absorbs new events.
+                    LockSupport.parkNanos(flushIntervalNanos);
+                } else {
+                    LOGGER.error("Discarding {} audit events that could not be written at shutdown", batch.size());
+                    droppedCounter.increment(batch.size());
+                    batch.clear();
+                }
+            } else if (drained == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    private boolean write(List<LoginAuditRecord> batch) {
+        try {
+            mongoTemplate.insert(batch, LoginAuditRecord.class);
+            writtenCounter.increment(batch.size());
+            return true;
+        } catch (DataAccessException e) {
+            writeFailuresCounter.increment();
+            LOGGER.warn("Could not write {} audit events: {}", batch.size(), e.getMessage());
+            return false;
+        }
+    }
+
+    private void ensureTimeSeriesCollection() {
+        if (mongoTemplate.collectionExists(LoginAuditRecord.class)) {
+            return;
+        }
+        try {
+            // Picks up the time-series options declared on LoginAuditRecord.
+            mongoTemplate.createCollection(LoginAuditRecord.class);
+        } catch (DataAccessException e) {
+            // Usually another node created it first.
+            LOGGER.debug("Audit collection not created: {}", e.getMessage());
+        }
+    }
+}
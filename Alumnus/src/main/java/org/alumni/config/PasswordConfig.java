@@ -0,0 +1,43 @@
+package org.alumni.config;
+
+import org.alumni.security.BCryptCalibration;
+import org.alumni.security.CostAwareBCryptPasswordEncoder;
+import org.alumni.security.RateLimitProperties;
+import org.alumni.social.SocialLoginProperties;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+
+/**
+ * Password hashing and the security settings shared by the servlet and reactive stacks.
+ */
+@Configuration
+@EnableConfigurationProperties({RateLimitProperties.class, SocialLoginProperties.class})
+public class PasswordConfig {
+
+    @Bean
+    public static BCryptCalibration bcryptCalibration(@Value("${app.security.bcrypt.cost:0}") int fixedCost,
+                                                      @Value("${app.security.bcrypt.target-millis:100}") long targetMillis,
+                                                      @Value("${app.security.bcrypt.min-cost:10}") int minCost,
+                                                      @Value("${app.security.bcrypt.max-cost:16}") int maxCost) {
+        if (fixedCost > 0) {
+            return BCryptCalibration.fixed(fixedCost);
+        }
+        return BCryptCalibration.calibrate(targetMillis, minCost, maxCost);
+    }
+
+    @Bean
+    public static PasswordEncoder passwordEncoder(BCryptCalibration bcryptCalibration) {
+        // Hashes are stored as "{bcrypt}$2a$<cost>$...", so each one carries its own cost.
+        // Legacy hashes without the prefix are still matched by BCrypt and upgraded on next login.
+        PasswordEncoder bcrypt = new CostAwareBCryptPasswordEncoder(bcryptCalibration.getCost());
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        passwordEncoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return passwordEncoder;
+    }
+}
@@ -0,0 +1,12 @@
+package org.alumni.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables the @Scheduled background jobs (for example the email outbox worker).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
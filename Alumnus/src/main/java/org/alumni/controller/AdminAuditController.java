@@ -0,0 +1,52 @@
+package org.alumni.controller;
+
+import lombok.AllArgsConstructor;
+import org.alumni.audit.LoginAuditService;
+import org.alumni.dto.LoginStats;
+import org.alumni.exception.AppApiException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Reports over the login audit trail. Restricted to ROLE_ADMIN in SecurityConfig.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/admin/audit")
+@AllArgsConstructor
+public class AdminAuditController {
+
+    private static final Duration DEFAULT_RANGE = Duration.ofHours(24);
+    private static final Duration MAX_RANGE = Duration.ofDays(31);
+
+    private final LoginAuditService loginAuditService;
+
+    /**
+     * Login and social login attempts per role and hour.
+     * @param from Start of the range (ISO-8601 instant, inclusive); defaults to 24 hours before {@code to}.
+     * @param to End of the range (exclusive); defaults to now.
+     */
+    @GetMapping("/logins/stats")
+    public List<LoginStats> loginStats(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+                                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(DEFAULT_RANGE);
+        if (!start.isBefore(end)) {
+            throw new AppApiException(HttpStatus.BAD_REQUEST, "'from' must be before 'to'.");
+        }
+        if (Duration.between(start, end).compareTo(MAX_RANGE) > 0) {
+            throw new AppApiException(HttpStatus.BAD_REQUEST, "The range can be at most " + MAX_RANGE.toDays() + " days.");
+        }
+        return loginAuditService.loginStats(Date.from(start), Date.from(end));
+    }
+}
@@ -0,0 +1,95 @@
+package org.alumni.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AllArgsConstructor;
+import org.alumni.dto.DirectoryFilter;
+import org.alumni.exception.AppApiException;
+import org.alumni.model.Role;
+import org.alumni.service.UserExportService;
+import org.alumni.service.UserImportService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+/**
+ * Administrative operations on the user base. Restricted to ROLE_ADMIN in SecurityConfig.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/admin/users")
+@AllArgsConstructor
+public class AdminUserController {
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final UserImportService userImportService;
+    private final UserExportService userExportService;
+
+    /**
+     * Bulk-imports users from a streamed CSV (with a header row) or NDJSON body
+     * of SignUpRequest-shaped rows.
+     * The response is an NDJSON report with one line per row and a final summary line.
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public void importUsers(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        MediaType contentType = MediaType.parseMediaType(request.getContentType());
+        UserImportService.Format format;
+        if (TEXT_CSV.isCompatibleWith(contentType)) {
+            format = UserImportService.Format.CSV;
+        } else if (APPLICATION_NDJSON.isCompatibleWith(contentType)) {
+            format = UserImportService.Format.NDJSON;
+        } else {
+            throw new AppApiException(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Upload must be text/csv or application/x-ndjson.");
+        }
+
+        response.setContentType(APPLICATION_NDJSON.toString());
+        userImportService.importUsers(request.getInputStream(), format, response.getOutputStream());
+    }
+
+    /**
+     * Exports users as CSV (with a header row) or NDJSON, streamed as they are read from MongoDB.
+     * All filters are optional exact matches. Passwords are never included.
+     */
+    @GetMapping("/export")
+    public void exportUsers(@RequestParam(defaultValue = "ndjson") String format,
+                            @RequestParam(required = false) String role,
+                            @RequestParam(required = false) String company,
+                            @RequestParam(required = false) String college,
+                            HttpServletResponse response) throws IOException {
+        UserExportService.Format exportFormat;
+        if ("csv".equalsIgnoreCase(format)) {
+            exportFormat = UserExportService.Format.CSV;
+        } else if ("ndjson".equalsIgnoreCase(format)) {
+            exportFormat = UserExportService.Format.NDJSON;
+        } else {
+            throw new AppApiException(HttpStatus.BAD_REQUEST, "Format must be csv or ndjson.");
+        }
+        DirectoryFilter filter = new DirectoryFilter(parseRole(role), company, college, null);
+
+        response.setContentType(exportFormat == UserExportService.Format.CSV ? "text/csv;charset=UTF-8" : APPLICATION_NDJSON.toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"users." + exportFormat.name().toLowerCase() + "\"");
+        userExportService.export(filter, exportFormat, response.getOutputStream());
+    }
+
+    private static Role parseRole(String role) {
+        if (role == null) {
+            return null;
+        }
+        try {
+            return Role.fromName(role);
+        } catch (IllegalArgumentException e) {
+            throw new AppApiException(HttpStatus.BAD_REQUEST, "Invalid role specified: " + role);
+        }
+    }
+}
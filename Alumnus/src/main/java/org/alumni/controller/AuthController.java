@@ -1,170 +1,345 @@
-package org.alumni.controller;
-
-import jakarta.validation.Valid;
-import lombok.AllArgsConstructor;
-import org.alumni.dto.*;
-import org.alumni.model.Role;
-import org.alumni.model.User;
-import org.alumni.repository.UserRepository;
-import org.alumni.security.JwtTokenProvider;
-import org.alumni.service.EmailService;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
-
-import java.util.UUID;
-
-/**
- * Controller for handling all user authentication and registration processes.
- */
-@RestController
-@RequestMapping("/api/auth")
-@AllArgsConstructor
-public class AuthController {
-
-    private static final Logger LOGGER = LoggerFactory.getLogger(AuthController.class);
-
-    private final AuthenticationManager authenticationManager;
-    private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
-    private final JwtTokenProvider jwtTokenProvider;
-    private final EmailService emailService;
-
-    /**
-     * Handles standard user login with email and password.
-     * @param loginRequest DTO containing the user's credentials.
-     * @return A ResponseEntity with a JWT upon successful authentication.
-     */
-    @PostMapping("/login")
-    public ResponseEntity<JwtAuthResponse> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(loginRequest.getEmail(), loginRequest.getPassword())
-        );
-        SecurityContextHolder.getContext().setAuthentication(authentication);
-        String token = jwtTokenProvider.generateToken(authentication);
-        return ResponseEntity.ok(new JwtAuthResponse(token));
-    }
-
-    /**
-     * Handles new user registration.
-     * @param signUpRequest DTO containing user registration details.
-     * @return A ResponseEntity indicating success or failure.
-     */
-    @PostMapping("/register")
-    public ResponseEntity<ApiResponse> registerUser(@Valid @RequestBody SignUpRequest signUpRequest) {
-        if (userRepository.existsByEmail(signUpRequest.getEmail())) {
-            return new ResponseEntity<>(new ApiResponse(false, "Email is already taken!"), HttpStatus.BAD_REQUEST);
-        }
-
-        User user = new User();
-        user.setName(signUpRequest.getName());
-        user.setEmail(signUpRequest.getEmail());
-        user.setPhone(signUpRequest.getPhone());
-        user.setPassword(passwordEncoder.encode(signUpRequest.getPassword()));
-
-        try {
-            Role userRole = Role.valueOf("ROLE_" + signUpRequest.getRole().toUpperCase());
-            user.setRole(userRole);
-        } catch (IllegalArgumentException e) {
-            return new ResponseEntity<>(new ApiResponse(false, "Error: Invalid role specified."), HttpStatus.BAD_REQUEST);
-        }
-
-        switch (user.getRole()) {
-            case ROLE_ALUMNI:
-                user.setCompanyName(signUpRequest.getCompanyName());
-                user.setCompanyRole(signUpRequest.getCompanyRole());
-                break;
-            case ROLE_STUDENT:
-                user.setCollegeName(signUpRequest.getCollegeName());
-                user.setBranch(signUpRequest.getBranch());
-                user.setCollegeId(signUpRequest.getCollegeId());
-                break;
-            case ROLE_ADMIN:
-                break;
-        }
-
-        LOGGER.info("Attempting to save new user with email: {}", user.getEmail());
-        User savedUser = userRepository.save(user);
-        LOGGER.info("User successfully saved with ID: {}", savedUser.getId());
-
-        return ResponseEntity.ok(new ApiResponse(true, "User registered successfully!"));
-    }
-
-    /**
-     * Handles login/registration via a social provider like Google.
-     * @param socialLoginRequest DTO containing the provider name and the token from the provider.
-     * @return A ResponseEntity with this application's own JWT.
-     */
-    @PostMapping("/social-login")
-    public ResponseEntity<JwtAuthResponse> handleSocialLogin(@Valid @RequestBody SocialLoginRequest socialLoginRequest) {
-        String provider = socialLoginRequest.getProvider();
-        String providerToken = socialLoginRequest.getToken();
-
-        // --- STEP 1: VERIFY TOKEN WITH SOCIAL PROVIDER (e.g., Google) ---
-        // In a real application, you would use a Google API client library to verify the 'providerToken'.
-        // This call would return the user's details if the token is valid.
-        // If invalid, you would throw an exception here.
-        // For this example, we'll simulate a successful verification.
-        LOGGER.info("Simulating verification for a {} token.", provider);
-        // Let's assume verification gives us these details:
-        String userEmailFromProvider = "social.user." + UUID.randomUUID().toString().substring(0, 8) + "@example.com";
-        String userNameFromProvider = "Social User";
-        // --- End of simulation ---
-
-        // --- STEP 2: FIND OR CREATE THE USER IN YOUR DATABASE ---
-        User user = userRepository.findByEmail(userEmailFromProvider)
-                .orElseGet(() -> {
-                    // If the user doesn't exist, create a new account for them.
-                    LOGGER.info("User with email {} not found. Creating new account.", userEmailFromProvider);
-                    User newUser = new User();
-                    newUser.setEmail(userEmailFromProvider);
-                    newUser.setName(userNameFromProvider);
-                    // Social login users don't have a password in your system. We set a secure, random one.
-                    newUser.setPassword(passwordEncoder.encode(UUID.randomUUID().toString()));
-                    newUser.setRole(Role.ROLE_STUDENT); // Assign a default role
-                    return userRepository.save(newUser);
-                });
-
-        // --- STEP 3: GENERATE YOUR APPLICATION'S OWN JWT ---
-        // We create an Authentication object for the user now trusted by our system.
-        Authentication authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
-        SecurityContextHolder.getContext().setAuthentication(authentication);
-        String appJwt = jwtTokenProvider.generateToken(authentication);
-
-        LOGGER.info("Generated application JWT for social login user: {}", user.getEmail());
-        return ResponseEntity.ok(new JwtAuthResponse(appJwt));
-    }
-
-    /**
-     * Handles a 'Forgot Password' request.
-     * @param forgotPasswordRequest DTO containing the user's email.
-     * @return A generic success response to prevent email enumeration attacks.
-     */
-    @PostMapping("/forgot-password")
-    public ResponseEntity<ApiResponse> forgotPassword(@Valid @RequestBody ForgotPasswordRequest forgotPasswordRequest) {
-        userRepository.findByEmail(forgotPasswordRequest.getEmail())
-                .ifPresent(user -> {
-                    // If user is found, generate a link and send the email.
-                    String resetLink = "http://your-frontend-app.com/reset-password?token=some-secure-token";
-                    try {
-                        emailService.sendPasswordResetEmail(user.getEmail(), user.getName(), resetLink);
-                        LOGGER.info("Password reset email sent to {}", user.getEmail());
-                    } catch (Exception e) {
-                        LOGGER.error("Could not send password reset email to {}: {}", user.getEmail(), e.getMessage());
-                    }
-                });
-
-        // Always return a positive response to prevent attackers from discovering which emails are registered.
-        return ResponseEntity.ok(new ApiResponse(true, "If an account with that email exists, a password reset link has been sent."));
-    }
-}
\ No newline at end of file
+package org.alumni.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.AllArgsConstructor;
+import org.alumni.audit.AuditEventType;
+import org.alumni.audit.AuditOutcome;
+import org.alumni.audit.LoginAuditService;
+import org.alumni.dto.*;
+import org.alumni.event.UserSavedEvent;
+import org.alumni.exception.AppApiException;
+import org.alumni.exception.ServiceBusyException;
+import org.alumni.metrics.AuthMetrics;
+import org.alumni.model.RefreshToken;
+import org.alumni.model.Role;
+import org.alumni.model.User;
+import org.alumni.repository.UserRepository;
+import org.alumni.repository.UserRepositoryCustom;
+import org.alumni.security.JwtTokenProvider;
+import org.alumni.security.RevokedTokenRegistry;
+import org.alumni.security.SecurityEvent;
+import org.alumni.security.SecurityEventRecorder;
+import org.alumni.security.TokenVerification;
+import org.alumni.security.UserPrincipal;
+import org.alumni.service.EmailService;
+import org.alumni.service.PasswordHashingService;
+import org.alumni.service.RefreshTokenService;
+import org.alumni.service.SignUpMapper;
+import org.alumni.social.SocialIdentity;
+import org.alumni.social.SocialTokenVerifiers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Controller for handling all user authentication and registration processes.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/auth")
+@AllArgsConstructor
+public class AuthController {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AuthController.class);
+
+    private final AuthenticationManager authenticationManager;
+    private final UserRepository userRepository;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final EmailService emailService;
+    private final PasswordHashingService passwordHashingService;
+    private final AuthMetrics authMetrics;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RefreshTokenService refreshTokenService;
+    private final RevokedTokenRegistry revokedTokenRegistry;
+    private final SecurityEventRecorder securityEvents;
+    private final LoginAuditService loginAuditService;
+    private final SocialTokenVerifiers socialTokenVerifiers;
+
+    /**
+     * Handles standard user login with email and password.
+     * @param loginRequest DTO containing the user's credentials.
+     * @return A ResponseEntity with a JWT upon successful authentication.
+     */
+    @PostMapping("/login")
+    public CompletableFuture<ResponseEntity<JwtAuthResponse>> authenticateUser(@Valid @RequestBody LoginRequest loginRequest,
+                                                                               HttpServletRequest request) {
+        // Authentication is dominated by the BCrypt check, so it runs on the hashing pool
+        // and this request thread is released until it completes. A stored hash with a lower
+        // BCrypt cost is re-hashed and saved inside authenticate() via CustomUserDetailsService.updatePassword.
+        String remoteAddress = request.getRemoteAddr();
+        CompletableFuture<Authentication> authenticated;
+        long submitStart = System.nanoTime();
+        try {
+            authenticated = passwordHashingService.submit(() -> authenticate(loginRequest, remoteAddress));
+        } catch (ServiceBusyException e) {
+            authMetrics.record(AuthMetrics.Phase.LOGIN_AUTHENTICATE, AuthMetrics.Outcome.BUSY, submitStart);
+            throw e;
+        }
+        return authenticated.thenApply(authentication -> {
+            long start = System.nanoTime();
+            try {
+                String token = jwtTokenProvider.generateToken(authentication);
+                String refreshToken = refreshTokenService.issue(authentication.getName());
+                authMetrics.record(AuthMetrics.Phase.LOGIN_TOKEN, AuthMetrics.Outcome.SUCCESS, start);
+                return ResponseEntity.ok(new JwtAuthResponse(token, refreshToken));
+            } catch (RuntimeException e) {
+                authMetrics.record(AuthMetrics.Phase.LOGIN_TOKEN, AuthMetrics.Outcome.ERROR, start);
+                throw e;
+            }
+        });
+    }
+
+    private Authentication authenticate(LoginRequest loginRequest, String remoteAddress) {
+        long start = System.nanoTime();
+        try {
+            Authentication authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(loginRequest.getEmail(), loginRequest.getPassword())
+            );
+            authMetrics.record(AuthMetrics.Phase.LOGIN_AUTHENTICATE, AuthMetrics.Outcome.SUCCESS, start);
+            loginAuditService.record(AuditEventType.LOGIN, AuditOutcome.SUCCESS, loginRequest.getEmail(),
+                    role(authentication), remoteAddress);
+            return authentication;
+        } catch (AuthenticationException e) {
+            authMetrics.record(AuthMetrics.Phase.LOGIN_AUTHENTICATE, AuthMetrics.Outcome.BAD_CREDENTIALS, start);
+            securityEvents.record(SecurityEvent.LOGIN_FAILED, loginRequest.getEmail());
+            loginAuditService.record(AuditEventType.LOGIN, AuditOutcome.FAILURE, loginRequest.getEmail(), null, remoteAddress);
+            throw e;
+        } catch (RuntimeException e) {
+            authMetrics.record(AuthMetrics.Phase.LOGIN_AUTHENTICATE, AuthMetrics.Outcome.ERROR, start);
+            loginAuditService.record(AuditEventType.LOGIN, AuditOutcome.ERROR, loginRequest.getEmail(), null, remoteAddress);
+            throw e;
+        }
+    }
+
+    /**
+     * Handles new user registration.
+     * @param signUpRequest DTO containing user registration details.
+     * @return A ResponseEntity indicating success or failure.
+     */
+    @PostMapping("/register")
+    public CompletableFuture<ResponseEntity<ApiResponse>> registerUser(@Valid @RequestBody SignUpRequest signUpRequest) {
+        User user;
+        try {
+            user = SignUpMapper.toUser(signUpRequest);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(
+                    new ResponseEntity<>(new ApiResponse(false, "Error: Invalid role specified."), HttpStatus.BAD_REQUEST));
+        }
+
+        // Only hash once the cheap checks above have passed. Uniqueness is left to the
+        // unique index on email: a single insert either wins or fails with a duplicate key.
+        long hashStart = System.nanoTime();
+        CompletableFuture<String> hashed;
+        try {
+            hashed = passwordHashingService.encode(signUpRequest.getPassword());
+        } catch (ServiceBusyException e) {
+            authMetrics.record(AuthMetrics.Phase.REGISTER_HASH, AuthMetrics.Outcome.BUSY, hashStart);
+            throw e;
+        }
+        return hashed
+                .whenComplete((encodedPassword, failure) -> authMetrics.record(AuthMetrics.Phase.REGISTER_HASH,
+                        failure == null ? AuthMetrics.Outcome.SUCCESS : AuthMetrics.Outcome.ERROR, hashStart))
+                .thenApply(encodedPassword -> {
+                    user.setPassword(encodedPassword);
+                    LOGGER.info("Attempting to save new user with email: {}", user.getEmail());
+                    long insertStart = System.nanoTime();
+                    try {
+                        User savedUser = userRepository.insert(user);
+                        authMetrics.record(AuthMetrics.Phase.REGISTER_INSERT, AuthMetrics.Outcome.SUCCESS, insertStart);
+                        LOGGER.info("User successfully saved with ID: {}", savedUser.getId());
+                        eventPublisher.publishEvent(new UserSavedEvent(savedUser));
+                    } catch (DuplicateKeyException e) {
+                        authMetrics.record(AuthMetrics.Phase.REGISTER_INSERT, AuthMetrics.Outcome.DUPLICATE, insertStart);
+                        return new ResponseEntity<>(new ApiResponse(false, "Email is already taken!"), HttpStatus.BAD_REQUEST);
+                    } catch (RuntimeException e) {
+                        authMetrics.record(AuthMetrics.Phase.REGISTER_INSERT, AuthMetrics.Outcome.ERROR, insertStart);
+                        throw e;
+                    }
+                    return ResponseEntity.ok(new ApiResponse(true, "User registered successfully!"));
+                });
+    }
+
+    /**
+     * Handles login/registration via a social provider like Google.
+     * The provider's ID token is verified locally against its cached public keys, and the user
+     * is found or created by email in one atomic upsert, so no password is hashed.
+     * @param socialLoginRequest DTO containing the provider name and the ID token from the provider.
+     * @return A ResponseEntity with this application's own JWT.
+     */
+    @PostMapping("/social-login")
+    public ResponseEntity<JwtAuthResponse> handleSocialLogin(@Valid @RequestBody SocialLoginRequest socialLoginRequest,
+                                                             HttpServletRequest request) {
+        String remoteAddress = request.getRemoteAddr();
+
+        long verifyStart = System.nanoTime();
+        SocialIdentity identity;
+        try {
+            identity = socialTokenVerifiers.verify(socialLoginRequest.getProvider(), socialLoginRequest.getToken());
+        } catch (AppApiException e) {
+            authMetrics.record(AuthMetrics.Phase.SOCIAL_VERIFY, AuthMetrics.Outcome.BAD_CREDENTIALS, verifyStart);
+            securityEvents.record(SecurityEvent.SOCIAL_TOKEN_REJECTED, socialLoginRequest.getProvider());
+            loginAuditService.record(AuditEventType.SOCIAL_LOGIN, AuditOutcome.FAILURE, null, null, remoteAddress);
+            throw e;
+        } catch (RuntimeException e) {
+            authMetrics.record(AuthMetrics.Phase.SOCIAL_VERIFY, AuthMetrics.Outcome.ERROR, verifyStart);
+            throw e;
+        }
+        authMetrics.record(AuthMetrics.Phase.SOCIAL_VERIFY, AuthMetrics.Outcome.SUCCESS, verifyStart);
+
+        long upsertStart = System.nanoTime();
+        String name = identity.name() != null ? identity.name() : identity.email();
+        UserRepositoryCustom.FindOrCreateResult result;
+        try {
+            result = userRepository.findOrCreateByEmail(identity.email(), name, Role.ROLE_STUDENT); // Default role for new accounts
+        } catch (RuntimeException e) {
+            authMetrics.record(AuthMetrics.Phase.SOCIAL_UPSERT, AuthMetrics.Outcome.ERROR, upsertStart);
+            throw e;
+        }
+        authMetrics.record(AuthMetrics.Phase.SOCIAL_UPSERT, AuthMetrics.Outcome.SUCCESS, upsertStart);
+        User user = result.user();
+        if (result.created()) {
+            LOGGER.info("Created account for {} user {}", identity.provider(), user.getEmail());
+            eventPublisher.publishEvent(new UserSavedEvent(user));
+        }
+
+        long tokenStart = System.nanoTime();
+        Authentication authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+        String appJwt = jwtTokenProvider.generateToken(authentication);
+        String refreshToken = refreshTokenService.issue(user.getEmail());
+        authMetrics.record(AuthMetrics.Phase.SOCIAL_TOKEN, AuthMetrics.Outcome.SUCCESS, tokenStart);
+        loginAuditService.record(AuditEventType.SOCIAL_LOGIN, AuditOutcome.SUCCESS, user.getEmail(),
+                user.getRole().name(), remoteAddress);
+        return ResponseEntity.ok(new JwtAuthResponse(appJwt, refreshToken));
+    }
+
+    /**
+     * Exchanges a refresh token for a new access token and a new refresh token.
+     * Each refresh token works once; presenting a used one ends that login session everywhere.
+     * @param refreshTokenRequest DTO containing the refresh token from the last login or refresh.
+     * @return A ResponseEntity with the new token pair.
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<JwtAuthResponse> refreshToken(@Valid @RequestBody RefreshTokenRequest refreshTokenRequest) {
+        long rotateStart = System.nanoTime();
+        RefreshToken consumed;
+        try {
+            consumed = refreshTokenService.consume(refreshTokenRequest.getRefreshToken());
+        } catch (AppApiException e) {
+            authMetrics.record(AuthMetrics.Phase.REFRESH_ROTATE, AuthMetrics.Outcome.BAD_CREDENTIALS, rotateStart);
+            securityEvents.record(SecurityEvent.REFRESH_REJECTED);
+            throw e;
+        }
+        // Reload the user so that a changed role takes effect at the next refresh.
+        UserPrincipal principal;
+        String nextRefreshToken;
+        try {
+            principal = userRepository.findPrincipalByEmail(consumed.getEmail())
+                    .map(UserPrincipal::withoutPassword)
+                    .orElseThrow(() -> new AppApiException(HttpStatus.UNAUTHORIZED, "Refresh token is invalid or expired."));
+            nextRefreshToken = refreshTokenService.rotate(consumed);
+        } catch (AppApiException e) {
+            authMetrics.record(AuthMetrics.Phase.REFRESH_ROTATE, AuthMetrics.Outcome.BAD_CREDENTIALS, rotateStart);
+            throw e;
+        } catch (RuntimeException e) {
+            authMetrics.record(AuthMetrics.Phase.REFRESH_ROTATE, AuthMetrics.Outcome.ERROR, rotateStart);
+            throw e;
+        }
+        authMetrics.record(AuthMetrics.Phase.REFRESH_ROTATE, AuthMetrics.Outcome.SUCCESS, rotateStart);
+
+        long tokenStart = System.nanoTime();
+        Authentication authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        String accessToken = jwtTokenProvider.generateToken(authentication);
+        authMetrics.record(AuthMetrics.Phase.REFRESH_TOKEN, AuthMetrics.Outcome.SUCCESS, tokenStart);
+        return ResponseEntity.ok(new JwtAuthResponse(accessToken, nextRefreshToken));
+    }
+
+    /**
+     * Logs out by revoking the access token in the Authorization header until it expires
+     * and, if one is given, ending the refresh token's session.
+     * @param authorization The "Bearer" header of the access token to revoke, if any.
+     * @param refreshTokenRequest Optional DTO containing the session's refresh token.
+     * @return A success response; unknown or already invalid tokens are ignored.
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<ApiResponse> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+                                              @RequestBody(required = false) RefreshTokenRequest refreshTokenRequest) {
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            TokenVerification verification = jwtTokenProvider.verify(authorization.substring(7));
+            if (verification.isValid() && verification.getTokenId() != null) {
+                revokedTokenRegistry.revoke(verification.getTokenId(), verification.getExpiration());
+            }
+        }
+        if (refreshTokenRequest != null && refreshTokenRequest.getRefreshToken() != null) {
+            refreshTokenService.revokeFamily(refreshTokenRequest.getRefreshToken());
+        }
+        return ResponseEntity.ok(new ApiResponse(true, "Logged out successfully."));
+    }
+
+    /**
+     * Handles a 'Forgot Password' request.
+     * @param forgotPasswordRequest DTO containing the user's email.
+     * @return A generic success response to prevent email enumeration attacks.
+     */
+    @PostMapping("/forgot-password")
+    public ResponseEntity<ApiResponse> forgotPassword(@Valid @RequestBody ForgotPasswordRequest forgotPasswordRequest,
+                                                      HttpServletRequest request) {
+        long lookupStart = System.nanoTime();
+        Optional<User> existingUser;
+        try {
+            existingUser = userRepository.findByEmail(forgotPasswordRequest.getEmail());
+        } catch (RuntimeException e) {
+            authMetrics.record(AuthMetrics.Phase.FORGOT_LOOKUP, AuthMetrics.Outcome.ERROR, lookupStart);
+            throw e;
+        }
+        authMetrics.record(AuthMetrics.Phase.FORGOT_LOOKUP, AuthMetrics.Outcome.SUCCESS, lookupStart);
+        existingUser.ifPresent(user -> {
+            // If user is found, generate a link and queue the email; delivery happens in the background.
+            String resetLink = "http://your-frontend-app.com/reset-password?token=some-secure-token";
+            long enqueueStart = System.nanoTime();
+            try {
+                emailService.sendPasswordResetEmail(user.getEmail(), user.getName(), resetLink);
+                authMetrics.record(AuthMetrics.Phase.FORGOT_ENQUEUE, AuthMetrics.Outcome.SUCCESS, enqueueStart);
+                loginAuditService.record(AuditEventType.PASSWORD_RESET, AuditOutcome.SUCCESS, user.getEmail(),
+                        user.getRole().name(), request.getRemoteAddr());
+                LOGGER.info("Password reset email queued for {}", user.getEmail());
+            } catch (Exception e) {
+                authMetrics.record(AuthMetrics.Phase.FORGOT_ENQUEUE, AuthMetrics.Outcome.ERROR, enqueueStart);
+                loginAuditService.record(AuditEventType.PASSWORD_RESET, AuditOutcome.ERROR, user.getEmail(),
+                        user.getRole().name(), request.getRemoteAddr());
+                LOGGER.error("Could not queue password reset email for {}: {}", user.getEmail(), e.getMessage());
+            }
+        });
+        if (existingUser.isEmpty()) {
+            loginAuditService.record(AuditEventType.PASSWORD_RESET, AuditOutcome.FAILURE, forgotPasswordRequest.getEmail(),
+                    null, request.getRemoteAddr());
+        }
+
+        // Always return a positive response to prevent attackers from discovering which emails are registered.
+        return ResponseEntity.ok(new ApiResponse(true, "If an account with that email exists, a password reset link has been sent."));
+    }
+
+    private static String role(Authentication authentication) {
+        Iterator<? extends GrantedAuthority> authorities = authentication.getAuthorities().iterator();
+        return authorities.hasNext() ? authorities.next().getAuthority() : null;
+    }
+}
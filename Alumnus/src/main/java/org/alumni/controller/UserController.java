@@ -0,0 +1,119 @@
+package org.alumni.controller;
+
+import jakarta.validation.Valid;
+import lombok.AllArgsConstructor;
+import org.alumni.dto.DirectoryFilter;
+import org.alumni.dto.DirectoryPage;
+import org.alumni.dto.ProfileResponse;
+import org.alumni.dto.ProfileUpdateRequest;
+import org.alumni.exception.AppApiException;
+import org.alumni.matching.MentorMatcher;
+import org.alumni.matching.MentorMatchingService;
+import org.alumni.model.Role;
+import org.alumni.search.UserSearchIndex;
+import org.alumni.search.UserSearchService;
+import org.alumni.security.UserPrincipal;
+import org.alumni.service.ProfileService;
+import org.alumni.service.UserDirectoryService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/users")
+@AllArgsConstructor
+public class UserController {
+
+    private final UserDirectoryService userDirectoryService;
+    private final UserSearchService userSearchService;
+    private final ProfileService profileService;
+    private final MentorMatchingService mentorMatchingService;
+
+    /**
+     * Returns the signed-in user's profile with an ETag. Send the ETag back in If-None-Match
+     * to get 304 Not Modified, without a body, while the profile is unchanged.
+     */
+    @GetMapping("/me")
+    public ResponseEntity<ProfileResponse> getProfile(@AuthenticationPrincipal UserPrincipal principal,
+                                                      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return toResponse(profileService.read(principal, ifNoneMatch));
+    }
+
+    /**
+     * Replaces the signed-in user's editable profile fields. If-Match must carry the ETag
+     * the edit was based on; if the profile has changed since, the update fails with 412.
+     */
+    @PutMapping("/me")
+    public ResponseEntity<ProfileResponse> updateProfile(@AuthenticationPrincipal UserPrincipal principal,
+                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                         @Valid @RequestBody ProfileUpdateRequest profileUpdateRequest) {
+        return toResponse(profileService.update(principal, ifMatch, profileUpdateRequest));
+    }
+
+    /**
+     * Suggests alumni mentors for the signed-in student, best first, scored live against the
+     * current alumni snapshot. The nightly matches for every student are in mentor_matches.
+     */
+    @GetMapping("/me/mentors")
+    public ResponseEntity<List<MentorMatcher.Mentor>> mentors(@AuthenticationPrincipal UserPrincipal principal,
+                                                              @RequestParam(defaultValue = "" + MentorMatchingService.DEFAULT_LIMIT) int limit) {
+        return ResponseEntity.ok(mentorMatchingService.suggest(principal, limit));
+    }
+
+    /**
+     * Searches the alumni directory. All filters are optional exact matches.
+     * Pass the returned nextCursor as 'cursor' to fetch the next page.
+     */
+    @GetMapping("/directory")
+    public ResponseEntity<DirectoryPage> directory(@RequestParam(required = false) String role,
+                                                   @RequestParam(required = false) String company,
+                                                   @RequestParam(required = false) String college,
+                                                   @RequestParam(required = false) String branch,
+                                                   @RequestParam(required = false) String cursor,
+                                                   @RequestParam(defaultValue = "" + UserDirectoryService.DEFAULT_PAGE_SIZE) int size) {
+        DirectoryFilter filter = new DirectoryFilter(parseRole(role), company, college, branch);
+        return ResponseEntity.ok(userDirectoryService.search(filter, cursor, size));
+    }
+
+    /**
+     * Search-as-you-type over user and company names. Matches word prefixes and tolerates
+     * a typo in longer words; results are ranked and capped at 'limit'.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<UserSearchIndex.Hit>> search(@RequestParam("q") String query,
+                                                            @RequestParam(defaultValue = "" + UserSearchService.DEFAULT_LIMIT) int limit) {
+        return ResponseEntity.ok(userSearchService.search(query, limit));
+    }
+
+    private static ResponseEntity<ProfileResponse> toResponse(ProfileService.ProfileRead read) {
+        // Private: the profile must not be stored by shared caches. no-cache: browsers revalidate every time.
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(read.notModified() ? HttpStatus.NOT_MODIFIED : HttpStatus.OK)
+                .eTag(read.etag())
+                .cacheControl(CacheControl.noCache().cachePrivate());
+        return read.notModified() ? builder.build() : builder.body(read.profile());
+    }
+
+    private static Role parseRole(String role) {
+        if (role == null) {
+            return null;
+        }
+        try {
+            return Role.fromName(role);
+        } catch (IllegalArgumentException e) {
+            throw new AppApiException(HttpStatus.BAD_REQUEST, "Invalid role specified: " + role);
+        }
+    }
+}
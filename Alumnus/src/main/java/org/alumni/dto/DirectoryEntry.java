@@ -0,0 +1,20 @@
+package org.alumni.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The public view of a user in the alumni directory.
+ * Queries project only these fields, so the password hash and contact details never leave MongoDB.
+ */
+@Data
+@NoArgsConstructor
+public class DirectoryEntry {
+    private String id;
+    private String name;
+    private String role;
+    private String companyName;
+    private String companyRole;
+    private String collegeName;
+    private String branch;
+}
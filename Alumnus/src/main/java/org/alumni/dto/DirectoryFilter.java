@@ -0,0 +1,17 @@
+package org.alumni.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.alumni.model.Role;
+
+/**
+ * Equality filters for the alumni directory. Null fields are not filtered on.
+ */
+@Getter
+@AllArgsConstructor
+public class DirectoryFilter {
+    private Role role;
+    private String companyName;
+    private String collegeName;
+    private String branch;
+}
@@ -0,0 +1,17 @@
+package org.alumni.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * One page of directory results. Pass nextCursor back as 'cursor' to fetch the following page;
+ * it is null on the last page.
+ */
+@Getter
+@AllArgsConstructor
+public class DirectoryPage {
+    private List<DirectoryEntry> items;
+    private String nextCursor;
+}
@@ -0,0 +1,24 @@
+package org.alumni.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * One line of the bulk import report: what happened to a single input row.
+ */
+@Getter
+@AllArgsConstructor
+public class ImportRowResult {
+
+    public enum Status {
+        CREATED,
+        DUPLICATE,
+        INVALID,
+        FAILED
+    }
+
+    private long row;
+    private String email;
+    private Status status;
+    private String message;
+}
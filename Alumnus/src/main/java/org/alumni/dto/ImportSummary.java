@@ -0,0 +1,19 @@
+package org.alumni.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The final line of the bulk import report, with totals and throughput.
+ */
+@Getter
+@AllArgsConstructor
+public class ImportSummary {
+    private long rows;
+    private long created;
+    private long duplicates;
+    private long invalid;
+    private long failed;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+}
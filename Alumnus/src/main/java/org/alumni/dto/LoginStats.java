@@ -0,0 +1,24 @@
+package org.alumni.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Login and social login attempts for one role in one hour (UTC).
+ */
+@Data
+@AllArgsConstructor
+public class LoginStats {
+
+    // The start of the hour, e.g. 2024-05-01T13:00:00Z.
+    private String hour;
+
+    // Null for failed attempts, where the account's role is not known.
+    private String role;
+
+    private long attempts;
+
+    private long successes;
+
+    private long failures;
+}
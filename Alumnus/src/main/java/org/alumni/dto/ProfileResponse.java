@@ -0,0 +1,22 @@
+package org.alumni.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The signed-in user's own profile. Its version is sent as the ETag header, not in the body.
+ */
+@Data
+@NoArgsConstructor
+public class ProfileResponse {
+    private String id;
+    private String name;
+    private String email;
+    private String phone;
+    private String role;
+    private String companyName;
+    private String companyRole;
+    private String collegeName;
+    private String branch;
+    private String collegeId;
+}
@@ -0,0 +1,24 @@
+package org.alumni.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+/**
+ * Replaces the editable part of the signed-in user's profile.
+ * Email, password and role are changed elsewhere; optional fields left out are cleared.
+ */
+@Data
+public class ProfileUpdateRequest {
+    @NotBlank
+    private String name;
+
+    @NotBlank
+    private String phone;
+
+    // Optional fields
+    private String companyName;
+    private String companyRole;
+    private String collegeName;
+    private String branch;
+    private String collegeId;
+}
@@ -0,0 +1,25 @@
+package org.alumni.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One user in an admin export. Queries project only these fields, so the password hash is never read.
+ * The property order is also the CSV column order.
+ */
+@Data
+@NoArgsConstructor
+@JsonPropertyOrder({"id", "name", "email", "phone", "role", "companyName", "companyRole", "collegeName", "branch", "collegeId"})
+public class UserExportRow {
+    private String id;
+    private String name;
+    private String email;
+    private String phone;
+    private String role;
+    private String companyName;
+    private String companyRole;
+    private String collegeName;
+    private String branch;
+    private String collegeId;
+}
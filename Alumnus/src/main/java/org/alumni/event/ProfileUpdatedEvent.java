@@ -0,0 +1,9 @@
+package org.alumni.event;
+
+/**
+ * Published after a user has updated their own profile.
+ * @param userId The id of the user whose profile changed.
+ * @param version The profile's version after the update.
+ */
+public record ProfileUpdatedEvent(String userId, long version) {
+}
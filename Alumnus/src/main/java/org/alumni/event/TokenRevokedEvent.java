@@ -0,0 +1,8 @@
+package org.alumni.event;
+
+/**
+ * Published after an access token has been revoked on this node.
+ * @param tokenId The revoked token's jti.
+ */
+public record TokenRevokedEvent(String tokenId) {
+}
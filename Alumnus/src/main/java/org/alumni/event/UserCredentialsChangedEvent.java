@@ -0,0 +1,12 @@
+package org.alumni.event;
+
+/**
+ * Published whenever a user's role or password changes, so that anything
+ * holding authentication state derived from the old values can drop it.
+ * Today that is a login rehashing the password (on either web stack) and a profile update,
+ * which changes the version a cached principal carries. Nothing changes a user's role yet;
+ * code that does must publish this too.
+ * @param email The email (username) of the affected user.
+ */
+public record UserCredentialsChangedEvent(String email) {
+}
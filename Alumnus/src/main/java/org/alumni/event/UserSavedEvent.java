@@ -0,0 +1,9 @@
+package org.alumni.event;
+
+import org.alumni.model.User;
+
+/**
+ * Published after a user document has been inserted or saved.
+ */
+public record UserSavedEvent(User user) {
+}
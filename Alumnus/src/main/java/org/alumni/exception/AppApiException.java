@@ -1,21 +1,22 @@
-package org.alumni.exception;
-
-import lombok.Getter;
-import org.springframework.http.HttpStatus;
-
-/**
- * Custom exception class for handling application-specific API errors.
- * This allows us to throw exceptions with a specific HTTP status and a clear message.
- */
-@Getter
-public class AppApiException extends RuntimeException {
-
-    private final HttpStatus status;
-    private final String message;
-
-    public AppApiException(HttpStatus status, String message) {
-        super(message);
-        this.status = status;
-        this.message = message;
-    }
+package org.alumni.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Custom exception class for handling application-specific API errors.
+ * This allows us to throw exceptions with a specific HTTP status and a clear message.
+ * These are expected outcomes (bad input, bad credentials), so no stack trace is captured.
+ */
+@Getter
+public class AppApiException extends RuntimeException {
+
+    private final HttpStatus status;
+    private final String message;
+
+    public AppApiException(HttpStatus status, String message) {
+        super(message, null, false, false);
+        this.status = status;
+        this.message = message;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package org.alumni.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Thrown when a bounded resource (such as the password hashing pool) is saturated.
+ * It is answered with 503 and a Retry-After header instead of letting requests pile up.
+ */
+@Getter
+public class ServiceBusyException extends AppApiException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceBusyException(String message, long retryAfterSeconds) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,501 @@
+package org.alumni.matching;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Scores the alumni in a {@link MentorSnapshot} as mentors for students and keeps each
+ * student's top K.
+ * <p>
+ * A student scores an alumnus for sharing their college and branch, for holding a job title
+ * common among alumni of the student's branch, and for working at a company that employs
+ * alumni of the student's college. The college part and the branch part are each a byte per
+ * alumnus, computed once per college and once per branch, so scoring the alumni for a
+ * college and branch is one pass adding two byte arrays. Students are grouped by the pair and
+ * each group keeps only the alumni that can make a top K, sorted by score; picking a student's
+ * top K then stops at the first candidate that can no longer make the list. Equal scores are
+ * broken by a hash of the student and the alumnus, so students with the same college and branch are spread over equally good
+ * mentors instead of all getting the same ten, and a student's matches are stable between runs.
+ * <p>
+ * {@link #matchAll} splits colleges, their groups and large groups' students into fork/join tasks.
+ * Instances are immutable and thread-safe.
+ */
+public final class MentorMatcher {
+
+    static final int SAME_COLLEGE = 40;
+    static final int SAME_BRANCH = 30;
+    static final int ROLE_AFFINITY = 15;
+    static final int COMPANY_AFFINITY = 15;
+    private static final int MAX_SCORE = SAME_COLLEGE + SAME_BRANCH + ROLE_AFFINITY + COMPANY_AFFINITY;
+
+    // Small enough to balance uneven groups, large enough that task overhead stays negligible.
+    private static final int STUDENTS_PER_TASK = 256;
+
+    private final MentorSnapshot snapshot;
+
+    public MentorMatcher(MentorSnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    public MentorSnapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * A suggested mentor. Score runs from 1 to 100.
+     */
+    public record Mentor(String alumniId, String name, String companyName, String companyRole, int score) {
+    }
+
+    /**
+     * Matches one student, on the calling thread.
+     * @return Up to k mentors, best first; fewer if fewer alumni have anything in common with the student.
+     */
+    public List<Mentor> match(String studentId, String collegeName, String branch, int k) {
+        Candidates candidates = candidates(collegeScores(snapshot.collegeCode(collegeName)),
+                branchScores(snapshot.branchCode(branch)), k);
+        int[] alumni = new int[k];
+        int[] scores = new int[k];
+        int found = candidates.selectTop(seed(studentId), k, alumni, scores, 0);
+        List<Mentor> mentors = new ArrayList<>(found);
+        for (int i = 0; i < found; i++) {
+            mentors.add(mentor(alumni[i], scores[i]));
+        }
+        return mentors;
+    }
+
+    /**
+     * Matches a batch of students in parallel on the given pool. The arrays are indexed by student.
+     */
+    public Result matchAll(String[] studentIds, String[] collegeNames, String[] branches, int k, ForkJoinPool pool) {
+        Batch batch = new Batch(studentIds, collegeNames, branches, k);
+        pool.invoke(batch.new CollegesTask(0, batch.collegeCount()));
+        return batch.result;
+    }
+
+    private Mentor mentor(int alumnus, int score) {
+        return new Mentor(snapshot.id(alumnus), snapshot.name(alumnus),
+                snapshot.companyName(alumnus), snapshot.companyRole(alumnus), score);
+    }
+
+    /**
+     * The part of every alumnus's score that depends on the student's college: the same college,
+     * and working at a company that employs alumni of that college.
+     */
+    byte[] collegeScores(int college) {
+        return attributeScores(snapshot.alumniOfCollege(college), snapshot.companies(), snapshot.companyCount(),
+                COMPANY_AFFINITY, SAME_COLLEGE);
+    }
+
+    /**
+     * The part of every alumnus's score that depends on the student's branch: the same branch,
+     * and holding a job title common among alumni of that branch.
+     */
+    byte[] branchScores(int branch) {
+        return attributeScores(snapshot.alumniOfBranch(branch), snapshot.roles(), snapshot.roleCount(),
+                ROLE_AFFINITY, SAME_BRANCH);
+    }
+
+    private byte[] attributeScores(int[] sharing, int[] attribute, int distinct, int maxAffinity, int samePoints) {
+        int[] points = affinity(sharing, attribute, distinct, maxAffinity);
+        byte[] scores = new byte[snapshot.size()];
+        for (int alumnus = 0; alumnus < scores.length; alumnus++) {
+            scores[alumnus] = (byte) points[attribute[alumnus]];
+        }
+        // The list is empty for a student without a college or branch.
+        for (int alumnus : sharing) {
+            scores[alumnus] += samePoints;
+        }
+        return scores;
+    }
+
+    /**
+     * Adds up the college and branch scores of every alumnus and keeps the candidates that can
+     * make some student's top k, highest score first. Those are the alumni scoring at least the
+     * k-th highest score: anyone below it is beaten by k others whatever the tie-break.
+     */
+    static Candidates candidates(byte[] collegeScores, byte[] branchScores, int k) {
+        int size = collegeScores.length;
+        byte[] scores = new byte[size];
+        int[] histogram = new int[MAX_SCORE + 1];
+        for (int alumnus = 0; alumnus < size; alumnus++) {
+            int score = collegeScores[alumnus] + branchScores[alumnus];
+            scores[alumnus] = (byte) score;
+            histogram[score]++;
+        }
+
+        int threshold = MAX_SCORE;
+        int kept = histogram[MAX_SCORE];
+        while (threshold > 1 && kept < k) {
+            kept += histogram[--threshold];
+        }
+
+        // Counting sort, highest score first; alumni keep their snapshot order within a score.
+        int[] next = new int[MAX_SCORE + 1];
+        for (int score = MAX_SCORE - 1, position = histogram[MAX_SCORE]; score >= threshold; score--) {
+            next[score] = position;
+            position += histogram[score];
+        }
+        int[] sortedAlumni = new int[kept];
+        int[] sortedScores = new int[kept];
+        for (int alumnus = 0; alumnus < size; alumnus++) {
+            int score = scores[alumnus];
+            if (score >= threshold) {
+                int position = next[score]++;
+                sortedAlumni[position] = alumnus;
+                sortedScores[position] = score;
+            }
+        }
+        return new Candidates(sortedAlumni, sortedScores);
+    }
+
+    /**
+     * Scales how often each value of an attribute occurs among some alumni to 0..maxPoints,
+     * the most common value getting maxPoints and any value that occurs at least 1.
+     * @return Points by attribute code; code 0 (missing) always gets 0.
+     */
+    private static int[] affinity(int[] alumni, int[] attribute, int distinct, int maxPoints) {
+        int[] points = new int[distinct + 1];
+        int max = 0;
+        for (int alumnus : alumni) {
+            int code = attribute[alumnus];
+            if (code != MentorSnapshot.NONE) {
+                max = Math.max(max, ++points[code]);
+            }
+        }
+        if (max > 0) {
+            for (int code = 1; code <= distinct; code++) {
+                points[code] = (points[code] * maxPoints + max - 1) / max;
+            }
+        }
+        return points;
+    }
+
+    private static long seed(String studentId) {
+        return mix(studentId.hashCode());
+    }
+
+    private static long mix(long value) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 32;
+        h *= 0xD6E8FEB86659FD93L;
+        return h ^ (h >>> 32);
+    }
+
+    /**
+     * One group's scored alumni, in descending score order.
+     */
+    static final class Candidates {
+        private final int[] alumni;
+        private final int[] scores;
+
+        Candidates(int[] alumni, int[] scores) {
+            this.alumni = alumni;
+            this.scores = scores;
+        }
+
+        int size() {
+            return alumni.length;
+        }
+
+        /**
+         * Writes the student's top k, best first, to the output arrays at 'offset'.
+         * @return How many were written.
+         */
+        int selectTop(long seed, int k, int[] outAlumni, int[] outScores, int offset) {
+            LongMinHeap top = new LongMinHeap(k);
+            for (int i = 0; i < alumni.length; i++) {
+                int score = scores[i];
+                // Candidates are sorted, so once the heap is full nothing with a lower score can enter.
+                if (top.isFull() && score < (int) (top.min() >>> 55)) {
+                    break;
+                }
+                int alumnus = alumni[i];
+                // Score (8 bits), then the tie-break hash (24 bits), then the alumnus (31 bits).
+                long tieBreak = mix(seed + alumnus) >>> 40;
+                top.offer(((long) score << 55) | (tieBreak << 31) | alumnus);
+            }
+            long[] ranked = top.drainDescending();
+            for (int i = 0; i < ranked.length; i++) {
+                outAlumni[offset + i] = (int) (ranked[i] & Integer.MAX_VALUE);
+                outScores[offset + i] = (int) (ranked[i] >>> 55);
+            }
+            return ranked.length;
+        }
+    }
+
+    /**
+     * The top k mentors of every student in a batch, held as flat int arrays.
+     */
+    public final class Result {
+        private final String[] studentIds;
+        private final int k;
+        private final int[] alumni;
+        private final int[] scores;
+        private final int[] found;
+
+        private Result(String[] studentIds, int k) {
+            this.studentIds = studentIds;
+            this.k = k;
+            this.alumni = new int[studentIds.length * k];
+            this.scores = new int[studentIds.length * k];
+            this.found = new int[studentIds.length];
+        }
+
+        public int students() {
+            return studentIds.length;
+        }
+
+        public String studentId(int student) {
+            return studentIds[student];
+        }
+
+        /**
+         * @return The student's mentors, best first.
+         */
+        public List<Mentor> mentorsOf(int student) {
+            List<Mentor> mentors = new ArrayList<>(found[student]);
+            for (int i = student * k; i < student * k + found[student]; i++) {
+                mentors.add(mentor(alumni[i], scores[i]));
+            }
+            return mentors;
+        }
+    }
+
+    /**
+     * The students of one matchAll call, grouped by college and, within a college, by branch.
+     */
+    private final class Batch {
+        private final String[] studentIds;
+        private final int k;
+        private final Result result;
+        // Group g is the students of college groupColleges[g] and branch groupBranches[g];
+        // groups are numbered in college order, and college c's are collegeGroupStart[c] .. collegeGroupStart[c + 1] - 1.
+        private final int[] groupColleges;
+        private final int[] groupBranches;
+        private final int[] collegeGroupStart;
+        // Students in group order: group g holds order[groupStart[g]] .. order[groupStart[g + 1] - 1].
+        private final int[] groupStart;
+        private final int[] order;
+        // Branches are few, so each one's scores are computed once up front and shared by every
+        // college; college scores are computed by the task matching that college.
+        private final byte[][] branchScores;
+
+        Batch(String[] studentIds, String[] collegeNames, String[] branchNames, int k) {
+            this.studentIds = studentIds;
+            this.k = k;
+            this.result = new Result(studentIds, k);
+
+            int students = studentIds.length;
+            long[] studentKeys = new long[students];
+            for (int student = 0; student < students; student++) {
+                studentKeys[student] = ((long) snapshot.collegeCode(collegeNames[student]) << 32)
+                        | snapshot.branchCode(branchNames[student]);
+            }
+            // Sorting the distinct keys orders the groups by college, then branch.
+            long[] groupKeys = Arrays.stream(studentKeys).distinct().sorted().toArray();
+            int groups = groupKeys.length;
+            this.groupColleges = new int[groups];
+            this.groupBranches = new int[groups];
+            int[] collegeStarts = new int[groups + 1];
+            int colleges = 0;
+            for (int group = 0; group < groups; group++) {
+                groupColleges[group] = (int) (groupKeys[group] >>> 32);
+                groupBranches[group] = (int) groupKeys[group];
+                if (group == 0 || groupColleges[group] != groupColleges[group - 1]) {
+                    collegeStarts[colleges++] = group;
+                }
+            }
+            collegeStarts[colleges] = groups;
+            this.collegeGroupStart = Arrays.copyOf(collegeStarts, colleges + 1);
+
+            int[] groupOf = new int[students];
+            this.groupStart = new int[groups + 1];
+            for (int student = 0; student < students; student++) {
+                groupOf[student] = Arrays.binarySearch(groupKeys, studentKeys[student]);
+                groupStart[groupOf[student] + 1]++;
+            }
+            for (int group = 0; group < groups; group++) {
+                groupStart[group + 1] += groupStart[group];
+            }
+            this.order = new int[students];
+            int[] next = Arrays.copyOf(groupStart, groups);
+            for (int student = 0; student < students; student++) {
+                order[next[groupOf[student]]++] = student;
+            }
+
+            this.branchScores = new byte[snapshot.branchCount() + 1][];
+            for (int branch : groupBranches) {
+                if (branchScores[branch] == null) {
+                    branchScores[branch] = branchScores(branch);
+                }
+            }
+        }
+
+        int collegeCount() {
+            return collegeGroupStart.length - 1;
+        }
+
+        void matchStudents(Candidates candidates, int from, int to) {
+            for (int i = from; i < to; i++) {
+                int student = order[i];
+                result.found[student] = candidates.selectTop(seed(studentIds[student]), k,
+                        result.alumni, result.scores, student * k);
+            }
+        }
+
+        /**
+         * Splits the colleges in halves down to single colleges, then scores each one.
+         */
+        final class CollegesTask extends RecursiveAction {
+            private final int from;
+            private final int to;
+
+            CollegesTask(int from, int to) {
+                this.from = from;
+                this.to = to;
+            }
+
+            @Override
+            protected void compute() {
+                if (to - from > 1) {
+                    int middle = (from + to) >>> 1;
+                    invokeAll(new CollegesTask(from, middle), new CollegesTask(middle, to));
+                } else if (to > from) {
+                    byte[] scores = collegeScores(groupColleges[collegeGroupStart[from]]);
+                    new GroupsTask(scores, collegeGroupStart[from], collegeGroupStart[from + 1]).compute();
+                }
+            }
+        }
+
+        /**
+         * Splits one college's groups in halves down to single groups, then picks the candidates of each.
+         */
+        final class GroupsTask extends RecursiveAction {
+            private final byte[] collegeScores;
+            private final int from;
+            private final int to;
+
+            GroupsTask(byte[] collegeScores, int from, int to) {
+                this.collegeScores = collegeScores;
+                this.from = from;
+                this.to = to;
+            }
+
+            @Override
+            protected void compute() {
+                if (to - from > 1) {
+                    int middle = (from + to) >>> 1;
+                    invokeAll(new GroupsTask(collegeScores, from, middle), new GroupsTask(collegeScores, middle, to));
+                } else if (to > from) {
+                    Candidates candidates = candidates(collegeScores, branchScores[groupBranches[from]], k);
+                    new StudentsTask(candidates, groupStart[from], groupStart[from + 1]).compute();
+                }
+            }
+        }
+
+        /**
+         * Splits one group's students in halves, sharing its candidates.
+         */
+        final class StudentsTask extends RecursiveAction {
+            private final Candidates candidates;
+            private final int from;
+            private final int to;
+
+            StudentsTask(Candidates candidates, int from, int to) {
+                this.candidates = candidates;
+                this.from = from;
+                this.to = to;
+            }
+
+            @Override
+            protected void compute() {
+                if (to - from > STUDENTS_PER_TASK) {
+                    int middle = (from + to) >>> 1;
+                    invokeAll(new StudentsTask(candidates, from, middle), new StudentsTask(candidates, middle, to));
+                } else {
+                    matchStudents(candidates, from, to);
+                }
+            }
+        }
+    }
+
+    /**
+     * A bounded min-heap of keys that keeps the 'capacity' largest.
+     */
+    private static final class LongMinHeap {
+        private final long[] heap;
+        private int size;
+
+        LongMinHeap(int capacity) {
+            heap = new long[capacity];
+        }
+
+        boolean isFull() {
+            return size == heap.length;
+        }
+
+        long min() {
+            return heap[0];
+        }
+
+        void offer(long key) {
+            if (size < heap.length) {
+                heap[size] = key;
+                siftUp(size++);
+            } else if (key > heap[0]) {
+                heap[0] = key;
+                siftDown(0);
+            }
+        }
+
+        long[] drainDescending() {
+            long[] sorted = new long[size];
+            for (int i = size - 1; i >= 0; i--) {
+                sorted[i] = heap[0];
+                heap[0] = heap[--size];
+                siftDown(0);
+            }
+            return sorted;
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (heap[parent] <= heap[i]) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int smallest = i;
+                int left = 2 * i + 1;
+                int right = left + 1;
+                if (left < size && heap[left] < heap[smallest]) {
+                    smallest = left;
+                }
+                if (right < size && heap[right] < heap[smallest]) {
+                    smallest = right;
+                }
+                if (smallest == i) {
+                    return;
+                }
+                swap(i, smallest);
+                i = smallest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            long tmp = heap[a];
+            heap[a] = heap[b];
+            heap[b] = tmp;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package org.alumni.matching;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.alumni.model.MentorMatches;
+import org.alumni.model.Role;
+import org.alumni.model.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+/**
+ * Matches every student nightly and writes their top mentors to the mentor_matches collection.
+ * <p>
+ * Students are streamed from MongoDB in chunks, each chunk is matched in parallel on a
+ * dedicated fork/join pool (so request threads and the common pool are unaffected), and the
+ * results are upserted with unordered bulk writes. When the run completes, matches it did not
+ * rewrite are removed. A lease in the job_leases collection makes sure only one node runs it.
+ */
+@Component
+public class MentorMatchingJob implements DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MentorMatchingJob.class);
+
+    private static final String LEASES = "job_leases";
+    private static final String LEASE_ID = "mentor-matching";
+    private static final int WRITE_BATCH = 1000;
+
+    private final MongoTemplate mongoTemplate;
+    private final MentorMatchingService matchingService;
+    private final int mentorsPerStudent;
+    private final int chunkSize;
+    private final Duration lease;
+    private final ForkJoinPool pool;
+    private final Timer runTimer;
+
+    public MentorMatchingJob(MongoTemplate mongoTemplate,
+                             MentorMatchingService matchingService,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.matching.batch.mentors-per-student:10}") int mentorsPerStudent,
+                             @Value("${app.matching.batch.chunk-size:50000}") int chunkSize,
+                             @Value("${app.matching.batch.parallelism:0}") int parallelism,
+                             @Value("${app.matching.batch.lease:2h}") Duration lease) {
+        this.mongoTemplate = mongoTemplate;
+        this.matchingService = matchingService;
+        this.mentorsPerStudent = mentorsPerStudent;
+        this.chunkSize = chunkSize;
+        this.lease = lease;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.runTimer = Timer.builder("mentor.matching.batch")
+                .description("Time to match every student and write the results")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${app.matching.batch.cron:0 30 2 * * *}")
+    public void run() {
+        if (!tryAcquireLease()) {
+            LOGGER.info("Mentor matching is already running on another node; skipping");
+            return;
+        }
+        try {
+            runTimer.record(this::matchAllStudents);
+        } finally {
+            releaseLease();
+        }
+    }
+
+    private void matchAllStudents() {
+        long start = System.nanoTime();
+        Date runStart = new Date();
+        // Match against the alumni as they are now, not as of the last scheduled refresh.
+        matchingService.refreshSnapshot();
+        MentorMatcher matcher = matchingService.matcher();
+
+        Query query = new Query(Criteria.where("role").is(Role.ROLE_STUDENT)).cursorBatchSize(1000);
+        query.fields().include("collegeName", "branch");
+        long students = 0;
+        try (Stream<User> stream = mongoTemplate.stream(query, User.class)) {
+            Iterator<User> iterator = stream.iterator();
+            List<User> chunk = new ArrayList<>(chunkSize);
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == chunkSize || !iterator.hasNext()) {
+                    write(match(matcher, chunk), runStart);
+                    students += chunk.size();
+                    chunk.clear();
+                }
+            }
+        }
+
+        long removed = mongoTemplate.remove(new Query(Criteria.where("computedAt").lt(runStart)), MentorMatches.class)
+                .getDeletedCount();
+        LOGGER.info("Matched {} students against {} alumni in {} ms; removed {} stale matches", students,
+                matcher.snapshot().size(), (System.nanoTime() - start) / 1_000_000L, removed);
+    }
+
+    private MentorMatcher.Result match(MentorMatcher matcher, List<User> chunk) {
+        String[] ids = new String[chunk.size()];
+        String[] colleges = new String[chunk.size()];
+        String[] branches = new String[chunk.size()];
+        for (int i = 0; i < chunk.size(); i++) {
+            User student = chunk.get(i);
+            ids[i] = student.getId();
+            colleges[i] = student.getCollegeName();
+            branches[i] = student.getBranch();
+        }
+        return matcher.matchAll(ids, colleges, branches, mentorsPerStudent, pool);
+    }
+
+    private void write(MentorMatcher.Result result, Date computedAt) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, MentorMatches.class);
+        int pending = 0;
+        for (int student = 0; student < result.students(); student++) {
+            List<MentorMatches.Mentor> mentors = new ArrayList<>(mentorsPerStudent);
+            for (MentorMatcher.Mentor mentor : result.mentorsOf(student)) {
+                mentors.add(new MentorMatches.Mentor(mentor.alumniId(), mentor.name(),
+                        mentor.companyName(), mentor.companyRole(), mentor.score()));
+            }
+            String studentId = result.studentId(student);
+            bulk.replaceOne(new Query(Criteria.where("_id").is(studentId)),
+                    new MentorMatches(studentId, mentors, computedAt), FindAndReplaceOptions.options().upsert());
+            if (++pending == WRITE_BATCH) {
+                bulk.execute();
+                bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, MentorMatches.class);
+                pending = 0;
+            }
+        }
+        if (pending > 0) {
+            bulk.execute();
+        }
+    }
+
+    /**
+     * Takes the lease if it is free or has run out. A node holding a live lease makes the
+     * upsert try to insert a second document with the same id, which fails.
+     */
+    private boolean tryAcquireLease() {
+        Date now = new Date();
+        Query free = new Query(Criteria.where("_id").is(LEASE_ID).and("lockedUntil").lte(now));
+        try {
+            mongoTemplate.upsert(free, new Update().set("lockedUntil", new Date(now.getTime() + lease.toMillis())), LEASES);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    private void releaseLease() {
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(LEASE_ID)),
+                new Update().set("lockedUntil", new Date()), LEASES);
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+}
@@ -0,0 +1,98 @@
+package org.alumni.matching;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.alumni.exception.AppApiException;
+import org.alumni.model.Role;
+import org.alumni.model.User;
+import org.alumni.repository.UserRepository;
+import org.alumni.security.UserPrincipal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Holds the current {@link MentorMatcher} and answers on-demand mentor suggestions from it.
+ * The alumni snapshot is loaded by streaming the alumni once the application is ready, and
+ * reloaded in full on an interval, so new alumni and profile edits show up within that interval.
+ */
+@Service
+public class MentorMatchingService implements MeterBinder {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MentorMatchingService.class);
+
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 50;
+
+    private final MongoTemplate mongoTemplate;
+    private final UserRepository userRepository;
+    private volatile MentorMatcher matcher = new MentorMatcher(MentorSnapshot.builder().build());
+
+    public MentorMatchingService(MongoTemplate mongoTemplate, UserRepository userRepository) {
+        this.mongoTemplate = mongoTemplate;
+        this.userRepository = userRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.matching.snapshot-refresh-interval:PT15M}",
+            initialDelayString = "${app.matching.snapshot-refresh-interval:PT15M}")
+    public void refreshSnapshot() {
+        long start = System.nanoTime();
+        MentorSnapshot.Builder builder = MentorSnapshot.builder();
+        Query query = new Query(Criteria.where("role").is(Role.ROLE_ALUMNI)).cursorBatchSize(1000);
+        query.fields().include("name", "companyName", "companyRole", "collegeName", "branch");
+        try (Stream<User> alumni = mongoTemplate.stream(query, User.class)) {
+            alumni.forEach(user -> builder.add(user.getId(), user.getName(), user.getCompanyName(),
+                    user.getCompanyRole(), user.getCollegeName(), user.getBranch()));
+        }
+        MentorSnapshot snapshot = builder.build();
+        matcher = new MentorMatcher(snapshot);
+        LOGGER.info("Loaded {} alumni for mentor matching in {} ms (~{} MB)", snapshot.size(),
+                (System.nanoTime() - start) / 1_000_000L, snapshot.estimatedBytes() / (1024 * 1024));
+    }
+
+    /**
+     * @return The matcher over the most recently loaded snapshot.
+     */
+    public MentorMatcher matcher() {
+        return matcher;
+    }
+
+    /**
+     * Matches the signed-in student against the current snapshot.
+     * @return Up to 'limit' mentors, best first.
+     */
+    public List<MentorMatcher.Mentor> suggest(UserPrincipal principal, int limit) {
+        if (principal.getRole() != Role.ROLE_STUDENT) {
+            throw new AppApiException(HttpStatus.FORBIDDEN, "Mentor suggestions are only available to students.");
+        }
+        User student = userRepository.findProfileById(principal.getId());
+        if (student == null) {
+            throw new AppApiException(HttpStatus.NOT_FOUND, "User not found.");
+        }
+        return matcher.match(student.getId(), student.getCollegeName(), student.getBranch(),
+                Math.max(1, Math.min(limit, MAX_LIMIT)));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("mentor.matching.snapshot.alumni", this, service -> service.matcher.snapshot().size())
+                .description("Alumni in the mentor matching snapshot")
+                .register(registry);
+        Gauge.builder("mentor.matching.snapshot.bytes", this, service -> service.matcher.snapshot().estimatedBytes())
+                .description("Estimated heap held by the mentor matching snapshot")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+}
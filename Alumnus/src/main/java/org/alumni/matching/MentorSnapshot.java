@@ -0,0 +1,268 @@
+package org.alumni.matching;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * An immutable, column-oriented snapshot of the alumni that can be suggested as mentors.
+ * <p>
+ * College, branch, company and job title are dictionary-encoded: each distinct value (compared
+ * case-insensitively, ignoring extra whitespace) is stored once and every alumnus holds an int
+ * code per attribute, with 0 for a missing value. Scoring a candidate is then a few int
+ * comparisons and array loads, and 50k alumni take a few megabytes. The alumni of each
+ * college and of each branch are also listed by code, so the affinity tables for a student
+ * only touch the alumni that share something with them.
+ */
+public final class MentorSnapshot {
+
+    /** The code of a missing value, and of a student's value that no alumnus has. */
+    public static final int NONE = 0;
+
+    private final String[] ids;
+    private final String[] names;
+    private final int[] colleges;
+    private final int[] branches;
+    private final int[] companies;
+    private final int[] roles;
+    private final Dictionary collegeDictionary;
+    private final Dictionary branchDictionary;
+    private final Dictionary companyDictionary;
+    private final Dictionary roleDictionary;
+    private final int[][] alumniByCollege;
+    private final int[][] alumniByBranch;
+
+    private MentorSnapshot(Builder builder) {
+        int size = builder.size;
+        this.ids = Arrays.copyOf(builder.ids, size);
+        this.names = Arrays.copyOf(builder.names, size);
+        this.colleges = Arrays.copyOf(builder.colleges, size);
+        this.branches = Arrays.copyOf(builder.branches, size);
+        this.companies = Arrays.copyOf(builder.companies, size);
+        this.roles = Arrays.copyOf(builder.roles, size);
+        this.collegeDictionary = builder.collegeDictionary;
+        this.branchDictionary = builder.branchDictionary;
+        this.companyDictionary = builder.companyDictionary;
+        this.roleDictionary = builder.roleDictionary;
+        this.alumniByCollege = invert(colleges, collegeDictionary.size());
+        this.alumniByBranch = invert(branches, branchDictionary.size());
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return The number of alumni in the snapshot.
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    public String id(int alumnus) {
+        return ids[alumnus];
+    }
+
+    public String name(int alumnus) {
+        return names[alumnus];
+    }
+
+    /**
+     * @return The company as first spelled by any alumnus, or null.
+     */
+    public String companyName(int alumnus) {
+        return companyDictionary.value(companies[alumnus]);
+    }
+
+    public String companyRole(int alumnus) {
+        return roleDictionary.value(roles[alumnus]);
+    }
+
+    /**
+     * @return The code of a student's college, or {@link #NONE} if no alumnus went there.
+     */
+    public int collegeCode(String collegeName) {
+        return collegeDictionary.lookup(collegeName);
+    }
+
+    public int branchCode(String branch) {
+        return branchDictionary.lookup(branch);
+    }
+
+    /**
+     * A rough estimate of the heap held by the snapshot, for the memory gauge and benchmarks.
+     */
+    public long estimatedBytes() {
+        long bytes = 6L * (16L + 4L * ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            bytes += stringBytes(ids[i]) + stringBytes(names[i]);
+        }
+        bytes += collegeDictionary.estimatedBytes() + branchDictionary.estimatedBytes()
+                + companyDictionary.estimatedBytes() + roleDictionary.estimatedBytes();
+        // Every alumnus with a college or branch appears once in the inverted lists.
+        bytes += 8L * ids.length + 16L * (alumniByCollege.length + alumniByBranch.length);
+        return bytes;
+    }
+
+    // Package-private columns for MentorMatcher; callers must not modify them.
+
+    int[] colleges() {
+        return colleges;
+    }
+
+    int[] branches() {
+        return branches;
+    }
+
+    int[] companies() {
+        return companies;
+    }
+
+    int[] roles() {
+        return roles;
+    }
+
+    int branchCount() {
+        return branchDictionary.size();
+    }
+
+    int companyCount() {
+        return companyDictionary.size();
+    }
+
+    int roleCount() {
+        return roleDictionary.size();
+    }
+
+    int[] alumniOfCollege(int college) {
+        return alumniByCollege[college];
+    }
+
+    int[] alumniOfBranch(int branch) {
+        return alumniByBranch[branch];
+    }
+
+    /**
+     * Lists, for every code, the alumni holding it, in ascending order. Code 0 gets no list.
+     */
+    private static int[][] invert(int[] codes, int distinct) {
+        int[] counts = new int[distinct + 1];
+        for (int code : codes) {
+            counts[code]++;
+        }
+        int[][] lists = new int[distinct + 1][];
+        lists[NONE] = new int[0];
+        for (int code = 1; code <= distinct; code++) {
+            lists[code] = new int[counts[code]];
+        }
+        int[] filled = new int[distinct + 1];
+        for (int alumnus = 0; alumnus < codes.length; alumnus++) {
+            int code = codes[alumnus];
+            if (code != NONE) {
+                lists[code][filled[code]++] = alumnus;
+            }
+        }
+        return lists;
+    }
+
+    private static long stringBytes(String value) {
+        return value == null ? 0 : 24L + 16L + value.length();
+    }
+
+    /**
+     * Collects alumni one at a time; not thread-safe.
+     */
+    public static final class Builder {
+        private final Dictionary collegeDictionary = new Dictionary();
+        private final Dictionary branchDictionary = new Dictionary();
+        private final Dictionary companyDictionary = new Dictionary();
+        private final Dictionary roleDictionary = new Dictionary();
+        private String[] ids = new String[1024];
+        private String[] names = new String[1024];
+        private int[] colleges = new int[1024];
+        private int[] branches = new int[1024];
+        private int[] companies = new int[1024];
+        private int[] roles = new int[1024];
+        private int size;
+
+        private Builder() {
+        }
+
+        public Builder add(String id, String name, String companyName, String companyRole,
+                           String collegeName, String branch) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                names = Arrays.copyOf(names, capacity);
+                colleges = Arrays.copyOf(colleges, capacity);
+                branches = Arrays.copyOf(branches, capacity);
+                companies = Arrays.copyOf(companies, capacity);
+                roles = Arrays.copyOf(roles, capacity);
+            }
+            ids[size] = id;
+            names[size] = name;
+            colleges[size] = collegeDictionary.encode(collegeName);
+            branches[size] = branchDictionary.encode(branch);
+            companies[size] = companyDictionary.encode(companyName);
+            roles[size] = roleDictionary.encode(companyRole);
+            size++;
+            return this;
+        }
+
+        public MentorSnapshot build() {
+            return new MentorSnapshot(this);
+        }
+    }
+
+    /**
+     * Maps the distinct values of one attribute to codes 1..n.
+     */
+    private static final class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>(List.of(""));
+
+        int encode(String value) {
+            String key = normalize(value);
+            if (key == null) {
+                return NONE;
+            }
+            return codes.computeIfAbsent(key, k -> {
+                values.add(value.trim());
+                return values.size() - 1;
+            });
+        }
+
+        int lookup(String value) {
+            String key = normalize(value);
+            return key == null ? NONE : codes.getOrDefault(key, NONE);
+        }
+
+        String value(int code) {
+            return code == NONE ? null : values.get(code);
+        }
+
+        int size() {
+            return values.size() - 1;
+        }
+
+        long estimatedBytes() {
+            long bytes = 0;
+            for (String value : values) {
+                // The value and its normalized key, plus a HashMap node and boxed code.
+                bytes += 2 * stringBytes(value) + 32L + 8L + 16L;
+            }
+            return bytes;
+        }
+
+        private static String normalize(String value) {
+            if (value == null) {
+                return null;
+            }
+            String key = value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+            return key.isEmpty() ? null : key;
+        }
+    }
+}
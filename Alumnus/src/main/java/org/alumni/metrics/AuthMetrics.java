@@ -0,0 +1,117 @@
+package org.alumni.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.alumni.security.TokenVerification;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-phase timers for the auth endpoints and the JWT filter.
+ * Every timer is registered up front and looked up by array index, so recording
+ * is a nanoTime() call plus a timer update, with no tag or Sample allocation per request.
+ */
+@Component
+public class AuthMetrics {
+
+    /** A timed step of an AuthController endpoint. */
+    public enum Phase {
+        LOGIN_AUTHENTICATE("login", "authenticate"),
+        LOGIN_TOKEN("login", "token"),
+        REGISTER_HASH("register", "hash"),
+        REGISTER_INSERT("register", "insert"),
+        SOCIAL_VERIFY("social-login", "verify"),
+        SOCIAL_UPSERT("social-login", "upsert"),
+        SOCIAL_TOKEN("social-login", "token"),
+        REFRESH_ROTATE("refresh", "rotate"),
+        REFRESH_TOKEN("refresh", "token"),
+        FORGOT_LOOKUP("forgot-password", "lookup"),
+        FORGOT_ENQUEUE("forgot-password", "enqueue");
+
+        private final String endpoint;
+        private final String phase;
+
+        Phase(String endpoint, String phase) {
+            this.endpoint = endpoint;
+            this.phase = phase;
+        }
+    }
+
+    public enum Outcome {
+        SUCCESS,
+        BAD_CREDENTIALS,
+        DUPLICATE,
+        /** Turned away because the password hashing pool was full. */
+        BUSY,
+        ERROR
+    }
+
+    /** How the JWT filter dealt with a request. */
+    public enum FilterOutcome {
+        ANONYMOUS,
+        CACHE_HIT,
+        AUTHENTICATED,
+        EXPIRED_TOKEN,
+        MALFORMED_TOKEN,
+        UNSUPPORTED_TOKEN,
+        BAD_SIGNATURE,
+        EMPTY_TOKEN,
+        REVOKED_TOKEN;
+
+        public static FilterOutcome of(TokenVerification.Status status) {
+            return switch (status) {
+                case VALID -> AUTHENTICATED;
+                case EXPIRED -> EXPIRED_TOKEN;
+                case MALFORMED -> MALFORMED_TOKEN;
+                case UNSUPPORTED -> UNSUPPORTED_TOKEN;
+                case BAD_SIGNATURE -> BAD_SIGNATURE;
+                case EMPTY -> EMPTY_TOKEN;
+            };
+        }
+    }
+
+    private final Timer[][] phaseTimers;
+    private final Timer[] filterTimers;
+
+    public AuthMetrics(MeterRegistry meterRegistry) {
+        Phase[] phases = Phase.values();
+        Outcome[] outcomes = Outcome.values();
+        this.phaseTimers = new Timer[phases.length][outcomes.length];
+        for (Phase phase : phases) {
+            for (Outcome outcome : outcomes) {
+                phaseTimers[phase.ordinal()][outcome.ordinal()] = Timer.builder("auth.endpoint.phase")
+                        .description("Time spent in each phase of the auth endpoints")
+                        .tag("endpoint", phase.endpoint)
+                        .tag("phase", phase.phase)
+                        .tag("outcome", tagValue(outcome))
+                        .register(meterRegistry);
+            }
+        }
+
+        FilterOutcome[] filterOutcomes = FilterOutcome.values();
+        this.filterTimers = new Timer[filterOutcomes.length];
+        for (FilterOutcome outcome : filterOutcomes) {
+            filterTimers[outcome.ordinal()] = Timer.builder("auth.filter")
+                    .description("Time spent authenticating a request in JwtAuthenticationFilter")
+                    .tag("outcome", tagValue(outcome))
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Records the time since startNanos (a System.nanoTime() value) against a phase and outcome.
+     */
+    public void record(Phase phase, Outcome outcome, long startNanos) {
+        phaseTimers[phase.ordinal()][outcome.ordinal()].record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordFilter(FilterOutcome outcome, long startNanos) {
+        filterTimers[outcome.ordinal()].record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static String tagValue(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,33 @@
+package org.alumni.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+/**
+ * A message on the cross-node cache invalidation bus.
+ * The collection is capped and created by MongoInvalidationLog; it must not get indexes
+ * declared here, or index creation would create it uncapped first.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "cache_invalidations")
+public class InvalidationMessage {
+
+    @Id
+    private String id;
+
+    private InvalidationType type;
+
+    private String key;
+
+    // The node that published the message; nodes skip their own messages.
+    private String origin;
+
+    private Date publishedAt;
+}
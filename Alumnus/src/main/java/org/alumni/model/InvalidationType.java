@@ -0,0 +1,9 @@
+package org.alumni.model;
+
+public enum InvalidationType {
+    HEARTBEAT,           // carries no key; keeps the lag measurement live when nothing changes
+    USER_SAVED,          // key is the user id
+    CREDENTIALS_CHANGED, // key is the user's email
+    TOKEN_REVOKED,       // key is the access token's jti
+    PROFILE_UPDATED      // key is the user id
+}
@@ -0,0 +1,46 @@
+package org.alumni.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.alumni.audit.AuditEventType;
+import org.alumni.audit.AuditOutcome;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.TimeSeries;
+import org.springframework.data.mongodb.core.timeseries.Granularity;
+
+import java.util.Date;
+
+/**
+ * One login, social login or password-reset attempt, kept for compliance.
+ * The collection is a time-series collection created by LoginAuditService; the low-cardinality
+ * fields live in {@code meta}, which MongoDB uses to bucket the measurements.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "login_audit")
+@TimeSeries(timeField = "timestamp", metaField = "meta", granularity = Granularity.MINUTES)
+public class LoginAuditRecord {
+
+    private Date timestamp;
+
+    private Meta meta;
+
+    private String email;
+
+    private String remoteAddress;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Meta {
+
+        private AuditEventType type;
+
+        private AuditOutcome outcome;
+
+        // Null when the attempt failed before the account was known.
+        private String role;
+    }
+}
@@ -0,0 +1,42 @@
+package org.alumni.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * A student's suggested mentors from the last nightly matching run, best first.
+ * Mentor details are copied in, so reading a student's matches takes one lookup.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "mentor_matches")
+public class MentorMatches {
+
+    @Id
+    private String studentId;
+
+    private List<Mentor> mentors;
+
+    // Matches older than the latest run belong to students who have since left, and are removed.
+    @Indexed
+    private Date computedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Mentor {
+        private String alumniId;
+        private String name;
+        private String companyName;
+        private String companyRole;
+        private int score;
+    }
+}
@@ -0,0 +1,40 @@
+package org.alumni.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * An email waiting in (or delivered from) the outbox.
+ * Requests only insert these; background workers deliver them.
+ */
+@Data
+@NoArgsConstructor
+@Document(collection = "email_outbox")
+@CompoundIndex(name = "status_next_attempt", def = "{ 'status': 1, 'nextAttemptAt': 1 }")
+public class OutboxEmail {
+
+    @Id
+    private String id;
+
+    private String from;
+    private String to;
+    private String subject;
+    private String body;
+
+    private OutboxStatus status;
+    private int attempts;
+    private String lastError;
+
+    private Instant createdAt;
+    private Instant nextAttemptAt;
+    private Instant lockedUntil;
+
+    @Indexed(expireAfter = "7d") // Delivered messages are removed a week after sending
+    private Instant sentAt;
+}
@@ -0,0 +1,8 @@
+package org.alumni.model;
+
+public enum OutboxStatus {
+    PENDING,  // Waiting for its next delivery attempt
+    SENDING,  // Claimed by a worker; reclaimable once its lease runs out
+    SENT,
+    DEAD      // Gave up after the maximum number of attempts
+}
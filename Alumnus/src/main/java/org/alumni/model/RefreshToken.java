@@ -0,0 +1,35 @@
+package org.alumni.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+/**
+ * A refresh token. Only the SHA-256 of the token is stored, as the id.
+ * Each token can be used once: using it marks it used and issues the next token in the
+ * same family, so a second use of an old token reveals it was stolen and ends the family.
+ */
+@Data
+@NoArgsConstructor
+@Document(collection = "refresh_tokens")
+public class RefreshToken {
+
+    @Id
+    private String id;
+
+    @Indexed
+    private String familyId;
+
+    private String email;
+
+    private Date createdAt;
+
+    private Date usedAt;
+
+    @Indexed(expireAfter = "0s")
+    private Date expiresAt;
+}
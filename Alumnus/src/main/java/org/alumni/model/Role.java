@@ -1,7 +1,17 @@
-package org.alumni.model;
-
-public enum Role {
-    ROLE_STUDENT,
-    ROLE_ALUMNI,
-    ROLE_ADMIN
-}
\ No newline at end of file
+package org.alumni.model;
+
+import java.util.Locale;
+
+public enum Role {
+    ROLE_STUDENT,
+    ROLE_ALUMNI,
+    ROLE_ADMIN;
+
+    /**
+     * Parses the role names clients send, such as "Alumni", "student" or "ADMIN".
+     * @throws IllegalArgumentException if there is no such role.
+     */
+    public static Role fromName(String name) {
+        return Role.valueOf("ROLE_" + name.toUpperCase(Locale.ROOT));
+    }
+}
@@ -1,65 +1,83 @@
-package org.alumni.model;
-
-import lombok.Data;
-import lombok.NoArgsConstructor;
-import org.springframework.data.annotation.Id;
-import org.springframework.data.mongodb.core.index.Indexed;
-import org.springframework.data.mongodb.core.mapping.Document;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.UserDetails;
-
-import java.util.Collection;
-import java.util.Collections;
-
-@Data
-@NoArgsConstructor
-@Document(collection = "users") // Use @Document for MongoDB collections
-public class User implements UserDetails {
-
-    @Id // This ID is from Spring Data, not JPA. MongoDB generates it automatically.
-    private String id; // The ID in MongoDB is a String.
-
-    private String name;
-
-    @Indexed(unique = true) // Creates a unique index on the email field in MongoDB
-    private String email;
-
-    private String password;
-    private String phone;
-
-    private Role role; // Enums are stored as strings by default, which is perfect.
-
-    // Alumni-specific fields
-    private String companyName;
-    private String companyRole;
-
-    // Student-specific fields
-    private String collegeName;
-    private String branch;
-    private String collegeId;
-
-    // --- No changes are needed for the UserDetails implementation ---
-
-    @Override
-    public Collection<? extends GrantedAuthority> getAuthorities() {
-        return Collections.singletonList(new SimpleGrantedAuthority(role.name()));
-    }
-
-    @Override
-    public String getUsername() {
-        return email;
-    }
-
-    @Override
-    public boolean isAccountNonExpired() { return true; }
-
-    @Override
-    public boolean isAccountNonLocked() { return true; }
-
-    @Override
-    public boolean isCredentialsNonExpired() { return true; }
-
-    @Override
-    public boolean isEnabled() { return true; }
+package org.alumni.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Collections;
+
+@Data
+@NoArgsConstructor
+@Document(collection = "users") // Use @Document for MongoDB collections
+// Directory search filters on these fields by equality and pages by _id, so _id comes last.
+// A page is an index walk for no filter, role, company, role + company, college + branch and
+// role + college + branch; other combinations (e.g. college without branch) scan and sort.
+@CompoundIndexes({
+        @CompoundIndex(name = "role", def = "{ 'role': 1, '_id': 1 }"),
+        @CompoundIndex(name = "role_company", def = "{ 'role': 1, 'companyName': 1, '_id': 1 }"),
+        @CompoundIndex(name = "role_college_branch", def = "{ 'role': 1, 'collegeName': 1, 'branch': 1, '_id': 1 }"),
+        @CompoundIndex(name = "company", def = "{ 'companyName': 1, '_id': 1 }"),
+        @CompoundIndex(name = "college_branch", def = "{ 'collegeName': 1, 'branch': 1, '_id': 1 }")
+})
+public class User implements UserDetails {
+
+    @Id // This ID is from Spring Data, not JPA. MongoDB generates it automatically.
+    private String id; // The ID in MongoDB is a String.
+
+    private String name;
+
+    @Indexed(unique = true) // Creates a unique index on the email field in MongoDB
+    private String email;
+
+    private String password;
+    private String phone;
+
+    private Role role; // Enums are stored as strings by default, which is perfect.
+
+    // Alumni-specific fields
+    private String companyName;
+    private String companyRole;
+
+    // Student-specific fields
+    private String collegeName;
+    private String branch;
+    private String collegeId;
+
+    // Bumped on every profile update; the profile's ETag is derived from it.
+    // Null on documents written before versioning, which counts as version 0.
+    @Version
+    private Long version;
+
+    // --- No changes are needed for the UserDetails implementation ---
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return Collections.singletonList(new SimpleGrantedAuthority(role.name()));
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() { return true; }
+
+    @Override
+    public boolean isAccountNonLocked() { return true; }
+
+    @Override
+    public boolean isCredentialsNonExpired() { return true; }
+
+    @Override
+    public boolean isEnabled() { return true; }
 }
\ No newline at end of file
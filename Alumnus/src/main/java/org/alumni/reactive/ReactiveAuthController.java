@@ -0,0 +1,339 @@
+package org.alumni.reactive;
+
+import jakarta.validation.Valid;
+import org.alumni.audit.AuditEventType;
+import org.alumni.audit.AuditOutcome;
+import org.alumni.audit.LoginAuditService;
+import org.alumni.dto.*;
+import org.alumni.event.UserSavedEvent;
+import org.alumni.exception.AppApiException;
+import org.alumni.exception.ServiceBusyException;
+import org.alumni.metrics.AuthMetrics;
+import org.alumni.model.RefreshToken;
+import org.alumni.model.Role;
+import org.alumni.model.User;
+import org.alumni.repository.ReactiveUserRepository;
+import org.alumni.security.JwtTokenProvider;
+import org.alumni.security.RevokedTokenRegistry;
+import org.alumni.security.SecurityEvent;
+import org.alumni.security.SecurityEventRecorder;
+import org.alumni.security.TokenVerification;
+import org.alumni.security.UserPrincipal;
+import org.alumni.service.EmailService;
+import org.alumni.service.PasswordHashingService;
+import org.alumni.service.RefreshTokenService;
+import org.alumni.service.SignUpMapper;
+import org.alumni.social.SocialIdentity;
+import org.alumni.social.SocialTokenVerifiers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Iterator;
+import java.util.concurrent.Callable;
+
+/**
+ * The reactive counterpart of AuthController, with the same endpoints, request and response
+ * bodies, metrics and audit records. MongoDB is read and written through the reactive driver;
+ * BCrypt runs on the bounded hashing pool, and the remaining blocking services (refresh tokens,
+ * the email outbox, revocations) on Reactor's bounded elastic scheduler, so the event loop never waits.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/api/auth")
+public class ReactiveAuthController {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReactiveAuthController.class);
+
+    private final ReactivePasswordAuthenticationManager authenticationManager;
+    private final ReactiveUserRepository userRepository;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final EmailService emailService;
+    private final PasswordHashingService passwordHashingService;
+    private final AuthMetrics authMetrics;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RefreshTokenService refreshTokenService;
+    private final RevokedTokenRegistry revokedTokenRegistry;
+    private final SecurityEventRecorder securityEvents;
+    private final LoginAuditService loginAuditService;
+    private final SocialTokenVerifiers socialTokenVerifiers;
+
+    public ReactiveAuthController(ReactivePasswordAuthenticationManager authenticationManager,
+                                  ReactiveUserRepository userRepository,
+                                  JwtTokenProvider jwtTokenProvider,
+                                  EmailService emailService,
+                                  PasswordHashingService passwordHashingService,
+                                  AuthMetrics authMetrics,
+                                  ApplicationEventPublisher eventPublisher,
+                                  RefreshTokenService refreshTokenService,
+                                  RevokedTokenRegistry revokedTokenRegistry,
+                                  SecurityEventRecorder securityEvents,
+                                  LoginAuditService loginAuditService,
+                                  SocialTokenVerifiers socialTokenVerifiers) {
+        this.authenticationManager = authenticationManager;
+        this.userRepository = userRepository;
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.emailService = emailService;
+        this.passwordHashingService = passwordHashingService;
+        this.authMetrics = authMetrics;
+        this.eventPublisher = eventPublisher;
+        this.refreshTokenService = refreshTokenService;
+        this.revokedTokenRegistry = revokedTokenRegistry;
+        this.securityEvents = securityEvents;
+        this.loginAuditService = loginAuditService;
+        this.socialTokenVerifiers = socialTokenVerifiers;
+    }
+
+    /**
+     * Handles standard user login with email and password.
+     * @param loginRequest DTO containing the user's credentials.
+     * @return A ResponseEntity with a JWT upon successful authentication.
+     */
+    @PostMapping("/login")
+    public Mono<ResponseEntity<JwtAuthResponse>> authenticateUser(@Valid @RequestBody LoginRequest loginRequest,
+                                                                  ServerHttpRequest request) {
+        String remoteAddress = ReactiveJwtAuthenticationFilter.remoteAddress(request);
+        long start = System.nanoTime();
+        return authenticationManager.authenticate(
+                        new UsernamePasswordAuthenticationToken(loginRequest.getEmail(), loginRequest.getPassword()))
+                .doOnNext(authentication -> {
+                    authMetrics.record(AuthMetrics.Phase.LOGIN_AUTHENTICATE, AuthMetrics.Outcome.SUCCESS, start);
+                    loginAuditService.record(AuditEventType.LOGIN, AuditOutcome.SUCCESS, loginRequest.getEmail(),
+                            role(authentication), remoteAddress);
+                })
+                .doOnError(e -> {
+                    if (e instanceof AuthenticationException) {
+                        authMetrics.record(AuthMetrics.Phase.LOGIN_AUTHENTICATE, AuthMetrics.Outcome.BAD_CREDENTIALS, start);
+                        securityEvents.record(SecurityEvent.LOGIN_FAILED, loginRequest.getEmail());
+                        loginAuditService.record(AuditEventType.LOGIN, AuditOutcome.FAILURE, loginRequest.getEmail(), null, remoteAddress);
+                    } else if (!(e instanceof ServiceBusyException)) {
+                        // A full hashing pool is turned away before any work, as in the servlet controller.
+                        authMetrics.record(AuthMetrics.Phase.LOGIN_AUTHENTICATE, AuthMetrics.Outcome.ERROR, start);
+                        loginAuditService.record(AuditEventType.LOGIN, AuditOutcome.ERROR, loginRequest.getEmail(), null, remoteAddress);
+                    }
+                })
+                .flatMap(authentication -> blocking(() -> {
+                    long tokenStart = System.nanoTime();
+                    String token = jwtTokenProvider.generateToken(authentication);
+                    String refreshToken = refreshTokenService.issue(authentication.getName());
+                    authMetrics.record(AuthMetrics.Phase.LOGIN_TOKEN, AuthMetrics.Outcome.SUCCESS, tokenStart);
+                    return ResponseEntity.ok(new JwtAuthResponse(token, refreshToken));
+                }));
+    }
+
+    /**
+     * Handles new user registration.
+     * @param signUpRequest DTO containing user registration details.
+     * @return A ResponseEntity indicating success or failure.
+     */
+    @PostMapping("/register")
+    public Mono<ResponseEntity<ApiResponse>> registerUser(@Valid @RequestBody SignUpRequest signUpRequest) {
+        User user;
+        try {
+            user = SignUpMapper.toUser(signUpRequest);
+        } catch (IllegalArgumentException e) {
+            return Mono.just(new ResponseEntity<>(new ApiResponse(false, "Error: Invalid role specified."), HttpStatus.BAD_REQUEST));
+        }
+
+        // Only hash once the cheap checks above have passed. Uniqueness is left to the
+        // unique index on email: a single insert either wins or fails with a duplicate key.
+        long hashStart = System.nanoTime();
+        return Mono.defer(() -> Mono.fromFuture(passwordHashingService.encode(signUpRequest.getPassword())))
+                .flatMap(encodedPassword -> {
+                    authMetrics.record(AuthMetrics.Phase.REGISTER_HASH, AuthMetrics.Outcome.SUCCESS, hashStart);
+                    user.setPassword(encodedPassword);
+                    LOGGER.info("Attempting to save new user with email: {}", user.getEmail());
+                    long insertStart = System.nanoTime();
+                    return userRepository.insert(user)
+                            .map(savedUser -> {
+                                authMetrics.record(AuthMetrics.Phase.REGISTER_INSERT, AuthMetrics.Outcome.SUCCESS, insertStart);
+                                LOGGER.info("User successfully saved with ID: {}", savedUser.getId());
+                                eventPublisher.publishEvent(new UserSavedEvent(savedUser));
+                                return ResponseEntity.ok(new ApiResponse(true, "User registered successfully!"));
+                            })
+                            .onErrorResume(DuplicateKeyException.class, e -> {
+                                authMetrics.record(AuthMetrics.Phase.REGISTER_INSERT, AuthMetrics.Outcome.DUPLICATE, insertStart);
+                                return Mono.just(new ResponseEntity<>(new ApiResponse(false, "Email is already taken!"), HttpStatus.BAD_REQUEST));
+                            });
+                });
+    }
+
+    /**
+     * Handles login/registration via a social provider like Google.
+     * The provider's ID token is verified locally against its cached public keys, and the user
+     * is found or created by email in one atomic upsert, so no password is hashed.
+     * @param socialLoginRequest DTO containing the provider name and the ID token from the provider.
+     * @return A ResponseEntity with this application's own JWT.
+     */
+    @PostMapping("/social-login")
+    public Mono<ResponseEntity<JwtAuthResponse>> handleSocialLogin(@Valid @RequestBody SocialLoginRequest socialLoginRequest,
+                                                                   ServerHttpRequest request) {
+        String remoteAddress = ReactiveJwtAuthenticationFilter.remoteAddress(request);
+
+        long verifyStart = System.nanoTime();
+        // Blocking: a key the verifier has not seen yet is fetched from the provider.
+        Mono<SocialIdentity> verified = blocking(() -> socialTokenVerifiers.verify(socialLoginRequest.getProvider(), socialLoginRequest.getToken()))
+                .doOnError(AppApiException.class, e -> {
+                    authMetrics.record(AuthMetrics.Phase.SOCIAL_VERIFY, AuthMetrics.Outcome.BAD_CREDENTIALS, verifyStart);
+                    securityEvents.record(SecurityEvent.SOCIAL_TOKEN_REJECTED, socialLoginRequest.getProvider());
+                    loginAuditService.record(AuditEventType.SOCIAL_LOGIN, AuditOutcome.FAILURE, null, null, remoteAddress);
+                });
+
+        return verified.flatMap(identity -> {
+            authMetrics.record(AuthMetrics.Phase.SOCIAL_VERIFY, AuthMetrics.Outcome.SUCCESS, verifyStart);
+            long upsertStart = System.nanoTime();
+            String name = identity.name() != null ? identity.name() : identity.email();
+            return userRepository.findOrCreateByEmail(identity.email(), name, Role.ROLE_STUDENT) // Default role for new accounts
+                    .flatMap(result -> {
+                        authMetrics.record(AuthMetrics.Phase.SOCIAL_UPSERT, AuthMetrics.Outcome.SUCCESS, upsertStart);
+                        User user = result.user();
+                        if (result.created()) {
+                            LOGGER.info("Created account for {} user {}", identity.provider(), user.getEmail());
+                            eventPublisher.publishEvent(new UserSavedEvent(user));
+                        }
+                        return blocking(() -> {
+                            long tokenStart = System.nanoTime();
+                            Authentication authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+                            String appJwt = jwtTokenProvider.generateToken(authentication);
+                            String refreshToken = refreshTokenService.issue(user.getEmail());
+                            authMetrics.record(AuthMetrics.Phase.SOCIAL_TOKEN, AuthMetrics.Outcome.SUCCESS, tokenStart);
+                            loginAuditService.record(AuditEventType.SOCIAL_LOGIN, AuditOutcome.SUCCESS, user.getEmail(),
+                                    user.getRole().name(), remoteAddress);
+                            return ResponseEntity.ok(new JwtAuthResponse(appJwt, refreshToken));
+                        });
+                    });
+        });
+    }
+
+    /**
+     * Exchanges a refresh token for a new access token and a new refresh token.
+     * Each refresh token works once; presenting a used one ends that login session everywhere.
+     * @param refreshTokenRequest DTO containing the refresh token from the last login or refresh.
+     * @return A ResponseEntity with the new token pair.
+     */
+    @PostMapping("/refresh")
+    public Mono<ResponseEntity<JwtAuthResponse>> refreshToken(@Valid @RequestBody RefreshTokenRequest refreshTokenRequest) {
+        long rotateStart = System.nanoTime();
+        Mono<RefreshToken> consumed = blocking(() -> refreshTokenService.consume(refreshTokenRequest.getRefreshToken()))
+                .doOnError(AppApiException.class, e -> {
+                    authMetrics.record(AuthMetrics.Phase.REFRESH_ROTATE, AuthMetrics.Outcome.BAD_CREDENTIALS, rotateStart);
+                    securityEvents.record(SecurityEvent.REFRESH_REJECTED);
+                });
+
+        // Reload the user so that a changed role takes effect at the next refresh.
+        return consumed.flatMap(token -> userRepository.findPrincipalByEmail(token.getEmail())
+                .map(UserPrincipal::withoutPassword)
+                .switchIfEmpty(Mono.error(() -> new AppApiException(HttpStatus.UNAUTHORIZED, "Refresh token is invalid or expired.")))
+                .flatMap(principal -> blocking(() -> {
+                    String nextRefreshToken = refreshTokenService.rotate(token);
+                    authMetrics.record(AuthMetrics.Phase.REFRESH_ROTATE, AuthMetrics.Outcome.SUCCESS, rotateStart);
+
+                    long tokenStart = System.nanoTime();
+                    Authentication authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+                    String accessToken = jwtTokenProvider.generateToken(authentication);
+                    authMetrics.record(AuthMetrics.Phase.REFRESH_TOKEN, AuthMetrics.Outcome.SUCCESS, tokenStart);
+                    return ResponseEntity.ok(new JwtAuthResponse(accessToken, nextRefreshToken));
+                })));
+    }
+
+    /**
+     * Logs out by revoking the access token in the Authorization header until it expires
+     * and, if one is given, ending the refresh token's session.
+     * @param authorization The "Bearer" header of the access token to revoke, if any.
+     * @param refreshTokenRequest Optional DTO containing the session's refresh token.
+     * @return A success response; unknown or already invalid tokens are ignored.
+     */
+    @PostMapping("/logout")
+    public Mono<ResponseEntity<ApiResponse>> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+                                                    @RequestBody(required = false) RefreshTokenRequest refreshTokenRequest) {
+        return blocking(() -> {
+            if (authorization != null && authorization.startsWith("Bearer ")) {
+                TokenVerification verification = jwtTokenProvider.verify(authorization.substring(7));
+                if (verification.isValid() && verification.getTokenId() != null) {
+                    revokedTokenRegistry.revoke(verification.getTokenId(), verification.getExpiration());
+                }
+            }
+            if (refreshTokenRequest != null && refreshTokenRequest.getRefreshToken() != null) {
+                refreshTokenService.revokeFamily(refreshTokenRequest.getRefreshToken());
+            }
+            return ResponseEntity.ok(new ApiResponse(true, "Logged out successfully."));
+        });
+    }
+
+    /**
+     * Handles a 'Forgot Password' request.
+     * @param forgotPasswordRequest DTO containing the user's email.
+     * @return A generic success response to prevent email enumeration attacks.
+     */
+    @PostMapping("/forgot-password")
+    public Mono<ResponseEntity<ApiResponse>> forgotPassword(@Valid @RequestBody ForgotPasswordRequest forgotPasswordRequest,
+                                                            ServerHttpRequest request) {
+        String remoteAddress = ReactiveJwtAuthenticationFilter.remoteAddress(request);
+        long lookupStart = System.nanoTime();
+        Mono<Void> handled = userRepository.findByEmail(forgotPasswordRequest.getEmail())
+                .flatMap(user -> {
+                    authMetrics.record(AuthMetrics.Phase.FORGOT_LOOKUP, AuthMetrics.Outcome.SUCCESS, lookupStart);
+                    return queueResetEmail(user, remoteAddress);
+                })
+                .switchIfEmpty(Mono.fromRunnable(() -> {
+                    authMetrics.record(AuthMetrics.Phase.FORGOT_LOOKUP, AuthMetrics.Outcome.SUCCESS, lookupStart);
+                    loginAuditService.record(AuditEventType.PASSWORD_RESET, AuditOutcome.FAILURE, forgotPasswordRequest.getEmail(),
+                            null, remoteAddress);
+                }))
+                .then();
+
+        // Always return a positive response to prevent attackers from discovering which emails are registered.
+        return handled.thenReturn(ResponseEntity.ok(
+                new ApiResponse(true, "If an account with that email exists, a password reset link has been sent.")));
+    }
+
+    private Mono<Boolean> queueResetEmail(User user, String remoteAddress) {
+        // If user is found, generate a link and queue the email; delivery happens in the background.
+        String resetLink = "http://your-frontend-app.com/reset-password?token=some-secure-token";
+        long enqueueStart = System.nanoTime();
+        return blocking(() -> {
+            emailService.sendPasswordResetEmail(user.getEmail(), user.getName(), resetLink);
+            return true;
+        }).doOnNext(queued -> {
+            authMetrics.record(AuthMetrics.Phase.FORGOT_ENQUEUE, AuthMetrics.Outcome.SUCCESS, enqueueStart);
+            loginAuditService.record(AuditEventType.PASSWORD_RESET, AuditOutcome.SUCCESS, user.getEmail(),
+                    user.getRole().name(), remoteAddress);
+            LOGGER.info("Password reset email queued for {}", user.getEmail());
+        }).onErrorResume(e -> {
+            authMetrics.record(AuthMetrics.Phase.FORGOT_ENQUEUE, AuthMetrics.Outcome.ERROR, enqueueStart);
+            loginAuditService.record(AuditEventType.PASSWORD_RESET, AuditOutcome.ERROR, user.getEmail(),
+                    user.getRole().name(), remoteAddress);
+            LOGGER.error("Could not queue password reset email for {}: {}", user.getEmail(), e.getMessage());
+            return Mono.just(false);
+        });
+    }
+
+    /**
+     * Runs a call into a blocking service off the event loop.
+     */
+    private static <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private static String role(Authentication authentication) {
+        Iterator<? extends GrantedAuthority> authorities = authentication.getAuthorities().iterator();
+        return authorities.hasNext() ? authorities.next().getAuthority() : null;
+    }
+}
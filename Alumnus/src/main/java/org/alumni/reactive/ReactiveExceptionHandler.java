@@ -0,0 +1,69 @@
+package org.alumni.reactive;
+
+import org.alumni.dto.ErrorDetails;
+import org.alumni.exception.AppApiException;
+import org.alumni.exception.ServiceBusyException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.Date;
+
+/**
+ * The reactive counterpart of GlobalExceptionHandler, producing the same error bodies.
+ */
+@ControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveExceptionHandler {
+
+    @ExceptionHandler(AppApiException.class)
+    public ResponseEntity<ErrorDetails> handleAppApiException(AppApiException exception, ServerWebExchange exchange) {
+        return new ResponseEntity<>(details(exception.getMessage(), exchange), exception.getStatus());
+    }
+
+    // Handle saturation of a bounded resource; tell the client when to come back
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<ErrorDetails> handleServiceBusyException(ServiceBusyException exception, ServerWebExchange exchange) {
+        return ResponseEntity.status(exception.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfterSeconds()))
+                .body(details(exception.getMessage(), exchange));
+    }
+
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<ErrorDetails> handleAccessDeniedException(AccessDeniedException exception, ServerWebExchange exchange) {
+        return new ResponseEntity<>(details("Access Denied: You do not have permission to access this resource.", exchange),
+                HttpStatus.FORBIDDEN);
+    }
+
+    // Failed logins are counted by SecurityEventRecorder where they happen, so nothing is logged here
+    @ExceptionHandler(AuthenticationException.class)
+    public ResponseEntity<ErrorDetails> handleAuthenticationException(AuthenticationException exception, ServerWebExchange exchange) {
+        return new ResponseEntity<>(details("Invalid email or password.", exchange), HttpStatus.UNAUTHORIZED);
+    }
+
+    // Invalid request bodies, oversized bodies and the like keep their own status, as in Spring MVC
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<ErrorDetails> handleResponseStatusException(ResponseStatusException exception, ServerWebExchange exchange) {
+        String message = exception instanceof WebExchangeBindException ? "Validation failed" : exception.getReason();
+        return new ResponseEntity<>(details(message, exchange), exception.getStatusCode());
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorDetails> handleGlobalException(Exception exception, ServerWebExchange exchange) {
+        return new ResponseEntity<>(details("An internal error occurred: " + exception.getMessage(), exchange),
+                HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    // The same "uri=..." form that WebRequest.getDescription(false) gives on the servlet stack
+    private static ErrorDetails details(String message, ServerWebExchange exchange) {
+        return new ErrorDetails(new Date(), message, "uri=" + exchange.getRequest().getPath().value());
+    }
+}
@@ -0,0 +1,140 @@
+package org.alumni.reactive;
+
+import org.alumni.metrics.AuthMetrics;
+import org.alumni.model.Role;
+import org.alumni.repository.ReactiveUserRepository;
+import org.alumni.security.JwtTokenProvider;
+import org.alumni.security.PrincipalSource;
+import org.alumni.security.RevokedTokenRegistry;
+import org.alumni.security.SecurityEvent;
+import org.alumni.security.SecurityEventRecorder;
+import org.alumni.security.TokenVerification;
+import org.alumni.security.UserPrincipal;
+import org.alumni.security.VerifiedTokenCache;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.context.Context;
+
+/**
+ * The reactive counterpart of JwtAuthenticationFilter, with the same token cache, revocation
+ * check, metrics and security events. Everything on the common path is in-memory; the only
+ * MongoDB reads (the principal in 'database' mode, and confirming a Bloom filter hit on a
+ * revoked token) never run on the event loop.
+ */
+public class ReactiveJwtAuthenticationFilter implements WebFilter {
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final ReactiveUserRepository userRepository;
+    private final VerifiedTokenCache tokenCache;
+    private final RevokedTokenRegistry revokedTokens;
+    private final AuthMetrics authMetrics;
+    private final SecurityEventRecorder securityEvents;
+    private final PrincipalSource principalSource;
+
+    public ReactiveJwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider,
+                                           ReactiveUserRepository userRepository,
+                                           VerifiedTokenCache tokenCache,
+                                           RevokedTokenRegistry revokedTokens,
+                                           AuthMetrics authMetrics,
+                                           SecurityEventRecorder securityEvents,
+                                           PrincipalSource principalSource) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.userRepository = userRepository;
+        this.tokenCache = tokenCache;
+        this.revokedTokens = revokedTokens;
+        this.authMetrics = authMetrics;
+        this.securityEvents = securityEvents;
+        this.principalSource = principalSource;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        long start = System.nanoTime();
+        String token = getTokenFromRequest(exchange.getRequest());
+        if (!StringUtils.hasText(token)) {
+            authMetrics.recordFilter(AuthMetrics.FilterOutcome.ANONYMOUS, start);
+            return chain.filter(exchange);
+        }
+        return authenticate(token, remoteAddress(exchange.getRequest()), start)
+                .map(ReactiveSecurityContextHolder::withAuthentication)
+                .defaultIfEmpty(Context.empty())
+                .flatMap(context -> chain.filter(exchange).contextWrite(context));
+    }
+
+    private Mono<Authentication> authenticate(String token, String remoteAddress, long start) {
+        Mono<Resolved> resolved;
+        VerifiedTokenCache.Entry cached = tokenCache.get(token);
+        if (cached != null) {
+            resolved = Mono.just(new Resolved(cached.principal(), cached.tokenId(), AuthMetrics.FilterOutcome.CACHE_HIT));
+        } else {
+            TokenVerification verification = jwtTokenProvider.verify(token);
+            AuthMetrics.FilterOutcome outcome = AuthMetrics.FilterOutcome.of(verification.getStatus());
+            if (!verification.isValid()) {
+                securityEvents.record(SecurityEvent.of(verification.getStatus()), remoteAddress);
+                authMetrics.recordFilter(outcome, start);
+                return Mono.empty();
+            }
+            resolved = resolvePrincipal(verification)
+                    .doOnNext(principal -> tokenCache.put(token, principal, verification.getTokenId(), verification.getExpiration()))
+                    .map(principal -> new Resolved(principal, verification.getTokenId(), outcome));
+        }
+
+        // Checked on cache hits too: a token can be revoked after it was cached.
+        return resolved.flatMap(result -> isRevoked(result.tokenId()).flatMap(revoked -> {
+            if (revoked) {
+                securityEvents.record(SecurityEvent.TOKEN_REVOKED, remoteAddress);
+                authMetrics.recordFilter(AuthMetrics.FilterOutcome.REVOKED_TOKEN, start);
+                return Mono.empty();
+            }
+            authMetrics.recordFilter(result.outcome(), start);
+            UserDetails principal = result.principal();
+            return Mono.just(new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        }));
+    }
+
+    private Mono<UserDetails> resolvePrincipal(TokenVerification verification) {
+        // Tokens issued before the role claim existed still need the database lookup.
+        if (principalSource == PrincipalSource.TOKEN && verification.getRole() != null) {
+            long issuedAt = verification.getIssuedAt() != null ? verification.getIssuedAt().getTime() : 0;
+            return Mono.just(UserPrincipal.fromToken(verification.getUserId(), verification.getSubject(),
+                    Role.valueOf(verification.getRole()), verification.getVersion(), issuedAt));
+        }
+        // The principal is cached and kept in the security context, neither of which needs the hash.
+        return userRepository.findPrincipalByEmail(verification.getSubject()).map(UserPrincipal::withoutPassword);
+    }
+
+    private Mono<Boolean> isRevoked(String tokenId) {
+        if (!revokedTokens.mightBeRevoked(tokenId)) {
+            return Mono.just(false);
+        }
+        // A Bloom filter hit is confirmed against MongoDB with a blocking call.
+        return Mono.fromCallable(() -> revokedTokens.isRevoked(tokenId)).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private static String getTokenFromRequest(ServerHttpRequest request) {
+        String bearerToken = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
+            return bearerToken.substring(7);
+        }
+        return null;
+    }
+
+    static String remoteAddress(ServerHttpRequest request) {
+        return request.getRemoteAddress() != null && request.getRemoteAddress().getAddress() != null
+                ? request.getRemoteAddress().getAddress().getHostAddress()
+                : null;
+    }
+
+    private record Resolved(UserDetails principal, String tokenId, AuthMetrics.FilterOutcome outcome) {
+    }
+}
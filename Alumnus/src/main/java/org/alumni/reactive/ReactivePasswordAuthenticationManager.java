@@ -0,0 +1,109 @@
+package org.alumni.reactive;
+
+import org.alumni.event.UserCredentialsChangedEvent;
+import org.alumni.repository.ReactiveUserRepository;
+import org.alumni.security.UserPrincipal;
+import org.alumni.service.PasswordHashingService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Checks an email and password the way the servlet stack's DaoAuthenticationProvider does,
+ * without blocking: the principal is read with the reactive repository, and the BCrypt check
+ * runs on the bounded {@link PasswordHashingService} pool, never on the event loop. A full pool
+ * fails fast with ServiceBusyException (503). Unknown emails still cost one BCrypt check, so
+ * response times do not reveal which emails are registered, and hashes with an outdated cost
+ * are upgraded after a successful login.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactivePasswordAuthenticationManager implements ReactiveAuthenticationManager {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReactivePasswordAuthenticationManager.class);
+
+    private final ReactiveUserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final ApplicationEventPublisher eventPublisher;
+    // Compared against when the email is unknown; created on first use, as DaoAuthenticationProvider does.
+    private volatile String userNotFoundPassword;
+
+    public ReactivePasswordAuthenticationManager(ReactiveUserRepository userRepository,
+                                                 PasswordEncoder passwordEncoder,
+                                                 PasswordHashingService passwordHashingService,
+                                                 ApplicationEventPublisher eventPublisher) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public Mono<Authentication> authenticate(Authentication authentication) {
+        String email = authentication.getName();
+        String password = String.valueOf(authentication.getCredentials());
+        return userRepository.findPrincipalByEmail(email)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(found -> onHashingPool(() -> check(found, password)))
+                .flatMap(this::upgradeIfNeeded)
+                .map(principal -> UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities()));
+    }
+
+    // Runs on a hashing thread.
+    private Checked check(Optional<UserPrincipal> found, String password) {
+        if (found.isEmpty() || found.get().getPassword() == null) {
+            passwordEncoder.matches(password, userNotFoundPassword());
+            throw new BadCredentialsException("Bad credentials");
+        }
+        UserPrincipal principal = found.get();
+        if (!passwordEncoder.matches(password, principal.getPassword())) {
+            throw new BadCredentialsException("Bad credentials");
+        }
+        // Re-hashing here keeps the second BCrypt run on the hashing pool too.
+        String upgraded = passwordEncoder.upgradeEncoding(principal.getPassword()) ? passwordEncoder.encode(password) : null;
+        return new Checked(principal.withoutPassword(), upgraded);
+    }
+
+    private Mono<UserPrincipal> upgradeIfNeeded(Checked checked) {
+        if (checked.upgradedPassword() == null) {
+            return Mono.just(checked.principal());
+        }
+        String email = checked.principal().getEmail();
+        return userRepository.updatePasswordByEmail(email, checked.upgradedPassword())
+                .doOnNext(updated -> {
+                    LOGGER.info("Rehashed password for {} with the current BCrypt cost", email);
+                    eventPublisher.publishEvent(new UserCredentialsChangedEvent(email));
+                })
+                .thenReturn(checked.principal());
+    }
+
+    private <T> Mono<T> onHashingPool(Supplier<T> task) {
+        // defer: a full pool throws from submit(), which becomes an error signal here.
+        return Mono.defer(() -> Mono.fromFuture(passwordHashingService.submit(task)));
+    }
+
+    private String userNotFoundPassword() {
+        String encoded = userNotFoundPassword;
+        if (encoded == null) {
+            encoded = passwordEncoder.encode("userNotFoundPassword");
+            userNotFoundPassword = encoded;
+        }
+        return encoded;
+    }
+
+    private record Checked(UserPrincipal principal, String upgradedPassword) {
+    }
+}
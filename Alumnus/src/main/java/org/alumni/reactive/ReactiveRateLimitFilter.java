@@ -0,0 +1,119 @@
+package org.alumni.reactive;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.alumni.dto.ErrorDetails;
+import org.alumni.security.CredentialRateLimits;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+
+/**
+ * The reactive counterpart of RateLimitFilter, enforcing the same {@link CredentialRateLimits}.
+ * Where an endpoint has a per-email limit, the body is collected without blocking, inspected,
+ * and replayed to the handler.
+ */
+public class ReactiveRateLimitFilter implements WebFilter {
+
+    // The same ceiling WebFlux applies when decoding a JSON body; larger ones would be refused anyway.
+    private static final int MAX_BODY = 256 * 1024;
+
+    private final CredentialRateLimits rateLimits;
+    private final ObjectMapper objectMapper;
+
+    public ReactiveRateLimitFilter(CredentialRateLimits rateLimits, ObjectMapper objectMapper) {
+        this.rateLimits = rateLimits;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String path = request.getPath().pathWithinApplication().value();
+        CredentialRateLimits.Rule rule = rateLimits.ruleFor(request.getMethod().name(), path);
+        if (rule == null) {
+            return chain.filter(exchange);
+        }
+
+        String remoteAddress = ReactiveJwtAuthenticationFilter.remoteAddress(request);
+        long wait = rule.acquireForIp(remoteAddress);
+        if (wait > 0) {
+            return reject(exchange, remoteAddress, path, wait);
+        }
+        if (!rule.limitsEmail()) {
+            rule.allowed();
+            return chain.filter(exchange);
+        }
+
+        return DataBufferUtils.join(request.getBody(), MAX_BODY)
+                .map(ReactiveRateLimitFilter::drain)
+                .defaultIfEmpty(new byte[0])
+                .onErrorMap(DataBufferLimitException.class, e -> new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE))
+                .flatMap(body -> {
+                    long emailWait = rule.acquireForEmail(
+                            Arrays.copyOf(body, Math.min(body.length, CredentialRateLimits.MAX_INSPECTED_BODY)));
+                    if (emailWait > 0) {
+                        return reject(exchange, remoteAddress, path, emailWait);
+                    }
+                    rule.allowed();
+                    return chain.filter(exchange.mutate().request(new ReplayedBodyRequest(request, body)).build());
+                });
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, String remoteAddress, String path, long waitNanos) {
+        ErrorDetails errorDetails = rateLimits.reject(remoteAddress, path);
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(CredentialRateLimits.retryAfterSeconds(waitNanos)));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(errorDetails);
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(json)));
+    }
+
+    private static byte[] drain(DataBuffer buffer) {
+        try {
+            byte[] bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+            return bytes;
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    /**
+     * Serves the already collected body to everything downstream.
+     */
+    private static final class ReplayedBodyRequest extends ServerHttpRequestDecorator {
+        private final byte[] body;
+
+        private ReplayedBodyRequest(ServerHttpRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public Flux<DataBuffer> getBody() {
+            return Flux.defer(() -> Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body)));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package org.alumni.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.alumni.metrics.AuthMetrics;
+import org.alumni.repository.ReactiveUserRepository;
+import org.alumni.security.CredentialRateLimits;
+import org.alumni.security.JwtTokenProvider;
+import org.alumni.security.PrincipalSource;
+import org.alumni.security.RevokedTokenRegistry;
+import org.alumni.security.SecurityEventRecorder;
+import org.alumni.security.VerifiedTokenCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+
+/**
+ * Security for the reactive profile, with the same access rules as the servlet SecurityConfig.
+ * The filters are created here rather than as beans, since WebFlux would otherwise also run
+ * every WebFilter bean outside the security chain.
+ */
+@Configuration
+@EnableWebFluxSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveSecurityConfig {
+
+    /**
+     * Tomcat is still on the classpath for the servlet mode, and Spring Boot would prefer it.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http,
+                                                  JwtTokenProvider jwtTokenProvider,
+                                                  ReactiveUserRepository userRepository,
+                                                  VerifiedTokenCache tokenCache,
+                                                  RevokedTokenRegistry revokedTokens,
+                                                  AuthMetrics authMetrics,
+                                                  SecurityEventRecorder securityEvents,
+                                                  CredentialRateLimits rateLimits,
+                                                  ObjectMapper objectMapper,
+                                                  @Value("${app.security.principal-source:token}") PrincipalSource principalSource) {
+        ReactiveJwtAuthenticationFilter jwtFilter = new ReactiveJwtAuthenticationFilter(jwtTokenProvider, userRepository,
+                tokenCache, revokedTokens, authMetrics, securityEvents, principalSource);
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .logout(ServerHttpSecurity.LogoutSpec::disable)
+                // Stateless, like the servlet chain: nothing is kept between requests.
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .authorizeExchange(authorize -> authorize
+                        .pathMatchers("/api/auth/**").permitAll()
+                        .pathMatchers("/actuator/health", "/actuator/prometheus").permitAll()
+                        .pathMatchers("/api/admin/**").hasRole("ADMIN")
+                        .anyExchange().authenticated()
+                )
+                // The servlet chain answers unauthenticated requests with 403, so this does too.
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint(new HttpStatusServerEntryPoint(HttpStatus.FORBIDDEN)))
+                .addFilterAt(jwtFilter, SecurityWebFiltersOrder.AUTHENTICATION)
+                // Throttle credential endpoints before any token or password work is done.
+                .addFilterBefore(new ReactiveRateLimitFilter(rateLimits, objectMapper), SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+}
@@ -0,0 +1,12 @@
+package org.alumni.repository;
+
+import org.alumni.model.OutboxEmail;
+import org.alumni.model.OutboxStatus;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OutboxEmailRepository extends MongoRepository<OutboxEmail, String> {
+
+    long countByStatus(OutboxStatus status);
+}
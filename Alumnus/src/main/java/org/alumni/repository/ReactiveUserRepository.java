@@ -0,0 +1,24 @@
+package org.alumni.repository;
+
+import org.alumni.model.User;
+import org.alumni.security.UserPrincipal;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * The non-blocking counterpart of {@link UserRepository}, used by the reactive profile.
+ * Queries and projections are the same as there. Only the reactive profile scans it; the servlet
+ * stack has no reactive MongoDB client to back it.
+ */
+@Repository
+@Profile("reactive")
+public interface ReactiveUserRepository extends ReactiveMongoRepository<User, String>, ReactiveUserRepositoryCustom {
+
+    Mono<User> findByEmail(String email);
+
+    @Query(value = "{ 'email': ?0 }", fields = "{ 'email': 1, 'password': 1, 'role': 1, 'version': 1 }")
+    Mono<UserPrincipal> findPrincipalByEmail(String email);
+}
@@ -0,0 +1,20 @@
+package org.alumni.repository;
+
+import org.alumni.model.Role;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking versions of the {@link UserRepositoryCustom} queries the reactive profile needs.
+ */
+public interface ReactiveUserRepositoryCustom {
+
+    /**
+     * See {@link UserRepositoryCustom#findOrCreateByEmail(String, String, Role)}.
+     */
+    Mono<UserRepositoryCustom.FindOrCreateResult> findOrCreateByEmail(String email, String name, Role role);
+
+    /**
+     * See {@link UserRepositoryCustom#updatePasswordByEmail(String, String)}.
+     */
+    Mono<Long> updatePasswordByEmail(String email, String encodedPassword);
+}
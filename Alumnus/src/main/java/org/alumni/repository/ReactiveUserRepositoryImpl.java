@@ -0,0 +1,63 @@
+package org.alumni.repository;
+
+import com.mongodb.client.result.UpdateResult;
+import lombok.AllArgsConstructor;
+import org.alumni.model.Role;
+import org.alumni.model.User;
+import org.bson.types.ObjectId;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Mono;
+
+/**
+ * ReactiveMongoTemplate-backed implementation of {@link ReactiveUserRepositoryCustom},
+ * issuing the same commands as {@link UserRepositoryImpl}.
+ */
+@AllArgsConstructor
+public class ReactiveUserRepositoryImpl implements ReactiveUserRepositoryCustom {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    @Override
+    public Mono<UserRepositoryCustom.FindOrCreateResult> findOrCreateByEmail(String email, String name, Role role) {
+        // Two first logins for the same email can race; the loser's retry finds the winner's user.
+        return upsertByEmail(email, name, role)
+                .onErrorResume(DuplicateKeyException.class, e -> upsertByEmail(email, name, role));
+    }
+
+    @Override
+    public Mono<Long> updatePasswordByEmail(String email, String encodedPassword) {
+        // Addressed by collection name, not entity type: an update for User would also bump its @Version.
+        return mongoTemplate.updateFirst(new Query(Criteria.where("email").is(email)),
+                        new Update().set("password", encodedPassword),
+                        mongoTemplate.getCollectionName(User.class))
+                .map(UpdateResult::getModifiedCount);
+    }
+
+    private Mono<UserRepositoryCustom.FindOrCreateResult> upsertByEmail(String email, String name, Role role) {
+        Query query = new Query(Criteria.where("email").is(email));
+        query.fields().exclude("password");
+        ObjectId id = new ObjectId();
+        Update update = new Update()
+                .setOnInsert("_id", id)
+                .setOnInsert("name", name)
+                .setOnInsert("role", role)
+                .setOnInsert("version", 0L);
+        // returnNew(false): empty means the upsert inserted, anything else is the existing user.
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().upsert(true).returnNew(false), User.class)
+                .map(existing -> new UserRepositoryCustom.FindOrCreateResult(existing, false))
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    User created = new User();
+                    created.setId(id.toHexString());
+                    created.setEmail(email);
+                    created.setName(name);
+                    created.setRole(role);
+                    created.setVersion(0L);
+                    return new UserRepositoryCustom.FindOrCreateResult(created, true);
+                }));
+    }
+}
@@ -0,0 +1,11 @@
+package org.alumni.repository;
+
+import org.alumni.model.RefreshToken;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RefreshTokenRepository extends MongoRepository<RefreshToken, String> {
+
+    long deleteByFamilyId(String familyId);
+}
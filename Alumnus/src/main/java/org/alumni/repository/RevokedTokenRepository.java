@@ -0,0 +1,14 @@
+package org.alumni.repository;
+
+import org.alumni.model.RevokedToken;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Date;
+import java.util.stream.Stream;
+
+@Repository
+public interface RevokedTokenRepository extends MongoRepository<RevokedToken, String> {
+
+    Stream<RevokedToken> findByExpiresAtAfter(Date now);
+}
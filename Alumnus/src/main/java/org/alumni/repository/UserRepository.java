@@ -1,16 +1,23 @@
-package org.alumni.repository;
-
-import org.alumni.model.User;
-import org.springframework.data.mongodb.repository.MongoRepository;
-import org.springframework.stereotype.Repository;
-
-import java.util.Optional;
-
-@Repository
-// Extend MongoRepository and use String for the ID type.
-public interface UserRepository extends MongoRepository<User, String> {
-
-    // These derived query methods work exactly the same with MongoDB!
-    Optional<User> findByEmail(String email);
-    Boolean existsByEmail(String email);
+package org.alumni.repository;
+
+import org.alumni.model.User;
+import org.alumni.security.UserPrincipal;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+// Extend MongoRepository and use String for the ID type.
+public interface UserRepository extends MongoRepository<User, String>, UserRepositoryCustom {
+
+    // These derived query methods work exactly the same with MongoDB!
+    Optional<User> findByEmail(String email);
+    Boolean existsByEmail(String email);
+
+    // Authentication only needs these fields; the rest of the document is never read or decoded.
+    // The version goes into issued tokens so that conditional profile reads can skip MongoDB.
+    @Query(value = "{ 'email': ?0 }", fields = "{ 'email': 1, 'password': 1, 'role': 1, 'version': 1 }")
+    Optional<UserPrincipal> findPrincipalByEmail(String email);
 }
\ No newline at end of file
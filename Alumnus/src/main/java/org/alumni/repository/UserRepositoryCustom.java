@@ -0,0 +1,65 @@
+package org.alumni.repository;
+
+import org.alumni.dto.DirectoryEntry;
+import org.alumni.dto.DirectoryFilter;
+import org.alumni.dto.ProfileUpdateRequest;
+import org.alumni.dto.UserExportRow;
+import org.alumni.model.Role;
+import org.alumni.model.User;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Queries on users that derived repository methods cannot express.
+ */
+public interface UserRepositoryCustom {
+
+    /**
+     * Returns up to 'limit' directory entries matching the filter, ordered by id,
+     * starting strictly after 'afterId' (or from the beginning when it is null).
+     */
+    List<DirectoryEntry> findDirectoryPage(DirectoryFilter filter, String afterId, int limit);
+
+    /**
+     * Streams every user matching the filter, in no particular order, from a cursor that fetches
+     * 'batchSize' documents per round trip. The stream holds a server cursor and must be closed.
+     */
+    Stream<UserExportRow> streamForExport(DirectoryFilter filter, int batchSize);
+
+    /**
+     * Returns the user with this email, creating it with the given name and role if there is none,
+     * in a single atomic round trip. Created users have no password. The returned user never
+     * carries the password hash.
+     */
+    FindOrCreateResult findOrCreateByEmail(String email, String name, Role role);
+
+    record FindOrCreateResult(User user, boolean created) {
+    }
+
+    /**
+     * @return The user without the password hash, or null if there is no such user.
+     */
+    User findProfileById(String id);
+
+    /**
+     * Reads only the profile version; users saved before versioning are at version 0.
+     * @return The version, or null if there is no such user.
+     */
+    Long findVersionById(String id);
+
+    /**
+     * Replaces the editable profile fields and increments the version, but only if the stored
+     * version is still 'expectedVersion'.
+     * @return The updated user without the password hash, or null if the user does not exist
+     *         or its version has moved on.
+     */
+    User updateProfile(String id, long expectedVersion, ProfileUpdateRequest profile);
+
+    /**
+     * Replaces only the password hash. The profile version is left alone: it is not profile data,
+     * and bumping it would invalidate the ETags and the 'ver' claim of tokens issued with it.
+     * @return The number of users updated, 0 or 1.
+     */
+    long updatePasswordByEmail(String email, String encodedPassword);
+}
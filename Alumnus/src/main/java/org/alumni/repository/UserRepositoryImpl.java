@@ -0,0 +1,154 @@
+package org.alumni.repository;
+
+import lombok.AllArgsConstructor;
+import org.alumni.dto.DirectoryEntry;
+import org.alumni.dto.DirectoryFilter;
+import org.alumni.dto.ProfileUpdateRequest;
+import org.alumni.dto.UserExportRow;
+import org.alumni.model.Role;
+import org.alumni.model.User;
+import org.bson.types.ObjectId;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * MongoTemplate-backed implementation of {@link UserRepositoryCustom}.
+ * Spring Data picks it up by the 'Impl' suffix and merges it into UserRepository.
+ */
+@AllArgsConstructor
+public class UserRepositoryImpl implements UserRepositoryCustom {
+
+    private static final String[] DIRECTORY_FIELDS = {"name", "role", "companyName", "companyRole", "collegeName", "branch"};
+    private static final String[] EXPORT_FIELDS =
+            {"name", "email", "phone", "role", "companyName", "companyRole", "collegeName", "branch", "collegeId"};
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<DirectoryEntry> findDirectoryPage(DirectoryFilter filter, String afterId, int limit) {
+        Query query = filterQuery(filter);
+        query.fields().include(DIRECTORY_FIELDS);
+        if (afterId != null) {
+            // Keyset pagination: seek past the last id seen instead of skipping, so every page costs the same.
+            query.addCriteria(Criteria.where("_id").gt(new ObjectId(afterId)));
+        }
+        query.with(Sort.by(Sort.Direction.ASC, "_id")).limit(limit);
+        return mongoTemplate.find(query, DirectoryEntry.class, mongoTemplate.getCollectionName(User.class));
+    }
+
+    @Override
+    public Stream<UserExportRow> streamForExport(DirectoryFilter filter, int batchSize) {
+        Query query = filterQuery(filter);
+        query.fields().include(EXPORT_FIELDS);
+        // No sort: with a partial filter (e.g. college without branch) no index yields _id order,
+        // and the server would have to buffer the whole result to sort it.
+        query.cursorBatchSize(batchSize);
+        return mongoTemplate.stream(query, UserExportRow.class, mongoTemplate.getCollectionName(User.class));
+    }
+
+    @Override
+    public FindOrCreateResult findOrCreateByEmail(String email, String name, Role role) {
+        try {
+            return upsertByEmail(email, name, role);
+        } catch (DuplicateKeyException e) {
+            // Two first logins for the same email raced and the other insert won; now it is found.
+            return upsertByEmail(email, name, role);
+        }
+    }
+
+    private FindOrCreateResult upsertByEmail(String email, String name, Role role) {
+        Query query = new Query(Criteria.where("email").is(email));
+        query.fields().exclude("password");
+        // The id is chosen here so that a created user can be returned without reading it back.
+        ObjectId id = new ObjectId();
+        Update update = new Update()
+                .setOnInsert("_id", id)
+                .setOnInsert("name", name)
+                .setOnInsert("role", role)
+                .setOnInsert("version", 0L);
+        // returnNew(false): null means the upsert inserted, anything else is the existing user.
+        User existing = mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().upsert(true).returnNew(false), User.class);
+        if (existing != null) {
+            return new FindOrCreateResult(existing, false);
+        }
+        User created = new User();
+        created.setId(id.toHexString());
+        created.setEmail(email);
+        created.setName(name);
+        created.setRole(role);
+        created.setVersion(0L);
+        return new FindOrCreateResult(created, true);
+    }
+
+    @Override
+    public User findProfileById(String id) {
+        Query query = new Query(Criteria.where("_id").is(id));
+        query.fields().exclude("password");
+        return mongoTemplate.findOne(query, User.class);
+    }
+
+    @Override
+    public Long findVersionById(String id) {
+        Query query = new Query(Criteria.where("_id").is(id));
+        query.fields().include("version");
+        User user = mongoTemplate.findOne(query, User.class);
+        if (user == null) {
+            return null;
+        }
+        return user.getVersion() != null ? user.getVersion() : 0L;
+    }
+
+    @Override
+    public User updateProfile(String id, long expectedVersion, ProfileUpdateRequest profile) {
+        // Documents saved before versioning have no version field and count as version 0.
+        Query query = new Query(Criteria.where("_id").is(id));
+        query.addCriteria(expectedVersion == 0
+                ? Criteria.where("version").in(0L, null)
+                : Criteria.where("version").is(expectedVersion));
+        query.fields().exclude("password");
+        Update update = new Update()
+                .set("name", profile.getName())
+                .set("phone", profile.getPhone())
+                .set("companyName", profile.getCompanyName())
+                .set("companyRole", profile.getCompanyRole())
+                .set("collegeName", profile.getCollegeName())
+                .set("branch", profile.getBranch())
+                .set("collegeId", profile.getCollegeId())
+                .inc("version", 1);
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), User.class);
+    }
+
+    @Override
+    public long updatePasswordByEmail(String email, String encodedPassword) {
+        // Addressed by collection name, not entity type: an update for User would also bump its @Version.
+        return mongoTemplate.updateFirst(new Query(Criteria.where("email").is(email)),
+                new Update().set("password", encodedPassword),
+                mongoTemplate.getCollectionName(User.class)).getModifiedCount();
+    }
+
+    private static Query filterQuery(DirectoryFilter filter) {
+        Query query = new Query();
+        if (filter.getRole() != null) {
+            query.addCriteria(Criteria.where("role").is(filter.getRole()));
+        }
+        if (filter.getCompanyName() != null) {
+            query.addCriteria(Criteria.where("companyName").is(filter.getCompanyName()));
+        }
+        if (filter.getCollegeName() != null) {
+            query.addCriteria(Criteria.where("collegeName").is(filter.getCollegeName()));
+        }
+        if (filter.getBranch() != null) {
+            query.addCriteria(Criteria.where("branch").is(filter.getBranch()));
+        }
+        return query;
+    }
+}
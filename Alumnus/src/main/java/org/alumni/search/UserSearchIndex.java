@@ -0,0 +1,695 @@
+package org.alumni.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * An in-memory inverted n-gram index over user names and company names.
+ * <p>
+ * Every word is indexed as its trigrams, with a leading boundary marker so that a word's
+ * first grams only match at the start of a word, plus a two-character edge gram for
+ * one-letter prefixes. A query matches a user when enough of its grams appear in the user's
+ * grams, which gives prefix matching for search-as-you-type and tolerates a typo in longer words.
+ * <p>
+ * Grams are packed into an 18-bit int and used directly as an array index, and posting lists
+ * are plain int arrays of ascending document ordinals, so lookups do no hashing and no boxing.
+ * Updated users get a new ordinal and the old one is tombstoned. Tombstones keep their postings and
+ * column entries until {@link #compact()} drops them, which {@link UserSearchService} does periodically
+ * once they make up a set share of the index.
+ * <p>
+ * Thread-safe: searches share a read lock and updates take the write lock.
+ */
+public final class UserSearchIndex {
+
+    private static final int CHAR_BITS = 6;
+    private static final int GRAM_SPACE = 1 << (3 * CHAR_BITS);
+    private static final int BOUNDARY = 37;
+    private static final int INITIAL_POSTING_CAPACITY = 4;
+    private static final int[] NO_POSTINGS = new int[0];
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final int[][] postings = new int[GRAM_SPACE][];
+    private final int[] postingSizes = new int[GRAM_SPACE];
+    private final Map<String, Integer> ordinals = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+    // Many users share an employer, so each distinct company name is held once.
+    private final Map<String, String> companyNames = new HashMap<>();
+    private String[] ids = new String[1024];
+    private String[] names = new String[1024];
+    private String[] companies = new String[1024];
+    // Kept apart from the names so ranking does not touch every candidate's String.
+    private int[] nameLengths = new int[1024];
+    private int documents;
+    private int tombstones;
+    // Running totals behind estimatedBytes(), so the memory gauge never walks the index.
+    private long postingCapacity;
+    private long postingLists;
+    private long stringBytes;
+
+    /**
+     * A ranked search result. Score is the fraction of the query's grams the user matched.
+     */
+    public record Hit(String id, String name, String companyName, double score) {
+    }
+
+    /**
+     * Adds a user, or replaces the indexed text of a user that is already present.
+     */
+    public void put(String id, String name, String companyName) {
+        int[] grams = documentGrams(name, companyName);
+        lock.writeLock().lock();
+        try {
+            Integer previous = ordinals.get(id);
+            if (previous != null) {
+                if (Objects.equals(names[previous], name) && Objects.equals(companies[previous], companyName)) {
+                    return;
+                }
+                deleted.set(previous);
+                tombstones++;
+            }
+            int ordinal = documents++;
+            if (ordinal == ids.length) {
+                int capacity = ids.length * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                names = Arrays.copyOf(names, capacity);
+                companies = Arrays.copyOf(companies, capacity);
+                nameLengths = Arrays.copyOf(nameLengths, capacity);
+            }
+            ids[ordinal] = id;
+            names[ordinal] = name;
+            companies[ordinal] = companyName == null ? null : internCompany(companyName);
+            nameLengths[ordinal] = name == null ? Integer.MAX_VALUE : name.length();
+            stringBytes += stringBytes(id) + stringBytes(name);
+            ordinals.put(id, ordinal);
+            for (int gram : grams) {
+                append(gram, ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.remove(id);
+            if (ordinal != null) {
+                deleted.set(ordinal);
+                tombstones++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to 'limit' users matching the query, best match first.
+     * Users where every query word is a prefix of one of their words come first; if there are
+     * fewer than 'limit' of those, near misses that share most of the query's grams follow.
+     * Ties go to the shorter name, then to the user indexed first.
+     */
+    public List<Hit> search(String query, int limit) {
+        QueryGrams queryGrams = queryGrams(query);
+        if (queryGrams.grams.length == 0 || limit <= 0) {
+            return List.of();
+        }
+        int total = queryGrams.grams.length;
+
+        lock.readLock().lock();
+        try {
+            int[] grams = queryGrams.grams.clone();
+            sortByPostingSize(grams);
+            LongMinHeap top = new LongMinHeap(limit);
+            collectPrefixMatches(grams, queryGrams.words, top);
+            if (top.size() < limit && queryGrams.allowedMisses > 0) {
+                collectNearMatches(grams, Math.max(1, total - queryGrams.allowedMisses), top);
+            }
+
+            long[] ranked = top.drainDescending();
+            List<Hit> hits = new ArrayList<>(ranked.length);
+            for (long key : ranked) {
+                int ordinal = Integer.MAX_VALUE - (int) (key & Integer.MAX_VALUE);
+                int matches = (int) (key >>> 52);
+                hits.add(new Hit(ids[ordinal], names[ordinal], companies[ordinal], (double) matches / total));
+            }
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Intersects all the query's posting lists, rarest first, then confirms each word is a real prefix:
+     * grams alone cannot tell "kalima" from a user called "Kali" at "Lima Labs".
+     * Only hits that would make the top list are confirmed.
+     */
+    private void collectPrefixMatches(int[] grams, int[][] words, LongMinHeap top) {
+        Candidates candidates = Candidates.of(postingsOf(grams[0]), postingSizes[grams[0]]);
+        for (int i = 1; i < grams.length && candidates.size > 0; i++) {
+            candidates.retainAll(postingsOf(grams[i]), postingSizes[grams[i]]);
+        }
+        for (int i = 0; i < candidates.size; i++) {
+            int ordinal = candidates.ordinals[i];
+            if (deleted.get(ordinal)) {
+                continue;
+            }
+            long key = rankKey(grams.length, nameLengths[ordinal], ordinal);
+            if (top.accepts(key) && startsWithWords(ordinal, words)) {
+                top.offer(key);
+            }
+        }
+    }
+
+    /**
+     * Any user with minMatches of the grams must appear in at least one of the
+     * (total - minMatches + 1) rarest lists, so only those lists produce candidates
+     * and the longer ones are only probed for candidates already found.
+     * Users with every gram were already considered as prefix matches.
+     */
+    private void collectNearMatches(int[] grams, int minMatches, LongMinHeap top) {
+        int total = grams.length;
+        int candidateLists = total - minMatches + 1;
+        Candidates candidates = mergeCandidates(grams, candidateLists);
+        for (int i = candidateLists; i < total && candidates.size > 0; i++) {
+            candidates.countMatchesIn(postingsOf(grams[i]), postingSizes[grams[i]]);
+        }
+        for (int i = 0; i < candidates.size; i++) {
+            int ordinal = candidates.ordinals[i];
+            int matches = candidates.matches[i];
+            if (matches < minMatches || matches == total || deleted.get(ordinal)) {
+                continue;
+            }
+            top.offer(rankKey(matches, nameLengths[ordinal], ordinal));
+        }
+    }
+
+    private boolean startsWithWords(int ordinal, int[][] words) {
+        int[] name = encode(names[ordinal]);
+        int[] company = encode(companies[ordinal]);
+        for (int[] word : words) {
+            if (!hasWordStartingWith(name, word) && !hasWordStartingWith(company, word)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasWordStartingWith(int[] codes, int[] prefix) {
+        for (int start = 0; start + prefix.length <= codes.length; start++) {
+            if (codes[start] == 0 || (start > 0 && codes[start - 1] != 0)) {
+                continue;
+            }
+            if (Arrays.equals(codes, start, start + prefix.length, prefix, 0, prefix.length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return The number of live users in the index.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return The number of replaced or removed users still held until the next {@link #compact()}.
+     */
+    public int tombstones() {
+        lock.readLock().lock();
+        try {
+            return tombstones;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Drops tombstoned users from the posting lists and columns and renumbers the live ones
+     * in their existing order, so rankings are unchanged. Posting lists are trimmed to size.
+     * Holds the write lock for one pass over every posting list, so searches wait for it.
+     */
+    public void compact() {
+        lock.writeLock().lock();
+        try {
+            if (tombstones == 0) {
+                return;
+            }
+            int[] renumbered = new int[documents];
+            int live = 0;
+            for (int ordinal = 0; ordinal < documents; ordinal++) {
+                renumbered[ordinal] = deleted.get(ordinal) ? -1 : live++;
+            }
+
+            // Renumbering keeps the order, so every list stays sorted.
+            postingCapacity = 0;
+            postingLists = 0;
+            for (int gram = 0; gram < GRAM_SPACE; gram++) {
+                int[] list = postings[gram];
+                if (list == null) {
+                    continue;
+                }
+                int kept = 0;
+                for (int i = 0; i < postingSizes[gram]; i++) {
+                    int ordinal = renumbered[list[i]];
+                    if (ordinal >= 0) {
+                        list[kept++] = ordinal;
+                    }
+                }
+                if (kept == 0) {
+                    postings[gram] = null;
+                } else {
+                    postings[gram] = Arrays.copyOf(list, Math.max(kept, INITIAL_POSTING_CAPACITY));
+                    postingCapacity += postings[gram].length;
+                    postingLists++;
+                }
+                postingSizes[gram] = kept;
+            }
+
+            int capacity = Math.max(1024, Integer.highestOneBit(Math.max(1, live)) << 1);
+            String[] liveIds = new String[capacity];
+            String[] liveNames = new String[capacity];
+            String[] liveCompanies = new String[capacity];
+            int[] liveNameLengths = new int[capacity];
+            ordinals.clear();
+            companyNames.clear();
+            stringBytes = 0;
+            for (int ordinal = 0; ordinal < documents; ordinal++) {
+                int next = renumbered[ordinal];
+                if (next < 0) {
+                    continue;
+                }
+                liveIds[next] = ids[ordinal];
+                liveNames[next] = names[ordinal];
+                liveCompanies[next] = companies[ordinal] == null ? null : internCompany(companies[ordinal]);
+                liveNameLengths[next] = nameLengths[ordinal];
+                stringBytes += stringBytes(ids[ordinal]) + stringBytes(names[ordinal]);
+                ordinals.put(ids[ordinal], next);
+            }
+            ids = liveIds;
+            names = liveNames;
+            companies = liveCompanies;
+            nameLengths = liveNameLengths;
+            deleted.clear();
+            documents = live;
+            tombstones = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * A rough estimate of the heap held by the index, for the memory gauge and benchmarks.
+     * Assumes compressed object pointers. Kept as running totals, so this is constant time.
+     */
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            return 16L + 4L * GRAM_SPACE            // posting list table
+                    + 16L + 4L * GRAM_SPACE          // posting sizes
+                    + postingCapacity * 4L + postingLists * 16L
+                    + 4L * (16L + 4L * ids.length)   // id, name, company and name length columns
+                    + deleted.size() / 8
+                    + stringBytes
+                    // HashMap node, table slot and boxed ordinal per user; the id string is shared with the column.
+                    + ordinals.size() * (32L + 8L + 16L);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Counts a company name, with its map node and table slot, the first time it is seen.
+    private String internCompany(String companyName) {
+        String interned = companyNames.get(companyName);
+        if (interned == null) {
+            companyNames.put(companyName, companyName);
+            stringBytes += stringBytes(companyName) + 32L + 8L;
+            interned = companyName;
+        }
+        return interned;
+    }
+
+    private static long stringBytes(String value) {
+        return value == null ? 0 : 24L + 16L + value.length();
+    }
+
+    private int[] postingsOf(int gram) {
+        int[] list = postings[gram];
+        return list != null ? list : NO_POSTINGS;
+    }
+
+    private void append(int gram, int ordinal) {
+        int[] list = postings[gram];
+        int size = postingSizes[gram];
+        if (list == null) {
+            list = new int[INITIAL_POSTING_CAPACITY];
+            postings[gram] = list;
+            postingCapacity += list.length;
+            postingLists++;
+        } else if (size == list.length) {
+            int[] grown = Arrays.copyOf(list, size + (size >> 1) + 1);
+            postingCapacity += grown.length - list.length;
+            list = grown;
+            postings[gram] = list;
+        }
+        list[size] = ordinal;
+        postingSizes[gram] = size + 1;
+    }
+
+    /**
+     * Merges the first 'lists' posting lists into the distinct ordinals they contain,
+     * counting how many of the lists each ordinal appears in.
+     */
+    private Candidates mergeCandidates(int[] grams, int lists) {
+        int[] heads = new int[lists];
+        int expected = 0;
+        for (int i = 0; i < lists; i++) {
+            expected += postingSizes[grams[i]];
+        }
+        Candidates candidates = new Candidates(Math.min(expected, documents));
+        while (true) {
+            int min = Integer.MAX_VALUE;
+            for (int i = 0; i < lists; i++) {
+                if (heads[i] < postingSizes[grams[i]]) {
+                    min = Math.min(min, postings[grams[i]][heads[i]]);
+                }
+            }
+            if (min == Integer.MAX_VALUE) {
+                return candidates;
+            }
+            int count = 0;
+            for (int i = 0; i < lists; i++) {
+                if (heads[i] < postingSizes[grams[i]] && postings[grams[i]][heads[i]] == min) {
+                    heads[i]++;
+                    count++;
+                }
+            }
+            candidates.add(min, count);
+        }
+    }
+
+    private void sortByPostingSize(int[] grams) {
+        // Insertion sort: queries have a handful of grams.
+        for (int i = 1; i < grams.length; i++) {
+            int gram = grams[i];
+            int j = i - 1;
+            while (j >= 0 && postingSizes[grams[j]] > postingSizes[gram]) {
+                grams[j + 1] = grams[j];
+                j--;
+            }
+            grams[j + 1] = gram;
+        }
+    }
+
+    /**
+     * Packs matches (11 bits), a short-name bonus (20 bits) and the inverted ordinal (31 bits)
+     * so that a larger key is a better hit.
+     */
+    private static long rankKey(int matches, int nameLength, int ordinal) {
+        long shortness = 0xFFFFF - Math.min(0xFFFFF, nameLength);
+        return ((long) Math.min(matches, 0x7FF) << 52) | (shortness << 31) | (Integer.MAX_VALUE - ordinal);
+    }
+
+    // --- Tokenizing -------------------------------------------------------------------------
+
+    private record QueryGrams(int[] grams, int[][] words, int allowedMisses) {
+    }
+
+    private static int[] documentGrams(String... fields) {
+        GramBuffer buffer = new GramBuffer();
+        for (String field : fields) {
+            if (field == null) {
+                continue;
+            }
+            int[] codes = encode(field);
+            forEachWord(codes, (start, length) -> {
+                buffer.add(pack(BOUNDARY, codes[start], 0));
+                addTrigrams(codes, start, length, buffer);
+            });
+        }
+        return buffer.sortedUnique();
+    }
+
+    private static QueryGrams queryGrams(String query) {
+        GramBuffer buffer = new GramBuffer();
+        List<int[]> words = new ArrayList<>();
+        int[] allowedMisses = new int[1];
+        if (query != null) {
+            int[] codes = encode(query);
+            forEachWord(codes, (start, length) -> {
+                words.add(Arrays.copyOfRange(codes, start, start + length));
+                if (length == 1) {
+                    buffer.add(pack(BOUNDARY, codes[start], 0));
+                } else {
+                    addTrigrams(codes, start, length, buffer);
+                }
+                // A single edit removes up to three trigrams; allow fewer for short words so they stay precise.
+                allowedMisses[0] += Math.min(3, (length - 1) / 2);
+            });
+        }
+        return new QueryGrams(buffer.sortedUnique(), words.toArray(new int[0][]), allowedMisses[0]);
+    }
+
+    private static void addTrigrams(int[] codes, int start, int length, GramBuffer buffer) {
+        if (length < 2) {
+            return;
+        }
+        buffer.add(pack(BOUNDARY, codes[start], codes[start + 1]));
+        for (int i = start; i + 2 < start + length; i++) {
+            buffer.add(pack(codes[i], codes[i + 1], codes[i + 2]));
+        }
+    }
+
+    private static int pack(int a, int b, int c) {
+        return (a << (2 * CHAR_BITS)) | (b << CHAR_BITS) | c;
+    }
+
+    /**
+     * Lower-cases and strips accents, then maps a-z to 1-26 and 0-9 to 27-36.
+     * Every other character becomes 0, which separates words.
+     */
+    private static int[] encode(String text) {
+        if (text == null) {
+            return NO_POSTINGS;
+        }
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFD).toLowerCase(Locale.ROOT);
+        int[] codes = new int[folded.length()];
+        for (int i = 0; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            if (c >= 'a' && c <= 'z') {
+                codes[i] = c - 'a' + 1;
+            } else if (c >= '0' && c <= '9') {
+                codes[i] = c - '0' + 27;
+            }
+        }
+        return codes;
+    }
+
+    private interface WordVisitor {
+        void visit(int start, int length);
+    }
+
+    private static void forEachWord(int[] codes, WordVisitor visitor) {
+        int i = 0;
+        while (i < codes.length) {
+            if (codes[i] == 0) {
+                i++;
+                continue;
+            }
+            int start = i;
+            while (i < codes.length && codes[i] != 0) {
+                i++;
+            }
+            visitor.visit(start, i - start);
+        }
+    }
+
+    private static final class GramBuffer {
+        private int[] grams = new int[16];
+        private int size;
+
+        void add(int gram) {
+            if (size == grams.length) {
+                grams = Arrays.copyOf(grams, size * 2);
+            }
+            grams[size++] = gram;
+        }
+
+        int[] sortedUnique() {
+            Arrays.sort(grams, 0, size);
+            int unique = 0;
+            for (int i = 0; i < size; i++) {
+                if (unique == 0 || grams[unique - 1] != grams[i]) {
+                    grams[unique++] = grams[i];
+                }
+            }
+            return Arrays.copyOf(grams, unique);
+        }
+    }
+
+    // --- Primitive collections used per query -----------------------------------------------
+
+    /**
+     * Candidate ordinals in ascending order, each with the number of query grams it matched.
+     */
+    private static final class Candidates {
+        private final int[] ordinals;
+        private final int[] matches;
+        private int size;
+
+        Candidates(int capacity) {
+            ordinals = new int[capacity];
+            matches = new int[capacity];
+        }
+
+        static Candidates of(int[] list, int listSize) {
+            Candidates candidates = new Candidates(listSize);
+            System.arraycopy(list, 0, candidates.ordinals, 0, listSize);
+            candidates.size = listSize;
+            return candidates;
+        }
+
+        void add(int ordinal, int count) {
+            ordinals[size] = ordinal;
+            matches[size++] = count;
+        }
+
+        /**
+         * Counts a match for every candidate that is also in the sorted posting list.
+         */
+        void countMatchesIn(int[] list, int listSize) {
+            int position = 0;
+            for (int i = 0; i < size && position < listSize; i++) {
+                position = seek(list, listSize, position, ordinals[i]);
+                if (position < listSize && list[position] == ordinals[i]) {
+                    matches[i]++;
+                    position++;
+                }
+            }
+        }
+
+        /**
+         * Drops every candidate that is not also in the sorted posting list.
+         */
+        void retainAll(int[] list, int listSize) {
+            int kept = 0;
+            int position = 0;
+            for (int i = 0; i < size && position < listSize; i++) {
+                position = seek(list, listSize, position, ordinals[i]);
+                if (position < listSize && list[position] == ordinals[i]) {
+                    ordinals[kept++] = ordinals[i];
+                    position++;
+                }
+            }
+            size = kept;
+        }
+
+        /**
+         * @return The first position at or after 'from' whose ordinal is not below 'ordinal'.
+         * Gallops, so stretches of a long list that hold no candidate are skipped in log time.
+         */
+        private static int seek(int[] list, int listSize, int from, int ordinal) {
+            if (list[from] >= ordinal) {
+                return from;
+            }
+            int position = from;
+            int step = 1;
+            while (position + step < listSize && list[position + step] < ordinal) {
+                position += step;
+                step <<= 1;
+            }
+            int found = Arrays.binarySearch(list, position + 1, Math.min(position + step + 1, listSize), ordinal);
+            return found >= 0 ? found : -found - 1;
+        }
+    }
+
+    /**
+     * A bounded min-heap of rank keys that keeps the 'capacity' largest.
+     */
+    private static final class LongMinHeap {
+        private final long[] heap;
+        private int size;
+
+        LongMinHeap(int capacity) {
+            heap = new long[capacity];
+        }
+
+        int size() {
+            return size;
+        }
+
+        boolean accepts(long key) {
+            return size < heap.length || key > heap[0];
+        }
+
+        void offer(long key) {
+            if (size < heap.length) {
+                heap[size] = key;
+                siftUp(size++);
+            } else if (key > heap[0]) {
+                heap[0] = key;
+                siftDown(0);
+            }
+        }
+
+        long[] drainDescending() {
+            long[] sorted = new long[size];
+            for (int i = size - 1; i >= 0; i--) {
+                sorted[i] = heap[0];
+                heap[0] = heap[--size];
+                siftDown(0);
+            }
+            return sorted;
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (heap[parent] <= heap[i]) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int smallest = i;
+                int left = 2 * i + 1;
+                int right = left + 1;
+                if (left < size && heap[left] < heap[smallest]) {
+                    smallest = left;
+                }
+                if (right < size && heap[right] < heap[smallest]) {
+                    smallest = right;
+                }
+                if (smallest == i) {
+                    return;
+                }
+                swap(i, smallest);
+                i = smallest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            long tmp = heap[a];
+            heap[a] = heap[b];
+            heap[b] = tmp;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package org.alumni.search;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.alumni.event.UserSavedEvent;
+import org.alumni.model.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Keeps a {@link UserSearchIndex} in step with the users collection.
+ * The index is loaded by streaming the collection once the application is ready,
+ * and every saved user is applied to it as it is written. Replaced and removed users
+ * are compacted out of the index once they pass a share of it.
+ */
+@Service
+public class UserSearchService implements MeterBinder {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UserSearchService.class);
+
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 50;
+
+    private final MongoTemplate mongoTemplate;
+    private final UserSearchIndex index = new UserSearchIndex();
+    private final double maxTombstoneRatio;
+
+    public UserSearchService(MongoTemplate mongoTemplate,
+                             @Value("${app.search.max-tombstone-ratio:0.2}") double maxTombstoneRatio) {
+        this.mongoTemplate = mongoTemplate;
+        this.maxTombstoneRatio = maxTombstoneRatio;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.nanoTime();
+        Query query = new Query().cursorBatchSize(1000);
+        query.fields().include("name", "companyName");
+        try (Stream<User> users = mongoTemplate.stream(query, User.class)) {
+            users.forEach(this::index);
+        }
+        LOGGER.info("Indexed {} users for search in {} ms (~{} MB)", index.size(),
+                (System.nanoTime() - start) / 1_000_000L, index.estimatedBytes() / (1024 * 1024));
+    }
+
+    @EventListener
+    public void onUserSaved(UserSavedEvent event) {
+        index(event.user());
+    }
+
+    /**
+     * Re-reads one user into the index, for users saved on another node.
+     */
+    public void reindex(String userId) {
+        Query query = new Query(Criteria.where("_id").is(userId));
+        query.fields().include("name", "companyName");
+        User user = mongoTemplate.findOne(query, User.class);
+        if (user != null) {
+            index(user);
+        } else {
+            index.remove(userId);
+        }
+    }
+
+    /**
+     * Compacts the index when replaced and removed users make up more than the configured
+     * share of it, so that a long-running node's index tracks its live users.
+     */
+    @Scheduled(fixedDelayString = "${app.search.compaction-check-interval:PT5M}",
+            initialDelayString = "${app.search.compaction-check-interval:PT5M}")
+    public void compactIfNeeded() {
+        int tombstones = index.tombstones();
+        if (tombstones == 0 || tombstones <= maxTombstoneRatio * (index.size() + tombstones)) {
+            return;
+        }
+        long start = System.nanoTime();
+        long bytesBefore = index.estimatedBytes();
+        index.compact();
+        LOGGER.info("Compacted {} replaced users out of the search index in {} ms (~{} MB -> ~{} MB)", tombstones,
+                (System.nanoTime() - start) / 1_000_000L, bytesBefore / (1024 * 1024), index.estimatedBytes() / (1024 * 1024));
+    }
+
+    public List<UserSearchIndex.Hit> search(String query, int limit) {
+        return index.search(query, Math.max(1, Math.min(limit, MAX_LIMIT)));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("users.search.index.size", index, UserSearchIndex::size)
+                .description("Users held in the in-memory search index")
+                .register(registry);
+        Gauge.builder("users.search.index.tombstones", index, UserSearchIndex::tombstones)
+                .description("Replaced or removed users held in the search index until the next compaction")
+                .register(registry);
+        Gauge.builder("users.search.index.bytes", index, UserSearchIndex::estimatedBytes)
+                .description("Estimated heap held by the in-memory search index")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    private void index(User user) {
+        index.put(user.getId(), user.getName(), user.getCompanyName());
+    }
+}
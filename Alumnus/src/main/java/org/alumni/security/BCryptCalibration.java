@@ -0,0 +1,102 @@
+package org.alumni.security;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The BCrypt cost chosen for this host, together with the timings that led to it.
+ * Calibration hashes a sample password at increasing costs and keeps the highest cost
+ * whose hash time stays within the target, so the same build gives similar login latency
+ * on large and small CPUs.
+ */
+public final class BCryptCalibration implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(BCryptCalibration.class);
+
+    private static final String SAMPLE_PASSWORD = "calibration-sample-password";
+    private static final int SAMPLES_PER_COST = 3;
+
+    private final int cost;
+    private final long targetMillis;
+    private final Map<Integer, Long> timingsMillis;
+
+    private BCryptCalibration(int cost, long targetMillis, Map<Integer, Long> timingsMillis) {
+        this.cost = cost;
+        this.targetMillis = targetMillis;
+        this.timingsMillis = Collections.unmodifiableMap(timingsMillis);
+    }
+
+    /**
+     * Uses a fixed cost without measuring anything.
+     */
+    public static BCryptCalibration fixed(int cost) {
+        logger.info("Using configured BCrypt cost {}", cost);
+        return new BCryptCalibration(cost, -1, new LinkedHashMap<>());
+    }
+
+    /**
+     * Measures hash time from minCost upwards and picks the highest cost within the target.
+     * If even minCost is slower than the target, minCost is used.
+     */
+    public static BCryptCalibration calibrate(long targetMillis, int minCost, int maxCost) {
+        Map<Integer, Long> timings = new LinkedHashMap<>();
+        // Warm up the JIT so the first measured cost is not penalised.
+        BCrypt.hashpw(SAMPLE_PASSWORD, BCrypt.gensalt(4));
+
+        int chosen = minCost;
+        for (int candidate = minCost; candidate <= maxCost; candidate++) {
+            long millis = measure(candidate);
+            timings.put(candidate, millis);
+            if (millis > targetMillis) {
+                break;
+            }
+            chosen = candidate;
+        }
+
+        logger.info("Calibrated BCrypt cost {} for a target of {} ms (timings per cost in ms: {})", chosen, targetMillis, timings);
+        return new BCryptCalibration(chosen, targetMillis, timings);
+    }
+
+    private static long measure(int cost) {
+        long best = Long.MAX_VALUE;
+        String salt = BCrypt.gensalt(cost);
+        for (int i = 0; i < SAMPLES_PER_COST; i++) {
+            long start = System.nanoTime();
+            BCrypt.hashpw(SAMPLE_PASSWORD, salt);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1_000_000L;
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    public long getTargetMillis() {
+        return targetMillis;
+    }
+
+    public Map<Integer, Long> getTimingsMillis() {
+        return timingsMillis;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("auth.bcrypt.cost", this, BCryptCalibration::getCost)
+                .description("BCrypt cost used for new password hashes")
+                .register(registry);
+        timingsMillis.forEach((candidate, millis) -> Gauge.builder("auth.bcrypt.calibration", () -> millis)
+                .tag("cost", String.valueOf(candidate))
+                .description("Measured hash time at each cost during startup calibration")
+                .baseUnit("milliseconds")
+                .register(registry));
+    }
+}
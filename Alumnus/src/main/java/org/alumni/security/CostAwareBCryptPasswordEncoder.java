@@ -0,0 +1,51 @@
+package org.alumni.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * A BCrypt encoder that asks for an upgrade when a stored hash was produced with a lower
+ * cost than the current one, reading the cost from the hash itself.
+ * <p>
+ * Hashes with a higher cost are left alone. Each node calibrates its own cost, so replicas on
+ * different hardware disagree; upgrading in both directions would rehash the same password
+ * back and forth on every login, paying an extra hash and a write each time.
+ */
+public class CostAwareBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private final int strength;
+
+    public CostAwareBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        int cost = costOf(encodedPassword);
+        if (cost < 0) {
+            return super.upgradeEncoding(encodedPassword);
+        }
+        return cost < strength;
+    }
+
+    /**
+     * Reads the cost from a hash of the form "$2a$10$...".
+     * @return The cost, or -1 if the value is not a BCrypt hash.
+     */
+    static int costOf(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7
+                || encodedPassword.charAt(0) != '$' || encodedPassword.charAt(3) != '$' || encodedPassword.charAt(6) != '$') {
+            return -1;
+        }
+        char tens = encodedPassword.charAt(4);
+        char units = encodedPassword.charAt(5);
+        if (!Character.isDigit(tens) || !Character.isDigit(units)) {
+            return -1;
+        }
+        return (tens - '0') * 10 + (units - '0');
+    }
+}
@@ -0,0 +1,163 @@
+package org.alumni.security;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.alumni.dto.ErrorDetails;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The rate limit rules for the credential endpoints under /api/auth, shared by the servlet
+ * {@link RateLimitFilter} and the reactive filter so both modes enforce the same limits.
+ * Each request spends a token from a per-IP bucket and, where the body carries an email,
+ * a per-email bucket.
+ */
+@Component
+public class CredentialRateLimits {
+
+    private static final String PATH_PREFIX = "/api/auth/";
+    /** Credential request bodies are tiny; only this much is buffered to find the email. */
+    public static final int MAX_INSPECTED_BODY = 4096;
+
+    private final RateLimitProperties properties;
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+    private final SecurityEventRecorder securityEvents;
+    private final Map<String, Rule> rules = new HashMap<>();
+
+    public CredentialRateLimits(RateLimitProperties properties, RateLimiter rateLimiter,
+                                ObjectMapper objectMapper, SecurityEventRecorder securityEvents,
+                                MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+        this.securityEvents = securityEvents;
+        properties.getEndpoints().forEach((name, endpoint) ->
+                rules.put(PATH_PREFIX + name, new Rule(name, endpoint, meterRegistry)));
+    }
+
+    /**
+     * @return The rule for this request, or null if it is not rate limited.
+     */
+    public Rule ruleFor(String method, String path) {
+        if (!properties.isEnabled() || !HttpMethod.POST.matches(method)) {
+            return null;
+        }
+        return rules.get(path);
+    }
+
+    /**
+     * Counts a rejected request and builds the body of its 429 response.
+     */
+    public ErrorDetails reject(String remoteAddress, String path) {
+        securityEvents.record(SecurityEvent.RATE_LIMITED, remoteAddress);
+        return new ErrorDetails(new Date(), "Too many requests. Please try again later.", "uri=" + path);
+    }
+
+    /**
+     * @return The Retry-After value for a wait, rounded up to whole seconds.
+     */
+    public static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+    }
+
+    private static Counter counter(MeterRegistry registry, String endpoint, String outcome) {
+        return Counter.builder("auth.ratelimit.requests")
+                .description("Credential requests checked by the rate limiter")
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    /**
+     * Pulls the top-level "email" field out of a JSON body without binding the whole object.
+     * @return The lower-cased email, or null if the body has none or is not readable JSON.
+     */
+    private String readEmail(byte[] body) {
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("email".equals(field) && value == JsonToken.VALUE_STRING) {
+                    return parser.getText().trim().toLowerCase(Locale.ROOT);
+                }
+                parser.skipChildren();
+            }
+        } catch (IOException e) {
+            // Truncated or malformed; the controller will reject the body itself.
+        }
+        return null;
+    }
+
+    /**
+     * The limits of one endpoint.
+     */
+    public final class Rule {
+        private final String name;
+        private final RateLimitProperties.Endpoint endpoint;
+        private final Counter allowedCounter;
+        private final Counter rejectedByIp;
+        private final Counter rejectedByEmail;
+
+        private Rule(String name, RateLimitProperties.Endpoint endpoint, MeterRegistry registry) {
+            this.name = name;
+            this.endpoint = endpoint;
+            this.allowedCounter = counter(registry, name, "allowed");
+            this.rejectedByIp = counter(registry, name, "rejected_ip");
+            this.rejectedByEmail = counter(registry, name, "rejected_email");
+        }
+
+        /**
+         * @return Whether the body has to be inspected for a per-email limit.
+         */
+        public boolean limitsEmail() {
+            return endpoint.getPerEmail() != null;
+        }
+
+        /**
+         * @return 0 if the request is allowed, otherwise how many nanoseconds until it would be.
+         */
+        public long acquireForIp(String remoteAddress) {
+            if (endpoint.getPerIp() == null) {
+                return 0;
+            }
+            long wait = rateLimiter.tryAcquire(name + ":ip:" + remoteAddress, endpoint.getPerIp());
+            if (wait > 0) {
+                rejectedByIp.increment();
+            }
+            return wait;
+        }
+
+        /**
+         * @param bodyHead Up to {@link CredentialRateLimits#MAX_INSPECTED_BODY} bytes from the start of the request body.
+         * @return 0 if the request is allowed or names no email, otherwise how many nanoseconds until it would be.
+         */
+        public long acquireForEmail(byte[] bodyHead) {
+            String email = readEmail(bodyHead);
+            if (email == null) {
+                return 0;
+            }
+            long wait = rateLimiter.tryAcquire(name + ":email:" + email, endpoint.getPerEmail());
+            if (wait > 0) {
+                rejectedByEmail.increment();
+            }
+            return wait;
+        }
+
+        public void allowed() {
+            allowedCounter.increment();
+        }
+    }
+}
@@ -1,21 +1,49 @@
-package org.alumni.security;
-
-import org.alumni.repository.UserRepository;
-import lombok.AllArgsConstructor;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.stereotype.Service;
-
-@Service
-@AllArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
-
-    private UserRepository userRepository;
-
-    @Override
-    public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
-    }
-}
\ No newline at end of file
+package org.alumni.security;
+
+import org.alumni.event.UserCredentialsChangedEvent;
+import org.alumni.model.User;
+import org.alumni.repository.UserRepository;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+@Service
+@AllArgsConstructor
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomUserDetailsService.class);
+
+    private UserRepository userRepository;
+    private ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        return userRepository.findPrincipalByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+    }
+
+    /**
+     * Called by the authentication provider after a successful login whose stored hash
+     * was produced with a lower BCrypt cost (or without the {bcrypt} prefix).
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePasswordByEmail(user.getUsername(), newPassword);
+        logger.info("Rehashed password for {} with the current BCrypt cost", user.getUsername());
+        // Every write of the password is announced, so token caches here and on other nodes drop the user's entries.
+        eventPublisher.publishEvent(new UserCredentialsChangedEvent(user.getUsername()));
+        if (user instanceof UserPrincipal principal) {
+            return principal.withPassword(newPassword);
+        }
+        if (user instanceof User fullUser) {
+            fullUser.setPassword(newPassword);
+        }
+        return user;
+    }
+}
@@ -1,52 +1,120 @@
-package org.alumni.security;
-
-import jakarta.servlet.FilterChain;
-import jakarta.servlet.ServletException;
-import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpServletResponse;
-import lombok.AllArgsConstructor;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
-import org.springframework.stereotype.Component;
-import org.springframework.util.StringUtils;
-import org.springframework.web.filter.OncePerRequestFilter;
-
-import java.io.IOException;
-
-@Component
-@AllArgsConstructor
-public class JwtAuthenticationFilter extends OncePerRequestFilter {
-
-    private final JwtTokenProvider jwtTokenProvider;
-    private final UserDetailsService userDetailsService;
-
-    @Override
-    protected void doFilterInternal(HttpServletRequest request,
-                                    HttpServletResponse response,
-                                    FilterChain filterChain) throws ServletException, IOException {
-        String token = getTokenFromRequest(request);
-
-        if (StringUtils.hasText(token) && jwtTokenProvider.validateToken(token)) {
-            String username = jwtTokenProvider.getUsername(token);
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-            UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
-                    userDetails, null, userDetails.getAuthorities()
-            );
-            authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-            SecurityContextHolder.getContext().setAuthentication(authenticationToken);
-        }
-
-        filterChain.doFilter(request, response);
-    }
-
-    private String getTokenFromRequest(HttpServletRequest request) {
-        String bearerToken = request.getHeader("Authorization");
-        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
-            return bearerToken.substring(7);
-        }
-        return null;
-    }
-}
\ No newline at end of file
+package org.alumni.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.alumni.metrics.AuthMetrics;
+import org.alumni.model.Role;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final WebAuthenticationDetailsSource DETAILS_SOURCE = new WebAuthenticationDetailsSource();
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final UserDetailsService userDetailsService;
+    private final VerifiedTokenCache tokenCache;
+    private final RevokedTokenRegistry revokedTokens;
+    private final AuthMetrics authMetrics;
+    private final SecurityEventRecorder securityEvents;
+    private final PrincipalSource principalSource;
+
+    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider,
+                                   UserDetailsService userDetailsService,
+                                   VerifiedTokenCache tokenCache,
+                                   RevokedTokenRegistry revokedTokens,
+                                   AuthMetrics authMetrics,
+                                   SecurityEventRecorder securityEvents,
+                                   @Value("${app.security.principal-source:token}") PrincipalSource principalSource) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.userDetailsService = userDetailsService;
+        this.tokenCache = tokenCache;
+        this.revokedTokens = revokedTokens;
+        this.authMetrics = authMetrics;
+        this.securityEvents = securityEvents;
+        this.principalSource = principalSource;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long start = System.nanoTime();
+        String token = getTokenFromRequest(request);
+
+        if (!StringUtils.hasText(token)) {
+            authMetrics.recordFilter(AuthMetrics.FilterOutcome.ANONYMOUS, start);
+        } else {
+            AuthMetrics.FilterOutcome outcome;
+            UserDetails userDetails = null;
+            String tokenId = null;
+            VerifiedTokenCache.Entry cached = tokenCache.get(token);
+            if (cached != null) {
+                outcome = AuthMetrics.FilterOutcome.CACHE_HIT;
+                userDetails = cached.principal();
+                tokenId = cached.tokenId();
+            } else {
+                TokenVerification verification = jwtTokenProvider.verify(token);
+                outcome = AuthMetrics.FilterOutcome.of(verification.getStatus());
+                if (verification.isValid()) {
+                    userDetails = resolvePrincipal(verification);
+                    tokenId = verification.getTokenId();
+                    tokenCache.put(token, userDetails, tokenId, verification.getExpiration());
+                } else {
+                    securityEvents.record(SecurityEvent.of(verification.getStatus()), request.getRemoteAddr());
+                }
+            }
+            // Checked on cache hits too: a token can be revoked after it was cached.
+            if (userDetails != null && revokedTokens.isRevoked(tokenId)) {
+                outcome = AuthMetrics.FilterOutcome.REVOKED_TOKEN;
+                securityEvents.record(SecurityEvent.TOKEN_REVOKED, request.getRemoteAddr());
+                userDetails = null;
+            }
+
+            if (userDetails != null) {
+                UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
+                        userDetails, null, userDetails.getAuthorities()
+                );
+                authenticationToken.setDetails(DETAILS_SOURCE.buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+            }
+            authMetrics.recordFilter(outcome, start);
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private UserDetails resolvePrincipal(TokenVerification verification) {
+        // Tokens issued before the role claim existed still need the database lookup.
+        if (principalSource == PrincipalSource.TOKEN && verification.getRole() != null) {
+            long issuedAt = verification.getIssuedAt() != null ? verification.getIssuedAt().getTime() : 0;
+            return UserPrincipal.fromToken(verification.getUserId(), verification.getSubject(),
+                    Role.valueOf(verification.getRole()), verification.getVersion(), issuedAt);
+        }
+        UserDetails userDetails = userDetailsService.loadUserByUsername(verification.getSubject());
+        // The principal is cached and kept in the security context, neither of which needs the hash.
+        return userDetails instanceof UserPrincipal principal ? principal.withoutPassword() : userDetails;
+    }
+
+    private String getTokenFromRequest(HttpServletRequest request) {
+        String bearerToken = request.getHeader("Authorization");
+        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
+            return bearerToken.substring(7);
+        }
+        return null;
+    }
+}
@@ -1,70 +1,176 @@
-package org.alumni.security;
-
-import io.jsonwebtoken.*;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.Authentication;
-import org.springframework.stereotype.Component;
-
-import java.security.Key;
-import java.util.Date;
-
-@Component
-public class JwtTokenProvider {
-
-    private static final Logger logger = LoggerFactory.getLogger(JwtTokenProvider.class);
-
-    @Value("${app.jwt-secret}")
-    private String jwtSecret;
-
-    @Value("${app.jwt-expiration-milliseconds}")
-    private long jwtExpirationDate;
-
-    public String generateToken(Authentication authentication) {
-        String username = authentication.getName();
-        Date currentDate = new Date();
-        Date expireDate = new Date(currentDate.getTime() + jwtExpirationDate);
-
-        return Jwts.builder()
-                .setSubject(username)
-                .setIssuedAt(new Date())
-                .setExpiration(expireDate)
-                .signWith(key())
-                .compact();
-    }
-
-    private Key key() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
-    }
-
-    public String getUsername(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claims.getSubject();
-    }
-
-    public boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder()
-                    .setSigningKey(key())
-                    .build()
-                    .parse(token);
-            return true;
-        } catch (MalformedJwtException e) {
-            logger.error("Invalid JWT token: {}", e.getMessage());
-        } catch (ExpiredJwtException e) {
-            logger.error("JWT token is expired: {}", e.getMessage());
-        } catch (UnsupportedJwtException e) {
-            logger.error("JWT token is unsupported: {}", e.getMessage());
-        } catch (IllegalArgumentException e) {
-            logger.error("JWT claims string is empty: {}", e.getMessage());
-        }
-        return false;
-    }
-}
\ No newline at end of file
+package org.alumni.security;
+
+import io.jsonwebtoken.*;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import org.alumni.model.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.UUID;
+
+@Component
+public class JwtTokenProvider {
+
+    static final String USER_ID_CLAIM = "uid";
+    static final String ROLE_CLAIM = "role";
+    static final String VERSION_CLAIM = "ver";
+
+    // Far larger than any token we issue; anything longer is rejected before parsing.
+    private static final int MAX_TOKEN_LENGTH = 4096;
+    // The parser checks expiry against this fixed clock, so it never throws ExpiredJwtException;
+    // verify() compares the expiry itself instead.
+    private static final Clock NEVER_EXPIRED = () -> new Date(0);
+
+    @Value("${app.jwt-secret}")
+    private String jwtSecret;
+
+    @Value("${app.jwt-expiration-milliseconds}")
+    private long jwtExpirationDate;
+
+    // Both are immutable and thread-safe, so they are built once instead of per token.
+    private Key signingKey;
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    void init() {
+        try {
+            this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new IllegalStateException("app.jwt-secret must be a base64-encoded key of at least 32 bytes: "
+                    + e.getMessage(), e);
+        }
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .setClock(NEVER_EXPIRED)
+                .build();
+    }
+
+    public String generateToken(Authentication authentication) {
+        String username = authentication.getName();
+        Date currentDate = new Date();
+        Date expireDate = new Date(currentDate.getTime() + jwtExpirationDate);
+
+        return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
+                .setSubject(username)
+                .claim(USER_ID_CLAIM, userId(authentication))
+                .claim(ROLE_CLAIM, firstAuthority(authentication))
+                .claim(VERSION_CLAIM, version(authentication))
+                .setIssuedAt(currentDate)
+                .setExpiration(expireDate)
+                .signWith(signingKey)
+                .compact();
+    }
+
+    /**
+     * Parses and verifies the token exactly once.
+     * Rejections are neither logged nor thrown here: garbage is turned away by a structural
+     * check before jjwt sees it, and expiry is compared directly rather than caught as an
+     * exception, so the cheap and common failures cost no stack trace. Callers count
+     * rejections through {@link SecurityEventRecorder}.
+     * @param token The compact JWS taken from the Authorization header.
+     * @return The verified claims, or the reason the token was rejected.
+     */
+    public TokenVerification verify(String token) {
+        TokenVerification.Status shape = checkShape(token);
+        if (shape != TokenVerification.Status.VALID) {
+            return TokenVerification.rejected(shape);
+        }
+        try {
+            Claims claims = jwtParser.parseClaimsJws(token).getBody();
+            Date expiration = claims.getExpiration();
+            if (expiration != null && expiration.getTime() <= System.currentTimeMillis()) {
+                return TokenVerification.rejected(TokenVerification.Status.EXPIRED);
+            }
+            return TokenVerification.valid(claims.getId(), claims.getSubject(), claims.get(USER_ID_CLAIM, String.class),
+                    claims.get(ROLE_CLAIM, String.class), claims.get(VERSION_CLAIM, Long.class),
+                    claims.getIssuedAt(), expiration);
+        } catch (ExpiredJwtException e) {
+            return TokenVerification.rejected(TokenVerification.Status.EXPIRED);
+        } catch (MalformedJwtException e) {
+            return TokenVerification.rejected(TokenVerification.Status.MALFORMED);
+        } catch (UnsupportedJwtException e) {
+            return TokenVerification.rejected(TokenVerification.Status.UNSUPPORTED);
+        } catch (io.jsonwebtoken.security.SecurityException e) {
+            return TokenVerification.rejected(TokenVerification.Status.BAD_SIGNATURE);
+        } catch (JwtException | IllegalArgumentException e) {
+            return TokenVerification.rejected(TokenVerification.Status.MALFORMED);
+        }
+    }
+
+    /**
+     * @return The token's subject, or null if the token is not valid.
+     */
+    public String getUsername(String token) {
+        return verify(token).getSubject();
+    }
+
+    public boolean validateToken(String token) {
+        return verify(token).isValid();
+    }
+
+    /**
+     * A compact JWS is three non-empty base64url segments separated by dots.
+     * Checked by hand because anything else would otherwise only be found out by an exception.
+     */
+    private static TokenVerification.Status checkShape(String token) {
+        if (token == null || token.isBlank()) {
+            return TokenVerification.Status.EMPTY;
+        }
+        int length = token.length();
+        if (length > MAX_TOKEN_LENGTH) {
+            return TokenVerification.Status.MALFORMED;
+        }
+        int dots = 0;
+        int segmentLength = 0;
+        for (int i = 0; i < length; i++) {
+            char c = token.charAt(i);
+            if (c == '.') {
+                if (segmentLength == 0 || ++dots > 2) {
+                    return TokenVerification.Status.MALFORMED;
+                }
+                segmentLength = 0;
+            } else if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '-' || c == '_') {
+                segmentLength++;
+            } else {
+                return TokenVerification.Status.MALFORMED;
+            }
+        }
+        return dots == 2 && segmentLength > 0 ? TokenVerification.Status.VALID : TokenVerification.Status.MALFORMED;
+    }
+
+    private static String userId(Authentication authentication) {
+        Object principal = authentication.getPrincipal();
+        if (principal instanceof User user) {
+            return user.getId();
+        }
+        if (principal instanceof UserPrincipal userPrincipal) {
+            return userPrincipal.getId();
+        }
+        return null;
+    }
+
+    // The profile version the user had when the token was issued; documents without one are at version 0.
+    private static Long version(Authentication authentication) {
+        Object principal = authentication.getPrincipal();
+        if (principal instanceof User user) {
+            return user.getVersion() != null ? user.getVersion() : 0L;
+        }
+        if (principal instanceof UserPrincipal userPrincipal) {
+            return userPrincipal.getVersion() != null ? userPrincipal.getVersion() : 0L;
+        }
+        return null;
+    }
+
+    private static String firstAuthority(Authentication authentication) {
+        Iterator<? extends GrantedAuthority> authorities = authentication.getAuthorities().iterator();
+        return authorities.hasNext() ? authorities.next().getAuthority() : null;
+    }
+}
@@ -0,0 +1,12 @@
+package org.alumni.security;
+
+/**
+ * Where JwtAuthenticationFilter gets the principal for a verified token.
+ * Selected with the 'app.security.principal-source' property.
+ */
+public enum PrincipalSource {
+    /** Build the principal from the token's claims; no database access per request. */
+    TOKEN,
+    /** Load the full user from MongoDB on every request. */
+    DATABASE
+}
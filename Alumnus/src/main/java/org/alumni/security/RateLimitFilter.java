@@ -0,0 +1,160 @@
+package org.alumni.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.alumni.dto.ErrorDetails;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Rate limits the credential endpoints under /api/auth before any authentication work is done,
+ * using the rules in {@link CredentialRateLimits}. A request without a token is answered here
+ * with 429 and Retry-After, so it costs no hashing and no database access.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final CredentialRateLimits rateLimits;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(CredentialRateLimits rateLimits, ObjectMapper objectMapper) {
+        this.rateLimits = rateLimits;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return rateLimits.ruleFor(request.getMethod(), request.getServletPath()) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        CredentialRateLimits.Rule rule = rateLimits.ruleFor(request.getMethod(), request.getServletPath());
+
+        long wait = rule.acquireForIp(request.getRemoteAddr());
+        if (wait > 0) {
+            reject(request, response, wait);
+            return;
+        }
+
+        HttpServletRequest forwarded = request;
+        if (rule.limitsEmail()) {
+            byte[] head = request.getInputStream().readNBytes(CredentialRateLimits.MAX_INSPECTED_BODY);
+            forwarded = new PrefixedBodyRequest(request, head);
+            wait = rule.acquireForEmail(head);
+            if (wait > 0) {
+                reject(request, response, wait);
+                return;
+            }
+        }
+
+        rule.allowed();
+        filterChain.doFilter(forwarded, response);
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long waitNanos) throws IOException {
+        ErrorDetails errorDetails = rateLimits.reject(request.getRemoteAddr(), request.getRequestURI());
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(CredentialRateLimits.retryAfterSeconds(waitNanos)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorDetails);
+    }
+
+    /**
+     * Replays the bytes already read for inspection ahead of the rest of the original body.
+     */
+    static final class PrefixedBodyRequest extends HttpServletRequestWrapper {
+        private final ServletInputStream original;
+        private final ByteArrayInputStream head;
+        private final InputStream body;
+
+        PrefixedBodyRequest(HttpServletRequest request, byte[] head) throws IOException {
+            super(request);
+            this.original = request.getInputStream();
+            this.head = new ByteArrayInputStream(head);
+            this.body = new SequenceInputStream(this.head, original);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            return new ServletInputStream() {
+                @Override
+                public int read() throws IOException {
+                    return body.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    return body.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return head.available() == 0 && original.isFinished();
+                }
+
+                @Override
+                public boolean isReady() {
+                    return head.available() > 0 || original.isReady();
+                }
+
+                /**
+                 * The container drives the listener from the original stream. Bytes still buffered
+                 * here are handed over before the end of the body is reported, since the original
+                 * stream may already have been read to the end for inspection.
+                 */
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    original.setReadListener(new ReadListener() {
+                        @Override
+                        public void onDataAvailable() throws IOException {
+                            readListener.onDataAvailable();
+                        }
+
+                        @Override
+                        public void onAllDataRead() throws IOException {
+                            if (head.available() > 0) {
+                                readListener.onDataAvailable();
+                            }
+                            readListener.onAllDataRead();
+                        }
+
+                        @Override
+                        public void onError(Throwable t) {
+                            readListener.onError(t);
+                        }
+                    });
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
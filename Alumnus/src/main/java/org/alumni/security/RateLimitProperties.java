@@ -0,0 +1,43 @@
+package org.alumni.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Token-bucket limits for the credential endpoints, bound from app.security.rate-limit.*.
+ * Endpoints are keyed by their path under /api/auth, e.g. "login" or "forgot-password".
+ */
+@Data
+@ConfigurationProperties(prefix = "app.security.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /** Upper bound on the number of buckets held in memory. */
+    private long maxBuckets = 200_000;
+
+    /** Buckets not used for this long are evicted; an evicted bucket starts full again. */
+    private Duration idleTimeout = Duration.ofMinutes(30);
+
+    private Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+
+    @Data
+    public static class Endpoint {
+        /** Bucket per client IP address. */
+        private Bucket perIp;
+        /** Bucket per email in the request body, for endpoints that take one. */
+        private Bucket perEmail;
+    }
+
+    @Data
+    public static class Bucket {
+        /** Requests allowed in a burst. */
+        private int capacity;
+        /** Time for one spent request to be refilled. */
+        private Duration refillPeriod;
+    }
+}
@@ -0,0 +1,59 @@
+package org.alumni.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets held in a bounded map, using the generic cell rate algorithm:
+ * each bucket is a single AtomicLong holding the time at which it will be full again,
+ * so a check is one compare-and-set with no locking and no background refill.
+ * Idle buckets are evicted, and the map never grows past the configured size.
+ */
+@Component
+public class RateLimiter implements MeterBinder {
+
+    private final Cache<String, AtomicLong> buckets;
+
+    public RateLimiter(RateLimitProperties properties) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxBuckets())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .build();
+    }
+
+    /**
+     * Takes one token from the bucket for this key.
+     * @return 0 if the request is allowed, otherwise how many nanoseconds until it would be.
+     */
+    public long tryAcquire(String key, RateLimitProperties.Bucket limit) {
+        long interval = limit.getRefillPeriod().toNanos();
+        long burstTolerance = interval * (limit.getCapacity() - 1L);
+        AtomicLong fullAt = buckets.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+        while (true) {
+            long now = System.nanoTime();
+            long current = fullAt.get();
+            // Long.MIN_VALUE marks a new bucket; nanoTime values may be negative, so it cannot be compared directly.
+            long start = current == Long.MIN_VALUE || current - now < 0 ? now : current;
+            long wait = start - now - burstTolerance;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, start + interval)) {
+                return 0;
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("auth.ratelimit.buckets", buckets, Cache::estimatedSize)
+                .description("Rate limit buckets currently held in memory")
+                .register(registry);
+    }
+}
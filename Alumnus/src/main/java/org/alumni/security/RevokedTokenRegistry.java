@@ -0,0 +1,121 @@
+package org.alumni.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.alumni.event.TokenRevokedEvent;
+import org.alumni.model.RevokedToken;
+import org.alumni.repository.RevokedTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Answers "has this access token been revoked?" without a database round trip in the common case.
+ * Revoked token ids are stored in MongoDB and mirrored into a Bloom filter; a token whose id
+ * the filter has never seen is not revoked, and only a filter hit is confirmed against the store.
+ * The filter is rebuilt periodically from MongoDB, which also drops ids whose tokens have expired.
+ */
+@Component
+public class RevokedTokenRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(RevokedTokenRegistry.class);
+
+    // Room for growth between rebuilds, so the false positive rate holds.
+    private static final int MIN_CAPACITY = 10_000;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final double falsePositiveRate;
+    private final Counter confirmedRevoked;
+    private final Counter falsePositives;
+
+    private volatile BloomFilter filter;
+    // Ids revoked on this node since the last rebuild started, with when they were revoked.
+    private final Map<String, Long> recentlyRevoked = new HashMap<>();
+
+    public RevokedTokenRegistry(RevokedTokenRepository revokedTokenRepository,
+                                ApplicationEventPublisher eventPublisher,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.security.revocation.false-positive-rate:0.001}") double falsePositiveRate) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.eventPublisher = eventPublisher;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = BloomFilter.create(MIN_CAPACITY, falsePositiveRate);
+        this.confirmedRevoked = Counter.builder("auth.revocation.checks")
+                .description("Revocation checks that reached the store after a Bloom filter hit")
+                .tag("result", "revoked")
+                .register(meterRegistry);
+        this.falsePositives = Counter.builder("auth.revocation.checks")
+                .description("Revocation checks that reached the store after a Bloom filter hit")
+                .tag("result", "false_positive")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param tokenId The token's jti. Tokens issued without one cannot be revoked.
+     */
+    public boolean isRevoked(String tokenId) {
+        if (!mightBeRevoked(tokenId)) {
+            return false;
+        }
+        boolean revoked = revokedTokenRepository.existsById(tokenId);
+        (revoked ? confirmedRevoked : falsePositives).increment();
+        return revoked;
+    }
+
+    /**
+     * The in-memory half of {@link #isRevoked}: false means the token is certainly not revoked.
+     * Lets callers that must not block skip the store lookup in the common case.
+     */
+    public boolean mightBeRevoked(String tokenId) {
+        return tokenId != null && filter.mightContain(tokenId);
+    }
+
+    /**
+     * Revokes an access token until it expires.
+     */
+    public void revoke(String tokenId, Date expiresAt) {
+        revokedTokenRepository.save(new RevokedToken(tokenId, expiresAt));
+        markRevoked(tokenId);
+        eventPublisher.publishEvent(new TokenRevokedEvent(tokenId));
+        logger.info("Revoked access token {}", tokenId);
+    }
+
+    /**
+     * Adds an id already stored as revoked (for example by another node) to the filter.
+     */
+    public synchronized void markRevoked(String tokenId) {
+        recentlyRevoked.put(tokenId, System.currentTimeMillis());
+        filter.add(tokenId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.security.revocation.rebuild-interval:PT5M}",
+            initialDelayString = "${app.security.revocation.rebuild-interval:PT5M}")
+    public void rebuild() {
+        long startedAt = System.currentTimeMillis();
+        long count = revokedTokenRepository.count();
+        BloomFilter rebuilt = BloomFilter.create(Math.max(MIN_CAPACITY, count * 2), falsePositiveRate);
+        try (Stream<RevokedToken> revoked = revokedTokenRepository.findByExpiresAtAfter(new Date(startedAt))) {
+            revoked.forEach(token -> rebuilt.add(token.getId()));
+        }
+        synchronized (this) {
+            // Anything revoked before the rebuild started was stored before the query ran, so it is
+            // already in the new filter; anything later might not be, so carry it over.
+            recentlyRevoked.values().removeIf(revokedAt -> revokedAt < startedAt);
+            recentlyRevoked.keySet().forEach(rebuilt::add);
+            filter = rebuilt;
+        }
+        logger.debug("Rebuilt revoked token filter from {} records ({} bits)", count, rebuilt.bitCount());
+    }
+}
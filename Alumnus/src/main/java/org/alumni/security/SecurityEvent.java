@@ -0,0 +1,31 @@
+package org.alumni.security;
+
+/**
+ * Reasons a request was refused on security grounds, as counted by {@link SecurityEventRecorder}.
+ */
+public enum SecurityEvent {
+    TOKEN_EXPIRED,
+    TOKEN_MALFORMED,
+    TOKEN_UNSUPPORTED,
+    TOKEN_BAD_SIGNATURE,
+    TOKEN_EMPTY,
+    TOKEN_REVOKED,
+    LOGIN_FAILED,
+    SOCIAL_TOKEN_REJECTED,
+    REFRESH_REJECTED,
+    RATE_LIMITED;
+
+    /**
+     * @return The event for a rejected token, or null for a valid one.
+     */
+    public static SecurityEvent of(TokenVerification.Status status) {
+        return switch (status) {
+            case VALID -> null;
+            case EXPIRED -> TOKEN_EXPIRED;
+            case MALFORMED -> TOKEN_MALFORMED;
+            case UNSUPPORTED -> TOKEN_UNSUPPORTED;
+            case BAD_SIGNATURE -> TOKEN_BAD_SIGNATURE;
+            case EMPTY -> TOKEN_EMPTY;
+        };
+    }
+}
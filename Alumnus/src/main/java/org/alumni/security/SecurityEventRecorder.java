@@ -0,0 +1,95 @@
+package org.alumni.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts security events (rejected tokens, failed logins, rate limiting) by reason
+ * instead of logging each one. Every event increments a counter; only a few per second
+ * per reason are also logged, and a periodic summary reports the totals, including how
+ * many lines were suppressed. Recording an event does no string building and no I/O
+ * unless that event is one of the few that gets logged.
+ */
+@Component
+public class SecurityEventRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(SecurityEventRecorder.class);
+
+    private final Counter[] counters;
+    private final LongAdder[] sinceSummary;
+    private final LongAdder[] suppressedSinceSummary;
+    // Per reason, the earliest time (nanoTime) at which the next line may be logged.
+    private final AtomicLong[] nextLogAt;
+    private final long logIntervalNanos;
+
+    public SecurityEventRecorder(MeterRegistry meterRegistry,
+                                 @Value("${app.security.events.log-lines-per-second:1}") double logLinesPerSecond) {
+        SecurityEvent[] events = SecurityEvent.values();
+        this.counters = new Counter[events.length];
+        this.sinceSummary = new LongAdder[events.length];
+        this.suppressedSinceSummary = new LongAdder[events.length];
+        this.nextLogAt = new AtomicLong[events.length];
+        this.logIntervalNanos = (long) (1_000_000_000L / logLinesPerSecond);
+        long now = System.nanoTime();
+        for (SecurityEvent event : events) {
+            counters[event.ordinal()] = Counter.builder("security.events")
+                    .description("Requests refused on security grounds")
+                    .tag("reason", event.name().toLowerCase())
+                    .register(meterRegistry);
+            sinceSummary[event.ordinal()] = new LongAdder();
+            suppressedSinceSummary[event.ordinal()] = new LongAdder();
+            nextLogAt[event.ordinal()] = new AtomicLong(now);
+        }
+    }
+
+    public void record(SecurityEvent event) {
+        counters[event.ordinal()].increment();
+        sinceSummary[event.ordinal()].increment();
+    }
+
+    /**
+     * Records the event and logs it if this reason has not been logged too recently.
+     * The detail is only formatted when the line is actually written.
+     */
+    public void record(SecurityEvent event, Object detail) {
+        record(event);
+        if (shouldLog(event)) {
+            logger.warn("Security event {}: {}", event, detail);
+        } else {
+            suppressedSinceSummary[event.ordinal()].increment();
+        }
+    }
+
+    @Scheduled(fixedRateString = "${app.security.events.summary-interval:PT1M}",
+            initialDelayString = "${app.security.events.summary-interval:PT1M}")
+    public void logSummary() {
+        StringBuilder summary = null;
+        long suppressed = 0;
+        for (SecurityEvent event : SecurityEvent.values()) {
+            long count = sinceSummary[event.ordinal()].sumThenReset();
+            suppressed += suppressedSinceSummary[event.ordinal()].sumThenReset();
+            if (count > 0) {
+                summary = summary == null ? new StringBuilder() : summary.append(", ");
+                summary.append(event).append('=').append(count);
+            }
+        }
+        if (summary != null) {
+            logger.info("Security events since last summary: {} ({} log lines suppressed)", summary, suppressed);
+        }
+    }
+
+    private boolean shouldLog(SecurityEvent event) {
+        AtomicLong next = nextLogAt[event.ordinal()];
+        long now = System.nanoTime();
+        long allowedAt = next.get();
+        return now - allowedAt >= 0 && next.compareAndSet(allowedAt, now + logIntervalNanos);
+    }
+}
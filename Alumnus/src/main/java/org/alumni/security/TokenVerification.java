@@ -0,0 +1,66 @@
+package org.alumni.security;
+
+import lombok.Getter;
+
+import java.util.Date;
+
+/**
+ * The outcome of a single parse-and-verify pass over a JWT.
+ * Either the token was valid and the verified claims are populated,
+ * or it was rejected and {@link #getStatus()} says why.
+ */
+@Getter
+public final class TokenVerification {
+
+    public enum Status {
+        VALID,
+        EXPIRED,
+        MALFORMED,
+        UNSUPPORTED,
+        BAD_SIGNATURE,
+        EMPTY
+    }
+
+    // Rejections carry no claims, so one shared instance per status is enough.
+    private static final TokenVerification[] REJECTIONS = new TokenVerification[Status.values().length];
+
+    static {
+        for (Status status : Status.values()) {
+            REJECTIONS[status.ordinal()] = new TokenVerification(status, null, null, null, null, null, null, null);
+        }
+    }
+
+    private final Status status;
+    private final String tokenId;
+    private final String subject;
+    private final String userId;
+    private final String role;
+    private final Long version;
+    private final Date issuedAt;
+    private final Date expiration;
+
+    private TokenVerification(Status status, String tokenId, String subject, String userId, String role,
+                              Long version, Date issuedAt, Date expiration) {
+        this.status = status;
+        this.tokenId = tokenId;
+        this.subject = subject;
+        this.userId = userId;
+        this.role = role;
+        this.version = version;
+        this.issuedAt = issuedAt;
+        this.expiration = expiration;
+    }
+
+    public static TokenVerification valid(String tokenId, String subject, String userId, String role,
+                                          Long version, Date issuedAt, Date expiration) {
+        return new TokenVerification(Status.VALID, tokenId, subject, userId, role, version, issuedAt, expiration);
+    }
+
+    public static TokenVerification rejected(Status status) {
+        return REJECTIONS[status.ordinal()];
+    }
+
+    public boolean isValid() {
+        return status == Status.VALID;
+    }
+}
@@ -0,0 +1,110 @@
+package org.alumni.security;
+
+import lombok.Getter;
+import org.alumni.model.Role;
+import org.springframework.data.annotation.PersistenceCreator;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A lightweight, immutable principal holding only what authentication and authorization need.
+ * It can be rebuilt from verified JWT claims without touching the database, or read from
+ * MongoDB as a projection of the user document (see UserRepository.findPrincipalByEmail),
+ * in which case it also carries the password hash for the login check.
+ * <p>
+ * It also carries the profile version the user had at {@link #getVersionAsOf()}: when the token
+ * was issued, or when the principal was read. ProfileVersionTracker decides whether that is
+ * still current.
+ */
+@Getter
+public final class UserPrincipal implements UserDetails {
+
+    // One authority list per role, shared by every principal with that role.
+    private static final Map<Role, List<GrantedAuthority>> AUTHORITIES = new EnumMap<>(Role.class);
+
+    static {
+        for (Role role : Role.values()) {
+            AUTHORITIES.put(role, Collections.singletonList(new SimpleGrantedAuthority(role.name())));
+        }
+    }
+
+    private final String id;
+    private final String email;
+    private final Role role;
+    private final String password;
+    // Null when not known, e.g. for tokens issued before the version claim existed.
+    private final Long version;
+    private final long versionAsOf;
+
+    public UserPrincipal(String id, String email, Role role) {
+        this(id, email, role, null, null, 0);
+    }
+
+    @PersistenceCreator
+    public UserPrincipal(String id, String email, Role role, String password, Long version) {
+        this(id, email, role, password, version, System.currentTimeMillis());
+    }
+
+    private UserPrincipal(String id, String email, Role role, String password, Long version, long versionAsOf) {
+        this.id = id;
+        this.email = email;
+        this.role = role;
+        this.password = password;
+        this.version = version;
+        this.versionAsOf = versionAsOf;
+    }
+
+    /**
+     * Builds the principal from verified token claims.
+     * @param version The profile version claimed by the token, or null.
+     * @param issuedAt When the token was issued, in epoch milliseconds.
+     */
+    public static UserPrincipal fromToken(String id, String email, Role role, Long version, long issuedAt) {
+        return new UserPrincipal(id, email, role, null, version, issuedAt);
+    }
+
+    public UserPrincipal withPassword(String newPassword) {
+        return new UserPrincipal(id, email, role, newPassword, version, versionAsOf);
+    }
+
+    /**
+     * @return This principal without its password hash, for anything that outlives the login check.
+     */
+    public UserPrincipal withoutPassword() {
+        return password == null ? this : new UserPrincipal(id, email, role, null, version, versionAsOf);
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return role != null ? AUTHORITIES.get(role) : Collections.emptyList();
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() { return true; }
+
+    @Override
+    public boolean isAccountNonLocked() { return true; }
+
+    @Override
+    public boolean isCredentialsNonExpired() { return true; }
+
+    @Override
+    public boolean isEnabled() { return true; }
+
+    @Override
+    public String toString() {
+        return "UserPrincipal(id=" + id + ", email=" + email + ", role=" + role + ")";
+    }
+}
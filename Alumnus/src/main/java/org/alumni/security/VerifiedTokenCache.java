@@ -0,0 +1,179 @@
+package org.alumni.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.alumni.event.UserCredentialsChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A bounded cache of already-verified tokens and the principal they resolved to.
+ * Entries are keyed by a SHA-256 digest of the token, so raw tokens are never held,
+ * and each entry expires at the token's own expiry or the configured TTL, whichever is sooner.
+ * Reads are lock-free, so concurrent request threads never serialize on the cache.
+ * <p>
+ * The cache keys of each user's tokens are also indexed by username, so that invalidating one
+ * user touches only their own entries instead of scanning the whole cache. Keys leave the index
+ * when their entry is evicted, expires or is invalidated, so it never outgrows the cache.
+ */
+@Component
+public class VerifiedTokenCache implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(VerifiedTokenCache.class);
+
+    private final boolean enabled;
+    private final Cache<ByteBuffer, Entry> cache;
+    private final ConcurrentMap<String, Set<ByteBuffer>> keysByUser = new ConcurrentHashMap<>();
+
+    public VerifiedTokenCache(@Value("${app.security.token-cache.enabled:true}") boolean enabled,
+                              @Value("${app.security.token-cache.max-size:100000}") long maxSize,
+                              @Value("${app.security.token-cache.max-ttl:15m}") Duration maxTtl) {
+        this.enabled = enabled;
+        long maxTtlNanos = maxTtl.toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<ByteBuffer, Entry>() {
+                    @Override
+                    public long expireAfterCreate(ByteBuffer key, Entry entry, long currentTime) {
+                        long untilTokenExpiry = (entry.expiresAtMillis - System.currentTimeMillis()) * 1_000_000L;
+                        return Math.max(0, Math.min(maxTtlNanos, untilTokenExpiry));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(ByteBuffer key, Entry entry, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, entry, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(ByteBuffer key, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                // Runs on Caffeine's executor, never inside a put, so it can lock the index entry safely.
+                .removalListener((ByteBuffer key, Entry entry, RemovalCause cause) -> {
+                    // A replaced entry is the same token, so for the same user; its key stays indexed.
+                    if (key != null && entry != null && cause != RemovalCause.REPLACED) {
+                        unindex(entry.principal.getUsername(), key);
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * @return The principal and token id previously resolved for this token, or null if it is not cached.
+     */
+    public Entry get(String token) {
+        if (!enabled) {
+            return null;
+        }
+        return cache.getIfPresent(digest(token));
+    }
+
+    public void put(String token, UserDetails principal, String tokenId, Date expiration) {
+        if (!enabled || expiration == null) {
+            return;
+        }
+        ByteBuffer key = digest(token);
+        Entry entry = new Entry(principal, tokenId, expiration.getTime());
+        // Cached and indexed under the user's index entry, so an invalidation of the same user
+        // either runs first and is followed by this entry, or runs after and removes it.
+        keysByUser.compute(principal.getUsername(), (email, keys) -> {
+            Set<ByteBuffer> userKeys = keys != null ? keys : ConcurrentHashMap.newKeySet();
+            userKeys.add(key);
+            cache.put(key, entry);
+            return userKeys;
+        });
+    }
+
+    /**
+     * Drops every cached token belonging to the given user.
+     * Must be called when a user's role or password changes.
+     */
+    public void invalidateUser(String email) {
+        Set<ByteBuffer> keys = keysByUser.remove(email);
+        if (keys != null) {
+            cache.invalidateAll(keys);
+        }
+    }
+
+    public void invalidateAll() {
+        keysByUser.clear();
+        cache.invalidateAll();
+    }
+
+    @EventListener
+    public void onCredentialsChanged(UserCredentialsChangedEvent event) {
+        logger.info("Invalidating cached tokens for {}", event.email());
+        invalidateUser(event.email());
+    }
+
+    /**
+     * @return Hit, miss and eviction counters since startup.
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * @return The number of cache keys in the per-user index.
+     */
+    long indexedKeys() {
+        return keysByUser.values().stream().mapToLong(Set::size).sum();
+    }
+
+    // Only forgets the key if it has not been cached again for the user since it was removed.
+    private void unindex(String email, ByteBuffer key) {
+        keysByUser.computeIfPresent(email, (user, keys) -> {
+            if (!cache.asMap().containsKey(key)) {
+                keys.remove(key);
+            }
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "verified_tokens");
+    }
+
+    private static ByteBuffer digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return ByteBuffer.wrap(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            // Every JRE is required to provide SHA-256.
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * A verified token: the principal it resolved to and its jti, which is still checked for revocation.
+     */
+    public record Entry(UserDetails principal, String tokenId, long expiresAtMillis) {
+    }
+}
@@ -0,0 +1,238 @@
+package org.alumni.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.alumni.event.ProfileUpdatedEvent;
+import org.alumni.event.TokenRevokedEvent;
+import org.alumni.event.UserCredentialsChangedEvent;
+import org.alumni.event.UserSavedEvent;
+import org.alumni.model.InvalidationMessage;
+import org.alumni.model.InvalidationType;
+import org.alumni.search.UserSearchService;
+import org.alumni.security.RevokedTokenRegistry;
+import org.alumni.security.VerifiedTokenCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the in-process caches of every node consistent with changes made on any other node,
+ * using only MongoDB: changes are appended to a shared InvalidationLog (a capped collection,
+ * see MongoInvalidationLog) that every node follows.
+ * <p>
+ * Local changes are picked up from the application events that already announce them, queued,
+ * and inserted in one batch per flush interval, so the lag a remote node sees is bounded by
+ * the flush interval plus one cursor round trip. Each node also publishes a heartbeat so that
+ * the lag is measured continuously, not only when something changes.
+ * <p>
+ * Flushes and heartbeats run on a thread of their own rather than on the shared @Scheduled
+ * pool, where a slow job (an SMTP drain, the nightly mentor matching run) would hold them back
+ * and with them the correctness of every other node's token and profile caches.
+ */
+@Component
+public class CacheInvalidationBus implements DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    // How far back a starting node reads, to cover clock skew between nodes. Replays are harmless.
+    private static final long STARTUP_REPLAY_MILLIS = 5_000;
+    private static final int MAX_BATCH = 1_000;
+
+    private final InvalidationLog log;
+    private final VerifiedTokenCache tokenCache;
+    private final RevokedTokenRegistry revokedTokens;
+    private final UserSearchService userSearchService;
+    private final ProfileVersionTracker profileVersions;
+    private final boolean enabled;
+    private final Duration flushInterval;
+    private final Duration heartbeatInterval;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Queue<InvalidationMessage> pending = new ConcurrentLinkedQueue<>();
+    private final Timer localLag;
+    private final Timer remoteLag;
+    private final Counter publishedCounter;
+    private final Map<InvalidationType, Counter> appliedCounters = new EnumMap<>(InvalidationType.class);
+
+    private volatile boolean running;
+    private InvalidationLog.Subscription subscription;
+    private ScheduledExecutorService scheduler;
+
+    public CacheInvalidationBus(InvalidationLog log,
+                                VerifiedTokenCache tokenCache,
+                                RevokedTokenRegistry revokedTokens,
+                                UserSearchService userSearchService,
+                                ProfileVersionTracker profileVersions,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.invalidation.enabled:true}") boolean enabled,
+                                @Value("${app.invalidation.flush-interval:100ms}") Duration flushInterval,
+                                @Value("${app.invalidation.heartbeat-interval:10s}") Duration heartbeatInterval) {
+        this.log = log;
+        this.tokenCache = tokenCache;
+        this.revokedTokens = revokedTokens;
+        this.userSearchService = userSearchService;
+        this.profileVersions = profileVersions;
+        this.enabled = enabled;
+        this.flushInterval = flushInterval;
+        this.heartbeatInterval = heartbeatInterval;
+
+        this.localLag = lagTimer(meterRegistry, "local");
+        this.remoteLag = lagTimer(meterRegistry, "remote");
+        this.publishedCounter = Counter.builder("cache.invalidation.published")
+                .description("Invalidation messages published by this node")
+                .register(meterRegistry);
+        for (InvalidationType type : InvalidationType.values()) {
+            appliedCounters.put(type, Counter.builder("cache.invalidation.applied")
+                    .description("Invalidation messages from other nodes applied to local caches")
+                    .tag("type", type.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+    }
+
+    private static Timer lagTimer(MeterRegistry meterRegistry, String origin) {
+        // 'local' is this node's own messages coming back (no clock skew); 'remote' also includes skew between nodes.
+        return Timer.builder("cache.invalidation.lag")
+                .description("Time from an invalidation being queued to it being read back from the bus")
+                .tag("origin", origin)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        log.open();
+        // A tailable cursor whose query matches nothing dies at once, so the log is never followed empty.
+        long startedAt = System.currentTimeMillis();
+        log.append(List.of(message(InvalidationType.HEARTBEAT, null)));
+
+        subscription = log.follow(new Date(startedAt - STARTUP_REPLAY_MILLIS), this::onMessage);
+        running = true;
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("cache-invalidation-");
+        threadFactory.setDaemon(true);
+        scheduler = new ScheduledThreadPoolExecutor(1, threadFactory);
+        scheduler.scheduleWithFixedDelay(this::flush, flushInterval.toMillis(), flushInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+        scheduler.scheduleAtFixedRate(this::heartbeat, heartbeatInterval.toMillis(), heartbeatInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+        LOGGER.info("Cache invalidation bus started as node {}", nodeId);
+    }
+
+    @EventListener
+    public void onUserSaved(UserSavedEvent event) {
+        enqueue(InvalidationType.USER_SAVED, event.user().getId());
+    }
+
+    @EventListener
+    public void onCredentialsChanged(UserCredentialsChangedEvent event) {
+        enqueue(InvalidationType.CREDENTIALS_CHANGED, event.email());
+    }
+
+    @EventListener
+    public void onTokenRevoked(TokenRevokedEvent event) {
+        enqueue(InvalidationType.TOKEN_REVOKED, event.tokenId());
+    }
+
+    @EventListener
+    public void onProfileUpdated(ProfileUpdatedEvent event) {
+        enqueue(InvalidationType.PROFILE_UPDATED, event.userId());
+    }
+
+    void heartbeat() {
+        enqueue(InvalidationType.HEARTBEAT, null);
+    }
+
+    void flush() {
+        if (!running) {
+            return;
+        }
+        List<InvalidationMessage> batch = new ArrayList<>();
+        InvalidationMessage next;
+        while ((next = pending.poll()) != null) {
+            batch.add(next);
+            if (batch.size() == MAX_BATCH) {
+                publish(batch);
+                batch = new ArrayList<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            publish(batch);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        running = false;
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+        if (subscription != null) {
+            subscription.close();
+        }
+    }
+
+    private void enqueue(InvalidationType type, String key) {
+        if (enabled) {
+            pending.add(message(type, key));
+        }
+    }
+
+    private void publish(List<InvalidationMessage> batch) {
+        try {
+            log.append(batch);
+            publishedCounter.increment(batch.size());
+        } catch (RuntimeException e) {
+            // Put them back; they go out with the next flush. Nothing may escape, or the
+            // executor would cancel all later flushes.
+            pending.addAll(batch);
+            LOGGER.warn("Could not publish {} invalidation messages: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private void onMessage(InvalidationMessage body) {
+        boolean local = nodeId.equals(body.getOrigin());
+        long lagMillis = System.currentTimeMillis() - body.getPublishedAt().getTime();
+        (local ? localLag : remoteLag).record(Math.max(0, lagMillis), TimeUnit.MILLISECONDS);
+        if (local) {
+            return;
+        }
+
+        switch (body.getType()) {
+            case USER_SAVED -> userSearchService.reindex(body.getKey());
+            case CREDENTIALS_CHANGED -> tokenCache.invalidateUser(body.getKey());
+            case TOKEN_REVOKED -> revokedTokens.markRevoked(body.getKey());
+            case PROFILE_UPDATED -> profileVersions.markChanged(body.getKey());
+            case HEARTBEAT -> { }
+        }
+        appliedCounters.get(body.getType()).increment();
+    }
+
+    /**
+     * The time stamp is the moment the change was queued, so the measured lag includes the flush wait.
+     */
+    private InvalidationMessage message(InvalidationType type, String key) {
+        return new InvalidationMessage(null, type, key, nodeId, new Date());
+    }
+}
@@ -0,0 +1,196 @@
+package org.alumni.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.alumni.model.OutboxEmail;
+import org.alumni.model.OutboxStatus;
+import org.alumni.repository.OutboxEmailRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the email outbox in the background.
+ * Each pass claims a batch of due messages with an atomic lease, so several nodes can drain
+ * the same outbox safely, and sends the whole batch over one SMTP connection.
+ * Failed messages are retried with exponential backoff and dead-lettered after max-attempts.
+ */
+@Component
+public class EmailOutboxWorker {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmailOutboxWorker.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final OutboxEmailRepository outboxEmailRepository;
+    private final JavaMailSender emailSender;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+
+    private final AtomicLong depth = new AtomicLong();
+    private final Timer deliveryTimer;
+    private final Timer smtpTimer;
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter deadCounter;
+
+    public EmailOutboxWorker(MongoTemplate mongoTemplate,
+                             OutboxEmailRepository outboxEmailRepository,
+                             JavaMailSender emailSender,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.mail.outbox.batch-size:50}") int batchSize,
+                             @Value("${app.mail.outbox.max-attempts:8}") int maxAttempts,
+                             @Value("${app.mail.outbox.initial-backoff:30s}") Duration initialBackoff,
+                             @Value("${app.mail.outbox.max-backoff:1h}") Duration maxBackoff,
+                             @Value("${app.mail.outbox.lease:2m}") Duration lease) {
+        this.mongoTemplate = mongoTemplate;
+        this.outboxEmailRepository = outboxEmailRepository;
+        this.emailSender = emailSender;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.lease = lease;
+
+        Gauge.builder("mail.outbox.depth", depth, AtomicLong::get)
+                .description("Emails waiting in the outbox")
+                .register(meterRegistry);
+        this.deliveryTimer = Timer.builder("mail.outbox.delivery")
+                .description("Time from enqueue to successful SMTP delivery")
+                .register(meterRegistry);
+        this.smtpTimer = Timer.builder("mail.smtp.send")
+                .description("Time to send one batch over a single SMTP connection")
+                .register(meterRegistry);
+        this.sentCounter = Counter.builder("mail.outbox.sent").register(meterRegistry);
+        this.retriedCounter = Counter.builder("mail.outbox.retried").register(meterRegistry);
+        this.deadCounter = Counter.builder("mail.outbox.dead").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval:PT1S}")
+    public void drain() {
+        List<OutboxEmail> batch;
+        do {
+            batch = claimBatch();
+            if (!batch.isEmpty()) {
+                deliver(batch);
+            }
+        } while (batch.size() == batchSize);
+        depth.set(outboxEmailRepository.countByStatus(OutboxStatus.PENDING));
+    }
+
+    private List<OutboxEmail> claimBatch() {
+        Instant now = Instant.now();
+        Query due = new Query(new Criteria().orOperator(
+                Criteria.where("status").is(OutboxStatus.PENDING).and("nextAttemptAt").lte(now),
+                Criteria.where("status").is(OutboxStatus.SENDING).and("lockedUntil").lte(now)))
+                .with(Sort.by("nextAttemptAt"));
+        Update claim = new Update()
+                .set("status", OutboxStatus.SENDING)
+                .set("lockedUntil", now.plus(lease))
+                .inc("attempts", 1);
+
+        List<OutboxEmail> batch = new ArrayList<>(batchSize);
+        while (batch.size() < batchSize) {
+            OutboxEmail claimed = mongoTemplate.findAndModify(due, claim,
+                    FindAndModifyOptions.options().returnNew(true), OutboxEmail.class);
+            if (claimed == null) {
+                break;
+            }
+            batch.add(claimed);
+        }
+        return batch;
+    }
+
+    private void deliver(List<OutboxEmail> batch) {
+        Map<SimpleMailMessage, OutboxEmail> byMessage = new IdentityHashMap<>(batch.size());
+        for (OutboxEmail email : batch) {
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setFrom(email.getFrom());
+            message.setTo(email.getTo());
+            message.setSubject(email.getSubject());
+            message.setText(email.getBody());
+            byMessage.put(message, email);
+        }
+
+        Map<Object, Exception> failures = Map.of();
+        long sendStart = System.nanoTime();
+        try {
+            // JavaMailSenderImpl sends every message of one call over a single connection.
+            emailSender.send(byMessage.keySet().toArray(new SimpleMailMessage[0]));
+        } catch (MailSendException e) {
+            failures = e.getFailedMessages();
+        } catch (MailException e) {
+            LOGGER.warn("Could not deliver a batch of {} emails: {}", batch.size(), e.getMessage());
+            Map<Object, Exception> all = new IdentityHashMap<>();
+            byMessage.keySet().forEach(message -> all.put(message, e));
+            failures = all;
+        }
+        smtpTimer.record(System.nanoTime() - sendStart, TimeUnit.NANOSECONDS);
+
+        Instant now = Instant.now();
+        BulkOperations updates = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, OutboxEmail.class);
+        for (Map.Entry<SimpleMailMessage, OutboxEmail> entry : byMessage.entrySet()) {
+            OutboxEmail email = entry.getValue();
+            Query byId = Query.query(Criteria.where("_id").is(email.getId()));
+            Exception failure = failures.get(entry.getKey());
+            if (failure == null) {
+                updates.updateOne(byId, new Update()
+                        .set("status", OutboxStatus.SENT)
+                        .set("sentAt", now)
+                        .unset("lockedUntil")
+                        .unset("lastError"));
+                deliveryTimer.record(Duration.between(email.getCreatedAt(), now));
+                sentCounter.increment();
+            } else if (email.getAttempts() >= maxAttempts) {
+                updates.updateOne(byId, new Update()
+                        .set("status", OutboxStatus.DEAD)
+                        .set("lastError", failure.getMessage())
+                        .unset("lockedUntil"));
+                LOGGER.error("Giving up on email {} to {} after {} attempts: {}",
+                        email.getId(), email.getTo(), email.getAttempts(), failure.getMessage());
+                deadCounter.increment();
+            } else {
+                updates.updateOne(byId, new Update()
+                        .set("status", OutboxStatus.PENDING)
+                        .set("nextAttemptAt", now.plus(backoff(email.getAttempts())))
+                        .set("lastError", failure.getMessage())
+                        .unset("lockedUntil"));
+                retriedCounter.increment();
+            }
+        }
+        updates.execute();
+    }
+
+    private Duration backoff(int attempts) {
+        // initial, 2x, 4x, ... capped at max-backoff
+        int shift = Math.min(attempts - 1, 30);
+        Duration delay = initialBackoff.multipliedBy(1L << shift);
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+}
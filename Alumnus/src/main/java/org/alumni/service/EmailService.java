@@ -1,28 +1,43 @@
-package org.alumni.service;
-
-import lombok.AllArgsConstructor;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.stereotype.Service;
-
-@Service
-@AllArgsConstructor
-public class EmailService {
-
-    private final JavaMailSender emailSender;
-
-    public void sendPasswordResetEmail(String to, String name, String resetLink) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setFrom("noreply@alumniconnect.com"); // Can be configured
-        message.setTo(to);
-        message.setSubject("Alumni Connect - Password Reset Request");
-        message.setText(
-                "Hello " + name + ",\n\n" +
-                        "You have requested to reset your password. Please click the link below to proceed:\n" +
-                        resetLink + "\n\n" +
-                        "If you did not request this, please ignore this email.\n\n" +
-                        "Best regards,\nThe Alumni Connect Team"
-        );
-        emailSender.send(message);
-    }
-}
\ No newline at end of file
+package org.alumni.service;
+
+import lombok.AllArgsConstructor;
+import org.alumni.model.OutboxEmail;
+import org.alumni.model.OutboxStatus;
+import org.alumni.repository.OutboxEmailRepository;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+
+/**
+ * Queues outgoing email in the Mongo-backed outbox and returns immediately.
+ * Delivery happens in the background in EmailOutboxWorker, so no request waits on SMTP.
+ */
+@Service
+@AllArgsConstructor
+public class EmailService {
+
+    private final OutboxEmailRepository outboxEmailRepository;
+
+    public void sendPasswordResetEmail(String to, String name, String resetLink) {
+        enqueue(to,
+                "Alumni Connect - Password Reset Request",
+                "Hello " + name + ",\n\n" +
+                        "You have requested to reset your password. Please click the link below to proceed:\n" +
+                        resetLink + "\n\n" +
+                        "If you did not request this, please ignore this email.\n\n" +
+                        "Best regards,\nThe Alumni Connect Team");
+    }
+
+    private void enqueue(String to, String subject, String body) {
+        Instant now = Instant.now();
+        OutboxEmail email = new OutboxEmail();
+        email.setFrom("noreply@alumniconnect.com"); // Can be configured
+        email.setTo(to);
+        email.setSubject(subject);
+        email.setBody(body);
+        email.setStatus(OutboxStatus.PENDING);
+        email.setCreatedAt(now);
+        email.setNextAttemptAt(now);
+        outboxEmailRepository.insert(email);
+    }
+}
@@ -0,0 +1,33 @@
+package org.alumni.service;
+
+import org.alumni.model.InvalidationMessage;
+
+import java.util.Date;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * The shared, append-only log that CacheInvalidationBus publishes to and follows.
+ * Every node appends to the same log and every node is delivered every message, its own included.
+ */
+public interface InvalidationLog {
+
+    /**
+     * Makes sure the log exists before the first append. Safe to call from every node.
+     */
+    void open();
+
+    void append(List<InvalidationMessage> messages);
+
+    /**
+     * Delivers every message published at or after {@code since}, then every message appended
+     * later, until the returned subscription is closed. Delivery may happen on any thread.
+     */
+    Subscription follow(Date since, Consumer<InvalidationMessage> listener);
+
+    interface Subscription extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
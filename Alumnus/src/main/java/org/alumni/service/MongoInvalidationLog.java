@@ -0,0 +1,105 @@
+package org.alumni.service;
+
+import org.alumni.model.InvalidationMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.messaging.ChangeStreamRequest;
+import org.springframework.data.mongodb.core.messaging.DefaultMessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.Message;
+import org.springframework.data.mongodb.core.messaging.MessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.SubscriptionRequest;
+import org.springframework.data.mongodb.core.messaging.TailableCursorRequest;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * The invalidation log as a capped MongoDB collection, followed with a tailable cursor, or with
+ * a change stream when running against a replica set.
+ */
+@Component
+public class MongoInvalidationLog implements InvalidationLog {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MongoInvalidationLog.class);
+
+    public enum Mode {
+        TAILABLE,
+        CHANGE_STREAM
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final Mode mode;
+    private final long cappedSizeBytes;
+    private final long cappedMaxDocuments;
+
+    public MongoInvalidationLog(MongoTemplate mongoTemplate,
+                                @Value("${app.invalidation.mode:tailable}") Mode mode,
+                                @Value("${app.invalidation.capped-size-bytes:16777216}") long cappedSizeBytes,
+                                @Value("${app.invalidation.capped-max-documents:100000}") long cappedMaxDocuments) {
+        this.mongoTemplate = mongoTemplate;
+        this.mode = mode;
+        this.cappedSizeBytes = cappedSizeBytes;
+        this.cappedMaxDocuments = cappedMaxDocuments;
+    }
+
+    @Override
+    public void open() {
+        if (mongoTemplate.collectionExists(InvalidationMessage.class)) {
+            return;
+        }
+        try {
+            mongoTemplate.createCollection(InvalidationMessage.class,
+                    CollectionOptions.empty().capped().size(cappedSizeBytes).maxDocuments(cappedMaxDocuments));
+        } catch (DataAccessException e) {
+            // Another node created it first.
+            LOGGER.debug("Invalidation collection already exists: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void append(List<InvalidationMessage> messages) {
+        mongoTemplate.insert(messages, InvalidationMessage.class);
+    }
+
+    /**
+     * A tailable cursor whose query matches nothing dies at once, so append something first.
+     */
+    @Override
+    public Subscription follow(Date since, Consumer<InvalidationMessage> listener) {
+        MessageListenerContainer container = new DefaultMessageListenerContainer(mongoTemplate);
+        container.register(subscription(since, listener), InvalidationMessage.class);
+        container.start();
+        LOGGER.info("Following the invalidation log in {} mode", mode);
+        return container::stop;
+    }
+
+    private SubscriptionRequest<?, InvalidationMessage, ? extends SubscriptionRequest.RequestOptions> subscription(
+            Date since, Consumer<InvalidationMessage> listener) {
+        String collection = mongoTemplate.getCollectionName(InvalidationMessage.class);
+        if (mode == Mode.CHANGE_STREAM) {
+            return ChangeStreamRequest.<InvalidationMessage>builder(message -> deliver(message, listener))
+                    .collection(collection)
+                    .filter(Aggregation.newAggregation(Aggregation.match(Criteria.where("operationType").is("insert"))))
+                    .build();
+        }
+        return TailableCursorRequest.<InvalidationMessage>builder(message -> deliver(message, listener))
+                .collection(collection)
+                .filter(new Query(Criteria.where("publishedAt").gte(since)))
+                .build();
+    }
+
+    private static void deliver(Message<?, InvalidationMessage> message, Consumer<InvalidationMessage> listener) {
+        if (message.getBody() != null) {
+            listener.accept(message.getBody());
+        }
+    }
+}
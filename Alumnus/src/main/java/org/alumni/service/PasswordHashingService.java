@@ -0,0 +1,139 @@
+package org.alumni.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.alumni.exception.ServiceBusyException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs password hashing and verification on a dedicated pool sized to the CPU count,
+ * so a burst of logins cannot tie up every request thread.
+ * The pool deliberately stays on platform threads even in virtual-thread mode:
+ * BCrypt is pure CPU work, and the bound is what provides the backpressure.
+ * Work is admitted into a bounded queue; once it is full, callers are rejected
+ * immediately with a {@link ServiceBusyException} (503 + Retry-After).
+ */
+@Service
+public class PasswordHashingService implements DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PasswordHashingService.class);
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Executor continuationExecutor;
+    private final long retryAfterSeconds;
+
+    private final Timer queueWaitTimer;
+    private final Timer taskTimer;
+    private final Counter rejectedCounter;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  MeterRegistry meterRegistry,
+                                  @Qualifier("applicationTaskExecutor") Executor continuationExecutor,
+                                  @Value("${app.security.hashing.threads:0}") int threads,
+                                  @Value("${app.security.hashing.queue-capacity:256}") int queueCapacity,
+                                  @Value("${app.security.hashing.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.passwordEncoder = passwordEncoder;
+        this.continuationExecutor = continuationExecutor;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("password-hashing-");
+        threadFactory.setDaemon(true);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        LOGGER.info("Password hashing pool started with {} threads and a queue of {}", poolSize, queueCapacity);
+
+        Gauge.builder("auth.password.queue.depth", executor, e -> e.getQueue().size())
+                .description("Password hashing tasks waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing tasks currently running")
+                .register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("auth.password.queue.wait")
+                .description("Time a password hashing task spent queued")
+                .register(meterRegistry);
+        this.taskTimer = Timer.builder("auth.password.task")
+                .description("Time spent running a password hashing task")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("auth.password.rejected")
+                .description("Password hashing tasks rejected because the queue was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Hashes a raw password on the hashing pool.
+     */
+    public CompletableFuture<String> encode(CharSequence rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Runs a task that is dominated by password hashing or verification
+     * (for example a full AuthenticationManager.authenticate call) on the hashing pool.
+     * The returned future completes on the application task executor, so follow-up work
+     * such as a Mongo write never occupies a hashing thread.
+     * @throws ServiceBusyException if the admission queue is full.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        long enqueuedAt = System.nanoTime();
+        CompletableFuture<T> hashed;
+        try {
+            hashed = CompletableFuture.supplyAsync(() -> {
+                queueWaitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                return taskTimer.record(task);
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new ServiceBusyException("The server is busy. Please try again shortly.", retryAfterSeconds);
+        }
+        return handOverToContinuationExecutor(hashed);
+    }
+
+    /**
+     * Completes the returned future from the continuation executor with the outcome of the hashing
+     * task, success or failure alike, so that whatever the caller chains on runs there and not on
+     * the hashing thread that finished the task.
+     */
+    private <T> CompletableFuture<T> handOverToContinuationExecutor(CompletableFuture<T> hashed) {
+        CompletableFuture<T> handedOver = new CompletableFuture<>();
+        hashed.whenComplete((result, failure) -> {
+            Runnable complete = () -> {
+                if (failure != null) {
+                    handedOver.completeExceptionally(failure);
+                } else {
+                    handedOver.complete(result);
+                }
+            };
+            try {
+                continuationExecutor.execute(complete);
+            } catch (RejectedExecutionException e) {
+                // Shutting down; complete here rather than leave the caller waiting.
+                complete.run();
+            }
+        });
+        return handedOver;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,185 @@
+package org.alumni.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.alumni.dto.ProfileResponse;
+import org.alumni.dto.ProfileUpdateRequest;
+import org.alumni.event.ProfileUpdatedEvent;
+import org.alumni.event.UserCredentialsChangedEvent;
+import org.alumni.event.UserSavedEvent;
+import org.alumni.exception.AppApiException;
+import org.alumni.model.User;
+import org.alumni.repository.UserRepository;
+import org.alumni.security.UserPrincipal;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+/**
+ * Reads and updates the signed-in user's own profile with HTTP validators.
+ * <p>
+ * The ETag is the user id and the profile version, which the user document keeps in a
+ * {@code @Version} field. A conditional read whose ETag still matches is answered from the
+ * version alone: taken from the access token when {@link ProfileVersionTracker} says it is
+ * current, otherwise read from MongoDB as a single-field projection. The profile itself is only
+ * read and serialized when it has changed. Updates must name the version they were based on.
+ */
+@Service
+public class ProfileService {
+
+    private final UserRepository userRepository;
+    private final ProfileVersionTracker profileVersions;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Counter notModifiedFromTokenCounter;
+    private final Counter notModifiedFromDatabaseCounter;
+    private final Counter fullReadCounter;
+
+    public ProfileService(UserRepository userRepository,
+                          ProfileVersionTracker profileVersions,
+                          ApplicationEventPublisher eventPublisher,
+                          MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.profileVersions = profileVersions;
+        this.eventPublisher = eventPublisher;
+        this.notModifiedFromTokenCounter = readsCounter(meterRegistry, "not-modified-token");
+        this.notModifiedFromDatabaseCounter = readsCounter(meterRegistry, "not-modified-database");
+        this.fullReadCounter = readsCounter(meterRegistry, "full");
+    }
+
+    private static Counter readsCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("profile.reads")
+                .description("Profile reads by how they were answered")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * The outcome of a profile read.
+     * @param profile The profile, or null if the client's copy is still current.
+     */
+    public record ProfileRead(ProfileResponse profile, String etag) {
+
+        public boolean notModified() {
+            return profile == null;
+        }
+    }
+
+    /**
+     * @param ifNoneMatch The If-None-Match header, or null for an unconditional read.
+     */
+    public ProfileRead read(UserPrincipal principal, String ifNoneMatch) {
+        String userId = principal.getId();
+        if (ifNoneMatch != null) {
+            Long version = profileVersions.currentVersion(principal);
+            boolean fromToken = version != null;
+            if (version == null) {
+                version = userRepository.findVersionById(userId);
+                if (version == null) {
+                    throw notFound();
+                }
+            }
+            String etag = etag(userId, version);
+            if (matchesAny(ifNoneMatch, etag)) {
+                (fromToken ? notModifiedFromTokenCounter : notModifiedFromDatabaseCounter).increment();
+                return new ProfileRead(null, etag);
+            }
+        }
+        User user = userRepository.findProfileById(userId);
+        if (user == null) {
+            throw notFound();
+        }
+        fullReadCounter.increment();
+        return new ProfileRead(toResponse(user), etag(user));
+    }
+
+    /**
+     * Replaces the editable profile fields if the profile is still at the version named by If-Match.
+     * @param ifMatch The If-Match header, which is required.
+     * @throws AppApiException 428 without If-Match, 412 if the profile has changed since.
+     */
+    public ProfileRead update(UserPrincipal principal, String ifMatch, ProfileUpdateRequest request) {
+        if (ifMatch == null) {
+            throw new AppApiException(HttpStatus.PRECONDITION_REQUIRED, "Profile updates require an If-Match header.");
+        }
+        long expectedVersion = parseVersion(principal.getId(), ifMatch);
+        User updated = userRepository.updateProfile(principal.getId(), expectedVersion, request);
+        if (updated == null) {
+            if (userRepository.findVersionById(principal.getId()) == null) {
+                throw notFound();
+            }
+            throw stale();
+        }
+        long version = updated.getVersion();
+        profileVersions.recordVersion(updated.getId(), version);
+        eventPublisher.publishEvent(new ProfileUpdatedEvent(updated.getId(), version));
+        // Keeps the search index in step with the new name and company.
+        eventPublisher.publishEvent(new UserSavedEvent(updated));
+        // With principal-source=database, cached tokens hold the principal read from MongoDB,
+        // including the old profile version; drop them so the next request reloads it.
+        eventPublisher.publishEvent(new UserCredentialsChangedEvent(principal.getUsername()));
+        return new ProfileRead(toResponse(updated), etag(updated.getId(), version));
+    }
+
+    private static String etag(User user) {
+        return etag(user.getId(), user.getVersion() != null ? user.getVersion() : 0);
+    }
+
+    // Includes the id so that one browser switching accounts can never revalidate another user's copy.
+    private static String etag(String userId, long version) {
+        return "\"" + userId + "-" + version + "\"";
+    }
+
+    /**
+     * If-None-Match uses the weak comparison, so a "W/" prefix added by a proxy still matches.
+     */
+    private static boolean matchesAny(String ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag) || tag.equals("*")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // If-Match uses the strong comparison: only one of our own tags for this user is accepted.
+    private static long parseVersion(String userId, String ifMatch) {
+        String prefix = "\"" + userId + "-";
+        String tag = ifMatch.trim();
+        if (tag.startsWith(prefix) && tag.endsWith("\"") && tag.length() > prefix.length() + 1) {
+            try {
+                return Long.parseLong(tag.substring(prefix.length(), tag.length() - 1));
+            } catch (NumberFormatException e) {
+                // Falls through to the precondition failure below.
+            }
+        }
+        throw stale();
+    }
+
+    private static ProfileResponse toResponse(User user) {
+        ProfileResponse response = new ProfileResponse();
+        response.setId(user.getId());
+        response.setName(user.getName());
+        response.setEmail(user.getEmail());
+        response.setPhone(user.getPhone());
+        response.setRole(user.getRole() != null ? user.getRole().name() : null);
+        response.setCompanyName(user.getCompanyName());
+        response.setCompanyRole(user.getCompanyRole());
+        response.setCollegeName(user.getCollegeName());
+        response.setBranch(user.getBranch());
+        response.setCollegeId(user.getCollegeId());
+        return response;
+    }
+
+    private static AppApiException notFound() {
+        return new AppApiException(HttpStatus.NOT_FOUND, "User not found.");
+    }
+
+    private static AppApiException stale() {
+        return new AppApiException(HttpStatus.PRECONDITION_FAILED,
+                "The profile has changed since it was read. Fetch it again and retry.");
+    }
+}
@@ -0,0 +1,89 @@
+package org.alumni.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.alumni.security.UserPrincipal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides whether the profile version a principal carries (from its token's 'ver' claim) is
+ * still current, so a conditional profile read can be answered without asking MongoDB.
+ * <p>
+ * A claimed version is stale only if the profile changed after the token was issued. Every
+ * profile change is recorded here for as long as a token issued before it can still be valid:
+ * with its new version when it happened on this node, or as "changed, version unknown" when
+ * another node announced it on the invalidation bus. Changes from before this node started,
+ * or evicted from the table when it is full, are covered by not trusting tokens issued before
+ * that moment. Another node's change is seen here after the bus lag, typically well under a second.
+ */
+@Component
+public class ProfileVersionTracker {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProfileVersionTracker.class);
+
+    // The profile changed on another node; its current version has to be read from MongoDB.
+    private static final long UNKNOWN = -1;
+    // Token issue times are whole seconds, so a token "issued" at the watermark may predate it.
+    private static final long ISSUED_AT_PRECISION_MILLIS = 1_000;
+    // Covers logins that read the old version just before a change but were issued just after it.
+    private static final long RETENTION_MARGIN_MILLIS = 60_000;
+
+    private final boolean trustPrincipalVersions;
+    private final Cache<String, Long> changes;
+    // Principals whose version predates this are not trusted; starts at the node's start time.
+    private final AtomicLong trustedSinceMillis = new AtomicLong(System.currentTimeMillis());
+
+    public ProfileVersionTracker(@Value("${app.profile.trust-token-version:true}") boolean trustPrincipalVersions,
+                                 @Value("${app.profile.tracker.max-size:100000}") long maxSize,
+                                 @Value("${app.jwt-expiration-milliseconds}") long tokenLifetimeMillis) {
+        this.trustPrincipalVersions = trustPrincipalVersions;
+        this.changes = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(tokenLifetimeMillis + RETENTION_MARGIN_MILLIS))
+                .evictionListener((String userId, Long version, RemovalCause cause) -> {
+                    if (cause == RemovalCause.SIZE) {
+                        // The change is forgotten, so no token issued before now can be trusted.
+                        trustedSinceMillis.accumulateAndGet(System.currentTimeMillis(), Math::max);
+                    }
+                })
+                .build();
+        LOGGER.info("Profile versions from tokens are {}", trustPrincipalVersions ? "trusted" : "not trusted");
+    }
+
+    /**
+     * Records a profile change made on this node.
+     */
+    public void recordVersion(String userId, long version) {
+        // Versions only grow, so a late record never hides a newer one.
+        changes.asMap().merge(userId, version, Math::max);
+    }
+
+    /**
+     * Records a profile change made on another node.
+     */
+    public void markChanged(String userId) {
+        changes.put(userId, UNKNOWN);
+    }
+
+    /**
+     * @return The user's current profile version if it is known without reading MongoDB, otherwise null.
+     */
+    public Long currentVersion(UserPrincipal principal) {
+        Long changed = changes.getIfPresent(principal.getId());
+        if (changed != null) {
+            return changed == UNKNOWN ? null : changed;
+        }
+        if (trustPrincipalVersions && principal.getVersion() != null
+                && principal.getVersionAsOf() >= trustedSinceMillis.get() + ISSUED_AT_PRECISION_MILLIS) {
+            return principal.getVersion();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,124 @@
+package org.alumni.service;
+
+import org.alumni.exception.AppApiException;
+import org.alumni.model.RefreshToken;
+import org.alumni.repository.RefreshTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Issues and rotates opaque refresh tokens.
+ * A refresh token is 256 random bits; MongoDB only ever sees its SHA-256.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final MongoTemplate mongoTemplate;
+    private final Duration ttl;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               MongoTemplate mongoTemplate,
+                               @Value("${app.security.refresh-token.ttl:30d}") Duration ttl) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Starts a new token family for a fresh login.
+     * @return The refresh token to hand to the client.
+     */
+    public String issue(String email) {
+        return issue(email, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Uses up a refresh token.
+     * @return The consumed token, which names the user and the family to continue.
+     * @throws AppApiException 401 if the token is unknown, expired or already used.
+     * Reuse of an already-used token also revokes every token in its family.
+     */
+    public RefreshToken consume(String token) {
+        String id = hash(token);
+        Date now = new Date();
+        Query unused = new Query(Criteria.where("_id").is(id).and("usedAt").is(null).and("expiresAt").gt(now));
+        RefreshToken consumed = mongoTemplate.findAndModify(unused, new Update().set("usedAt", now),
+                FindAndModifyOptions.options().returnNew(true), RefreshToken.class);
+        if (consumed != null) {
+            return consumed;
+        }
+
+        refreshTokenRepository.findById(id)
+                .filter(existing -> existing.getUsedAt() != null)
+                .ifPresent(reused -> {
+                    LOGGER.warn("Refresh token reuse detected for {}; revoking its token family", reused.getEmail());
+                    refreshTokenRepository.deleteByFamilyId(reused.getFamilyId());
+                });
+        throw new AppApiException(HttpStatus.UNAUTHORIZED, "Refresh token is invalid or expired.");
+    }
+
+    /**
+     * Issues the next token in the family of one just consumed.
+     */
+    public String rotate(RefreshToken consumed) {
+        return issue(consumed.getEmail(), consumed.getFamilyId());
+    }
+
+    /**
+     * Ends the session the refresh token belongs to. Unknown tokens are ignored.
+     */
+    public void revokeFamily(String token) {
+        refreshTokenRepository.findById(hash(token))
+                .ifPresent(existing -> refreshTokenRepository.deleteByFamilyId(existing.getFamilyId()));
+    }
+
+    private String issue(String email, String familyId) {
+        byte[] secret = new byte[32];
+        RANDOM.nextBytes(secret);
+        String token = ENCODER.encodeToString(secret);
+
+        Date now = new Date();
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setId(hash(token));
+        refreshToken.setFamilyId(familyId);
+        refreshToken.setEmail(email);
+        refreshToken.setCreatedAt(now);
+        refreshToken.setExpiresAt(new Date(now.getTime() + ttl.toMillis()));
+        refreshTokenRepository.insert(refreshToken);
+        return token;
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            // Every JRE is required to provide SHA-256.
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package org.alumni.service;
+
+import org.alumni.dto.SignUpRequest;
+import org.alumni.model.Role;
+import org.alumni.model.User;
+
+/**
+ * Maps a sign-up request onto a new User, copying only the fields relevant to its role.
+ * Shared by single registration and bulk import so both produce identical documents.
+ */
+public final class SignUpMapper {
+
+    private SignUpMapper() {
+    }
+
+    /**
+     * @return A new User without a password; the caller hashes and sets it.
+     * @throws IllegalArgumentException if the requested role does not exist.
+     */
+    public static User toUser(SignUpRequest signUpRequest) {
+        User user = new User();
+        user.setName(signUpRequest.getName());
+        user.setEmail(signUpRequest.getEmail());
+        user.setPhone(signUpRequest.getPhone());
+        user.setRole(Role.fromName(signUpRequest.getRole()));
+
+        switch (user.getRole()) {
+            case ROLE_ALUMNI:
+                user.setCompanyName(signUpRequest.getCompanyName());
+                user.setCompanyRole(signUpRequest.getCompanyRole());
+                break;
+            case ROLE_STUDENT:
+                user.setCollegeName(signUpRequest.getCollegeName());
+                user.setBranch(signUpRequest.getBranch());
+                user.setCollegeId(signUpRequest.getCollegeId());
+                break;
+            case ROLE_ADMIN:
+                break;
+        }
+        return user;
+    }
+}
@@ -0,0 +1,61 @@
+package org.alumni.service;
+
+import lombok.AllArgsConstructor;
+import org.alumni.dto.DirectoryEntry;
+import org.alumni.dto.DirectoryFilter;
+import org.alumni.dto.DirectoryPage;
+import org.alumni.exception.AppApiException;
+import org.alumni.repository.UserRepository;
+import org.bson.types.ObjectId;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Pages through the alumni directory with an opaque continuation cursor.
+ * The cursor wraps the id of the last entry returned, so each page is an index seek rather than a skip.
+ */
+@Service
+@AllArgsConstructor
+public class UserDirectoryService {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final Base64.Encoder CURSOR_ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder CURSOR_DECODER = Base64.getUrlDecoder();
+
+    private final UserRepository userRepository;
+
+    public DirectoryPage search(DirectoryFilter filter, String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        String afterId = cursor == null ? null : decodeCursor(cursor);
+
+        // Ask for one extra entry to find out whether another page exists without a count query.
+        List<DirectoryEntry> entries = userRepository.findDirectoryPage(filter, afterId, limit + 1);
+        if (entries.size() <= limit) {
+            return new DirectoryPage(entries, null);
+        }
+        List<DirectoryEntry> page = entries.subList(0, limit);
+        return new DirectoryPage(page, encodeCursor(page.get(limit - 1).getId()));
+    }
+
+    private static String encodeCursor(String id) {
+        return CURSOR_ENCODER.encodeToString(id.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static String decodeCursor(String cursor) {
+        try {
+            String id = new String(CURSOR_DECODER.decode(cursor), StandardCharsets.US_ASCII);
+            if (ObjectId.isValid(id)) {
+                return id;
+            }
+        } catch (IllegalArgumentException ignored) {
+            // fall through to the error below
+        }
+        throw new AppApiException(HttpStatus.BAD_REQUEST, "Invalid directory cursor.");
+    }
+}
@@ -0,0 +1,95 @@
+package org.alumni.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import org.alumni.dto.DirectoryFilter;
+import org.alumni.dto.UserExportRow;
+import org.alumni.exception.ServiceBusyException;
+import org.alumni.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+/**
+ * Streams users to CSV or NDJSON straight from a MongoDB cursor.
+ * Each row is serialized and dropped as soon as it is read, and the output is flushed every
+ * 'flush-rows' rows, so heap use is one cursor batch plus the writer's buffer however many users
+ * there are. The password hash is excluded by the query's projection and never leaves MongoDB.
+ */
+@Service
+public class UserExportService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UserExportService.class);
+
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+
+    private final UserRepository userRepository;
+    private final ObjectWriter ndjsonWriter;
+    private final ObjectWriter csvWriter;
+    private final int batchSize;
+    private final int flushRows;
+    // Each export holds a cursor and a response open for a long time, so only a few run at once.
+    private final Semaphore exportPermits;
+
+    public UserExportService(UserRepository userRepository,
+                             ObjectMapper objectMapper,
+                             @Value("${app.export.batch-size:1000}") int batchSize,
+                             @Value("${app.export.flush-rows:1000}") int flushRows,
+                             @Value("${app.export.max-concurrent:2}") int maxConcurrent) {
+        this.userRepository = userRepository;
+        this.ndjsonWriter = objectMapper.writerFor(UserExportRow.class).withRootValueSeparator("\n");
+        CsvMapper csvMapper = new CsvMapper();
+        this.csvWriter = csvMapper.writer(csvMapper.schemaFor(UserExportRow.class).withHeader());
+        this.batchSize = batchSize;
+        this.flushRows = flushRows;
+        this.exportPermits = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * Writes every user matching the filter to the output.
+     * @return The number of users written.
+     * @throws ServiceBusyException if the maximum number of exports is already running.
+     */
+    public long export(DirectoryFilter filter, Format format, OutputStream output) throws IOException {
+        if (!exportPermits.tryAcquire()) {
+            throw new ServiceBusyException("Too many exports are running. Please try again later.", 30);
+        }
+        long rows = 0;
+        try (Stream<UserExportRow> users = userRepository.streamForExport(filter, batchSize);
+             SequenceWriter writer = (format == Format.CSV ? csvWriter : ndjsonWriter).writeValues(output)) {
+            Iterator<UserExportRow> iterator = users.iterator();
+            while (iterator.hasNext()) {
+                writer.write(iterator.next());
+                if (++rows % flushRows == 0) {
+                    // Pushes what has been written so far to the client instead of letting it accumulate.
+                    writer.flush();
+                }
+            }
+            if (format == Format.NDJSON && rows > 0) {
+                // The separator only goes between values; end the last line too.
+                writer.flush();
+                output.write('\n');
+            }
+        } catch (IOException e) {
+            // Usually the client went away; closing the stream above released the cursor.
+            LOGGER.info("User export stopped after {} rows: {}", rows, e.getMessage());
+            throw e;
+        } finally {
+            exportPermits.release();
+        }
+        LOGGER.info("Exported {} users as {}", rows, format);
+        return rows;
+    }
+}
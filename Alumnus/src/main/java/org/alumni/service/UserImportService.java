@@ -0,0 +1,301 @@
+package org.alumni.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.mongodb.bulk.BulkWriteError;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.alumni.dto.ImportRowResult;
+import org.alumni.dto.ImportSummary;
+import org.alumni.dto.SignUpRequest;
+import org.alumni.event.UserSavedEvent;
+import org.alumni.exception.ServiceBusyException;
+import org.alumni.model.User;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Streams a CSV or NDJSON upload of sign-up rows into the users collection.
+ * Rows are validated as they are read, hashed in parallel one batch at a time,
+ * and written with unordered bulk inserts. Only one batch is held in memory,
+ * and the per-row report is streamed back as each batch completes,
+ * so memory use does not grow with the size of the upload.
+ */
+@Service
+public class UserImportService implements DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UserImportService.class);
+
+    private static final int DUPLICATE_KEY_ERROR = 11000;
+
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CsvMapper csvMapper = new CsvMapper();
+    private final int batchSize;
+    private final ExecutorService hashExecutor;
+    // Imports are CPU-heavy; running several at once would only slow them all down.
+    private final Semaphore importPermit = new Semaphore(1);
+
+    public UserImportService(MongoTemplate mongoTemplate,
+                             PasswordEncoder passwordEncoder,
+                             Validator validator,
+                             ObjectMapper objectMapper,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${app.import.batch-size:500}") int batchSize,
+                             @Value("${app.import.hash-threads:0}") int hashThreads) {
+        this.mongoTemplate = mongoTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        // Platform threads on purpose: hashing is CPU-bound, so more threads than cores would not help.
+        int threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("user-import-");
+        threadFactory.setDaemon(true);
+        this.hashExecutor = Executors.newFixedThreadPool(threads, threadFactory);
+    }
+
+    /**
+     * Imports every row from the input and writes one report line per row,
+     * followed by a summary line, to the output as NDJSON.
+     * @throws ServiceBusyException if another import is already running.
+     */
+    public void importUsers(InputStream input, Format format, OutputStream reportOutput) throws IOException {
+        if (!importPermit.tryAcquire()) {
+            throw new ServiceBusyException("Another import is already running. Please try again later.", 30);
+        }
+        try (SequenceWriter report = objectMapper.writer().withRootValueSeparator("\n").writeValues(reportOutput)) {
+            ImportRun run = new ImportRun(report);
+            if (format == Format.CSV) {
+                readCsv(input, run);
+            } else {
+                readNdjson(input, run);
+            }
+            run.flush();
+            report.write(run.summary());
+        } finally {
+            importPermit.release();
+        }
+    }
+
+    private void readNdjson(InputStream input, ImportRun run) throws IOException {
+        ObjectReader reader = objectMapper.readerFor(SignUpRequest.class);
+        BufferedReader lines = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String line;
+        while ((line = lines.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            long row = run.nextRow();
+            SignUpRequest request;
+            try {
+                JsonNode node = objectMapper.readTree(line);
+                // 'null', arrays and bare values would otherwise bind to null or fail further in.
+                if (!node.isObject()) {
+                    run.reject(row, null, ImportRowResult.Status.INVALID, "Row must be a JSON object.");
+                    continue;
+                }
+                request = reader.readValue(node);
+            } catch (JsonProcessingException e) {
+                run.reject(row, null, ImportRowResult.Status.INVALID, "Unreadable row: " + e.getOriginalMessage());
+                continue;
+            }
+            run.accept(row, request);
+        }
+    }
+
+    private void readCsv(InputStream input, ImportRun run) throws IOException {
+        CsvSchema schema = CsvSchema.emptySchema().withHeader();
+        try (MappingIterator<SignUpRequest> rows = csvMapper.readerFor(SignUpRequest.class)
+                .with(schema)
+                .with(CsvParser.Feature.TRIM_SPACES)
+                .readValues(input)) {
+            long lastFailureOffset = -1;
+            while (true) {
+                SignUpRequest request;
+                try {
+                    // Checking for the next row parses it too, so a malformed row can fail here as well.
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                    request = rows.nextValue();
+                } catch (JsonProcessingException e) {
+                    // The iterator skips past a bad record on the next call. If the parser has not moved
+                    // since the last failure it cannot get past this one, and nothing after it is readable.
+                    long offset = rows.getCurrentLocation().getCharOffset();
+                    if (offset == lastFailureOffset) {
+                        LOGGER.warn("Bulk import stopped at an unreadable CSV record: {}", e.getOriginalMessage());
+                        break;
+                    }
+                    lastFailureOffset = offset;
+                    run.reject(run.nextRow(), null, ImportRowResult.Status.INVALID, "Unreadable row: " + e.getOriginalMessage());
+                    continue;
+                }
+                run.accept(run.nextRow(), request);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        hashExecutor.shutdown();
+    }
+
+    /**
+     * The state of a single import: the current batch and the running totals.
+     */
+    private final class ImportRun {
+
+        private final SequenceWriter report;
+        private final List<PendingRow> batch = new ArrayList<>(batchSize);
+        private final long startedAt = System.nanoTime();
+        private long rows;
+        private long created;
+        private long duplicates;
+        private long invalid;
+        private long failed;
+
+        private ImportRun(SequenceWriter report) {
+            this.report = report;
+        }
+
+        long nextRow() {
+            return ++rows;
+        }
+
+        void accept(long row, SignUpRequest request) throws IOException {
+            if (request == null) {
+                reject(row, null, ImportRowResult.Status.INVALID, "Row is empty.");
+                return;
+            }
+            Set<ConstraintViolation<SignUpRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                ConstraintViolation<SignUpRequest> first = violations.iterator().next();
+                reject(row, request.getEmail(), ImportRowResult.Status.INVALID, first.getPropertyPath() + ": " + first.getMessage());
+                return;
+            }
+            User user;
+            try {
+                user = SignUpMapper.toUser(request);
+            } catch (IllegalArgumentException e) {
+                reject(row, request.getEmail(), ImportRowResult.Status.INVALID, "Invalid role specified.");
+                return;
+            }
+            // Assign the id up front so the report and any listeners can refer to it.
+            user.setId(new ObjectId().toHexString());
+            batch.add(new PendingRow(row, user, request.getPassword()));
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void reject(long row, String email, ImportRowResult.Status status, String message) throws IOException {
+            if (status == ImportRowResult.Status.INVALID) {
+                invalid++;
+            } else {
+                failed++;
+            }
+            report.write(new ImportRowResult(row, email, status, message));
+        }
+
+        void flush() throws IOException {
+            if (batch.isEmpty()) {
+                return;
+            }
+            hashBatch();
+
+            List<User> users = new ArrayList<>(batch.size());
+            for (PendingRow pending : batch) {
+                users.add(pending.user);
+            }
+            ImportRowResult.Status[] outcomes = new ImportRowResult.Status[batch.size()];
+            String[] messages = new String[batch.size()];
+            try {
+                mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class).insert(users).execute();
+            } catch (BulkOperationException e) {
+                for (BulkWriteError error : e.getErrors()) {
+                    boolean duplicate = error.getCode() == DUPLICATE_KEY_ERROR;
+                    outcomes[error.getIndex()] = duplicate ? ImportRowResult.Status.DUPLICATE : ImportRowResult.Status.FAILED;
+                    messages[error.getIndex()] = duplicate ? "Email is already taken!" : error.getMessage();
+                }
+            }
+
+            for (int i = 0; i < batch.size(); i++) {
+                PendingRow pending = batch.get(i);
+                ImportRowResult.Status outcome = outcomes[i] != null ? outcomes[i] : ImportRowResult.Status.CREATED;
+                switch (outcome) {
+                    case CREATED -> {
+                        created++;
+                        eventPublisher.publishEvent(new UserSavedEvent(pending.user));
+                    }
+                    case DUPLICATE -> duplicates++;
+                    default -> failed++;
+                }
+                report.write(new ImportRowResult(pending.row, pending.user.getEmail(), outcome, messages[i]));
+            }
+            report.flush();
+            batch.clear();
+        }
+
+        private void hashBatch() {
+            CompletableFuture<?>[] hashes = new CompletableFuture<?>[batch.size()];
+            for (int i = 0; i < batch.size(); i++) {
+                PendingRow pending = batch.get(i);
+                hashes[i] = CompletableFuture.runAsync(
+                        () -> pending.user.setPassword(passwordEncoder.encode(pending.rawPassword)), hashExecutor);
+            }
+            CompletableFuture.allOf(hashes).join();
+        }
+
+        ImportSummary summary() {
+            long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000L;
+            double rowsPerSecond = elapsedMillis > 0 ? rows * 1000.0 / elapsedMillis : rows;
+            LOGGER.info("Bulk import finished: {} rows, {} created, {} duplicates, {} invalid, {} failed in {} ms",
+                    rows, created, duplicates, invalid, failed, elapsedMillis);
+            return new ImportSummary(rows, created, duplicates, invalid, failed, elapsedMillis, rowsPerSecond);
+        }
+    }
+
+    private record PendingRow(long row, User user, String rawPassword) {
+    }
+}
@@ -0,0 +1,220 @@
+package org.alumni.social;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A provider's signing keys, fetched from its JWKS endpoint and held in memory.
+ * <p>
+ * Keys are refreshed ahead of expiry by {@link #refreshIfStale()}, which SocialTokenVerifiers
+ * calls on a schedule, so a login normally never waits for the network. A login only fetches
+ * when no keys have been loaded yet, or when its token names a key id we do not have (the
+ * provider has rotated keys); the latter is limited to one fetch per min-refresh-interval so
+ * tokens with made-up key ids cannot be used to hammer the provider. A failed refresh keeps
+ * serving the keys already held.
+ * <p>
+ * Only one fetch runs at a time: callers that need keys while it is in flight wait for its
+ * result instead of starting another. The wait parks on a future rather than a monitor, so it
+ * does not pin the carrier thread of a virtual thread.
+ */
+public class JwksKeyCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JwksKeyCache.class);
+
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+    // Refresh once this fraction of the keys' lifetime has passed.
+    private static final double REFRESH_AHEAD_FRACTION = 0.8;
+    private static final Base64.Decoder BASE64URL = Base64.getUrlDecoder();
+
+    private final URI jwksUri;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final Duration fetchTimeout;
+    private final long defaultTtlMillis;
+    private final long minRefreshIntervalMillis;
+
+    private final AtomicReference<CompletableFuture<Snapshot>> inFlight = new AtomicReference<>();
+    private volatile Snapshot snapshot;
+    private volatile long lastFetchAttemptMillis;
+
+    public JwksKeyCache(URI jwksUri, HttpClient httpClient, ObjectMapper objectMapper,
+                        Duration fetchTimeout, Duration defaultTtl, Duration minRefreshInterval) {
+        this.jwksUri = jwksUri;
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.fetchTimeout = fetchTimeout;
+        this.defaultTtlMillis = defaultTtl.toMillis();
+        this.minRefreshIntervalMillis = minRefreshInterval.toMillis();
+    }
+
+    /**
+     * @return The key with this id, or null if the provider does not publish one.
+     */
+    public PublicKey key(String keyId) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            current = refreshQuietly();
+        }
+        PublicKey key = current == null ? null : current.keys.get(keyId);
+        if (key == null && current != null) {
+            current = refreshQuietly();
+            key = current == null ? null : current.keys.get(keyId);
+        }
+        return key;
+    }
+
+    /**
+     * Fetches the keys again if most of their lifetime has passed. Safe to call often.
+     */
+    public void refreshIfStale() {
+        Snapshot current = snapshot;
+        if (current == null || System.currentTimeMillis() >= current.refreshAtMillis) {
+            refreshQuietly();
+        }
+    }
+
+    public int size() {
+        Snapshot current = snapshot;
+        return current == null ? 0 : current.keys.size();
+    }
+
+    private Snapshot refreshQuietly() {
+        CompletableFuture<Snapshot> fetching = inFlight.get();
+        if (fetching == null) {
+            // At most one fetch per interval, whether the last one worked or not.
+            if (lastFetchAttemptMillis != 0 && System.currentTimeMillis() - lastFetchAttemptMillis < minRefreshIntervalMillis) {
+                return snapshot;
+            }
+            CompletableFuture<Snapshot> mine = new CompletableFuture<>();
+            if (inFlight.compareAndSet(null, mine)) {
+                lastFetchAttemptMillis = System.currentTimeMillis();
+                try {
+                    fetchQuietly();
+                } finally {
+                    mine.complete(snapshot);
+                    inFlight.set(null);
+                }
+                return snapshot;
+            }
+            // Another caller started a fetch in the meantime; wait for it like the others.
+            fetching = inFlight.get();
+            if (fetching == null) {
+                return snapshot;
+            }
+        }
+        try {
+            return fetching.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // Not reached: the future is always completed normally, with whatever keys are held.
+        }
+        return snapshot;
+    }
+
+    private void fetchQuietly() {
+        try {
+            snapshot = fetch();
+        } catch (IOException | GeneralSecurityException | IllegalArgumentException e) {
+            LOGGER.warn("Could not fetch signing keys from {}: {}", jwksUri, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Snapshot fetch() throws IOException, InterruptedException, GeneralSecurityException {
+        HttpRequest request = HttpRequest.newBuilder(jwksUri)
+                .timeout(fetchTimeout)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IOException("HTTP " + response.statusCode());
+        }
+
+        Map<String, PublicKey> keys = new HashMap<>();
+        for (JsonNode jwk : objectMapper.readTree(response.body()).path("keys")) {
+            String use = jwk.path("use").asText("sig");
+            String keyId = jwk.path("kid").asText(null);
+            if (!"sig".equals(use) || keyId == null) {
+                continue;
+            }
+            PublicKey key = switch (jwk.path("kty").asText()) {
+                case "RSA" -> rsaKey(jwk);
+                case "EC" -> ecKey(jwk);
+                default -> null;
+            };
+            if (key != null) {
+                keys.put(keyId, key);
+            }
+        }
+
+        long ttlMillis = response.headers().firstValue("Cache-Control")
+                .map(MAX_AGE::matcher)
+                .filter(Matcher::find)
+                .map(matcher -> Long.parseLong(matcher.group(1)) * 1000)
+                .orElse(defaultTtlMillis);
+        long now = System.currentTimeMillis();
+        LOGGER.info("Loaded {} signing keys from {}, refreshing in {}s", keys.size(), jwksUri,
+                (long) (ttlMillis * REFRESH_AHEAD_FRACTION) / 1000);
+        return new Snapshot(Map.copyOf(keys), now + (long) (ttlMillis * REFRESH_AHEAD_FRACTION));
+    }
+
+    private static PublicKey rsaKey(JsonNode jwk) throws GeneralSecurityException {
+        BigInteger modulus = unsigned(jwk.path("n").asText());
+        BigInteger exponent = unsigned(jwk.path("e").asText());
+        return KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(modulus, exponent));
+    }
+
+    private static PublicKey ecKey(JsonNode jwk) throws GeneralSecurityException {
+        String curve = switch (jwk.path("crv").asText()) {
+            case "P-256" -> "secp256r1";
+            case "P-384" -> "secp384r1";
+            case "P-521" -> "secp521r1";
+            default -> null;
+        };
+        if (curve == null) {
+            return null;
+        }
+        AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+        parameters.init(new ECGenParameterSpec(curve));
+        ECPoint point = new ECPoint(unsigned(jwk.path("x").asText()), unsigned(jwk.path("y").asText()));
+        return KeyFactory.getInstance("EC")
+                .generatePublic(new ECPublicKeySpec(point, parameters.getParameterSpec(ECParameterSpec.class)));
+    }
+
+    private static BigInteger unsigned(String base64url) {
+        return new BigInteger(1, BASE64URL.decode(base64url));
+    }
+
+    private record Snapshot(Map<String, PublicKey> keys, long refreshAtMillis) {
+    }
+}
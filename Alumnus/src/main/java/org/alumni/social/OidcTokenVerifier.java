@@ -0,0 +1,104 @@
+package org.alumni.social;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import org.alumni.exception.AppApiException;
+import org.springframework.http.HttpStatus;
+
+import java.security.Key;
+import java.security.PublicKey;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Verifies OpenID Connect ID tokens (Google, Microsoft, Apple, ...) locally: the signature is
+ * checked against the provider's published keys from a {@link JwksKeyCache}, then the issuer,
+ * audience, expiry and verified email. Only asymmetric signatures are accepted, since the keys
+ * handed to the parser are public keys.
+ */
+public class OidcTokenVerifier implements SocialTokenVerifier {
+
+    private final String provider;
+    private final JwksKeyCache keys;
+    private final Set<String> issuers;
+    private final List<String> audiences;
+    private final JwtParser parser;
+
+    public OidcTokenVerifier(String provider, JwksKeyCache keys, Collection<String> issuers,
+                             Collection<String> audiences, long allowedClockSkewSeconds) {
+        this.provider = provider;
+        this.keys = keys;
+        this.issuers = Set.copyOf(issuers);
+        this.audiences = List.copyOf(audiences);
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        PublicKey key = keys.key(header.getKeyId());
+                        if (key == null) {
+                            throw new UnsupportedJwtException("Unknown signing key");
+                        }
+                        return key;
+                    }
+                })
+                .setAllowedClockSkewSeconds(allowedClockSkewSeconds)
+                .build();
+    }
+
+    @Override
+    public String provider() {
+        return provider;
+    }
+
+    @Override
+    public SocialIdentity verify(String idToken) {
+        Claims claims;
+        try {
+            claims = parser.parseClaimsJws(idToken).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            throw invalid();
+        }
+        if (!issuers.contains(claims.getIssuer()) || !hasAcceptedAudience(claims.get(Claims.AUDIENCE))) {
+            throw invalid();
+        }
+        String email = claims.get("email", String.class);
+        // Without a verified email, anyone could claim an existing user's address at the provider.
+        if (email == null || !isTrue(claims.get("email_verified"))) {
+            throw invalid();
+        }
+        return new SocialIdentity(provider, claims.getSubject(), email, claims.get("name", String.class));
+    }
+
+    /**
+     * Refreshes the provider's keys if they are close to expiry.
+     */
+    public void refreshKeysIfStale() {
+        keys.refreshIfStale();
+    }
+
+    // 'aud' is a single string or an array of strings.
+    private boolean hasAcceptedAudience(Object audience) {
+        if (audience instanceof String single) {
+            return audiences.contains(single);
+        }
+        if (audience instanceof Collection<?> many) {
+            return many.stream().anyMatch(audiences::contains);
+        }
+        return false;
+    }
+
+    // Some providers send email_verified as the string "true".
+    private static boolean isTrue(Object value) {
+        return Boolean.TRUE.equals(value) || "true".equals(value);
+    }
+
+    private static AppApiException invalid() {
+        return new AppApiException(HttpStatus.UNAUTHORIZED, "Invalid social login token.");
+    }
+}
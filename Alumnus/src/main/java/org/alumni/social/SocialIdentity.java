@@ -0,0 +1,9 @@
+package org.alumni.social;
+
+/**
+ * The verified identity behind a social provider's ID token.
+ * @param email Always present and verified by the provider.
+ * @param name The display name, or null if the provider did not send one.
+ */
+public record SocialIdentity(String provider, String subject, String email, String name) {
+}
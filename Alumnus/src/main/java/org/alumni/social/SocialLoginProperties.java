@@ -0,0 +1,43 @@
+package org.alumni.social;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * OpenID Connect providers accepted by POST /api/auth/social-login, bound from app.security.social.*.
+ * Providers are keyed by the name clients send, e.g. "google".
+ */
+@Data
+@ConfigurationProperties(prefix = "app.security.social")
+public class SocialLoginProperties {
+
+    private Map<String, Provider> providers = new LinkedHashMap<>();
+
+    /** How often keys are checked and, when close to expiry, refreshed. */
+    private Duration refreshCheckInterval = Duration.ofMinutes(1);
+
+    /** Timeout for fetching a provider's keys. */
+    private Duration fetchTimeout = Duration.ofSeconds(5);
+
+    @Data
+    public static class Provider {
+        /** Where the provider publishes its signing keys as a JWK set. */
+        private URI jwksUri;
+        /** Accepted values of the 'iss' claim. */
+        private List<String> issuers = new ArrayList<>();
+        /** Accepted values of the 'aud' claim, i.e. this application's client ids. */
+        private List<String> audiences = new ArrayList<>();
+        /** How long keys are kept when the provider sends no Cache-Control max-age. */
+        private Duration defaultKeyTtl = Duration.ofHours(1);
+        /** Minimum time between fetches triggered by a token signed with an unknown key. */
+        private Duration minRefreshInterval = Duration.ofMinutes(1);
+        private Duration allowedClockSkew = Duration.ofSeconds(60);
+    }
+}
@@ -0,0 +1,20 @@
+package org.alumni.social;
+
+/**
+ * Verifies ID tokens from one social login provider.
+ * Providers that speak OpenID Connect are configured under app.security.social.providers;
+ * any other provider can be plugged in by declaring a bean of this type.
+ */
+public interface SocialTokenVerifier {
+
+    /**
+     * @return The provider name clients send in SocialLoginRequest, e.g. "google".
+     */
+    String provider();
+
+    /**
+     * @return The identity in the token.
+     * @throws org.alumni.exception.AppApiException with 401 if the token is not valid.
+     */
+    SocialIdentity verify(String idToken);
+}
@@ -0,0 +1,73 @@
+package org.alumni.social;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.alumni.exception.AppApiException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.http.HttpClient;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The social login providers this application accepts, by name.
+ * OpenID Connect providers come from {@link SocialLoginProperties}; a {@link SocialTokenVerifier}
+ * bean for the same name takes precedence, which is how non-OIDC providers are added.
+ */
+@Component
+public class SocialTokenVerifiers {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SocialTokenVerifiers.class);
+
+    private final Map<String, SocialTokenVerifier> verifiers = new HashMap<>();
+    private final List<OidcTokenVerifier> oidcVerifiers = new ArrayList<>();
+
+    public SocialTokenVerifiers(SocialLoginProperties properties, ObjectMapper objectMapper,
+                                ObjectProvider<SocialTokenVerifier> customVerifiers) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(properties.getFetchTimeout())
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        properties.getProviders().forEach((name, provider) -> {
+            JwksKeyCache keys = new JwksKeyCache(provider.getJwksUri(), httpClient, objectMapper,
+                    properties.getFetchTimeout(), provider.getDefaultKeyTtl(), provider.getMinRefreshInterval());
+            OidcTokenVerifier verifier = new OidcTokenVerifier(name, keys, provider.getIssuers(),
+                    provider.getAudiences(), provider.getAllowedClockSkew().toSeconds());
+            oidcVerifiers.add(verifier);
+            verifiers.put(name.toLowerCase(Locale.ROOT), verifier);
+        });
+        customVerifiers.orderedStream()
+                .forEach(verifier -> verifiers.put(verifier.provider().toLowerCase(Locale.ROOT), verifier));
+        LOGGER.info("Social login providers: {}", verifiers.keySet());
+    }
+
+    /**
+     * @return The identity in the provider's ID token.
+     * @throws AppApiException with 400 for an unknown provider, 401 for an invalid token.
+     */
+    public SocialIdentity verify(String provider, String idToken) {
+        SocialTokenVerifier verifier = verifiers.get(provider.toLowerCase(Locale.ROOT));
+        if (verifier == null) {
+            throw new AppApiException(HttpStatus.BAD_REQUEST, "Unsupported social login provider: " + provider);
+        }
+        return verifier.verify(idToken);
+    }
+
+    /**
+     * Loads every provider's keys at startup and refreshes them ahead of expiry,
+     * so that logins do not wait on the provider.
+     */
+    @Scheduled(fixedDelayString = "${app.security.social.refresh-check-interval:PT1M}")
+    public void refreshKeys() {
+        for (OidcTokenVerifier verifier : oidcVerifiers) {
+            verifier.refreshKeysIfStale();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package org.alumni.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.PropertyPlaceholderHelper;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+/**
+ * @Scheduled string intervals only accept milliseconds or ISO-8601 durations ("PT1M"), unlike
+ * Duration-typed properties, which also take "1m". An interval that does not parse stops the
+ * application context from starting, so every one is checked here against the shipped settings
+ * and the test profile without starting a context.
+ */
+class SchedulingConfigTest {
+
+    private static final PropertyPlaceholderHelper PLACEHOLDERS = new PropertyPlaceholderHelper("${", "}", ":", true);
+
+    @Test
+    void everyScheduledIntervalParsesWithTheShippedAndTestSettings() throws Exception {
+        List<String> intervals = scheduledIntervals();
+        assertThat(intervals).isNotEmpty();
+
+        for (String profile : List.of("application.properties", "application-test.properties")) {
+            Properties properties = properties(profile);
+            for (String interval : intervals) {
+                String value = PLACEHOLDERS.replacePlaceholders(interval, properties);
+                assertThatCode(() -> parse(value))
+                        .as("%s resolves to '%s' with %s", interval, value, profile)
+                        .doesNotThrowAnyException();
+            }
+        }
+    }
+
+    // The same rule ScheduledAnnotationBeanPostProcessor applies.
+    private static long parse(String value) {
+        return value.startsWith("P") || value.startsWith("-P")
+                ? Duration.parse(value).toMillis()
+                : Long.parseLong(value);
+    }
+
+    private static List<String> scheduledIntervals() throws ClassNotFoundException {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(Component.class));
+        List<String> intervals = new ArrayList<>();
+        for (BeanDefinition bean : scanner.findCandidateComponents("org.alumni")) {
+            Class<?> type = ClassUtils.forName(bean.getBeanClassName(), SchedulingConfigTest.class.getClassLoader());
+            for (Method method : type.getDeclaredMethods()) {
+                Scheduled scheduled = method.getAnnotation(Scheduled.class);
+                if (scheduled == null) {
+                    continue;
+                }
+                for (String interval : List.of(scheduled.fixedDelayString(), scheduled.fixedRateString(),
+                        scheduled.initialDelayString())) {
+                    if (!interval.isEmpty()) {
+                        intervals.add(interval);
+                    }
+                }
+            }
+        }
+        return intervals;
+    }
+
+    // The test profile is layered over the shipped settings, as Spring Boot does.
+    private static Properties properties(String name) throws IOException {
+        Properties properties = PropertiesLoaderUtils.loadProperties(new ClassPathResource("application.properties"));
+        if (!name.equals("application.properties")) {
+            properties.putAll(PropertiesLoaderUtils.loadProperties(new ClassPathResource(name)));
+        }
+        return properties;
+    }
+}
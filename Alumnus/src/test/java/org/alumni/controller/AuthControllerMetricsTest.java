@@ -0,0 +1,173 @@
+package org.alumni.controller;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.alumni.audit.LoginAuditService;
+import org.alumni.dto.ForgotPasswordRequest;
+import org.alumni.dto.LoginRequest;
+import org.alumni.dto.RefreshTokenRequest;
+import org.alumni.dto.SignUpRequest;
+import org.alumni.exception.AppApiException;
+import org.alumni.exception.ServiceBusyException;
+import org.alumni.metrics.AuthMetrics;
+import org.alumni.model.RefreshToken;
+import org.alumni.model.User;
+import org.alumni.repository.UserRepository;
+import org.alumni.security.JwtTokenProvider;
+import org.alumni.security.RevokedTokenRegistry;
+import org.alumni.security.SecurityEventRecorder;
+import org.alumni.service.EmailService;
+import org.alumni.service.PasswordHashingService;
+import org.alumni.service.RefreshTokenService;
+import org.alumni.social.SocialTokenVerifiers;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Failed requests still reach the phase timers, tagged with how the phase failed.
+ */
+class AuthControllerMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AuthenticationManager authenticationManager = mock(AuthenticationManager.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final PasswordHashingService passwordHashingService = mock(PasswordHashingService.class);
+    private final RefreshTokenService refreshTokenService = mock(RefreshTokenService.class);
+    private final AuthController controller = new AuthController(authenticationManager, userRepository,
+            mock(JwtTokenProvider.class), mock(EmailService.class), passwordHashingService, new AuthMetrics(registry),
+            mock(ApplicationEventPublisher.class), refreshTokenService, mock(RevokedTokenRegistry.class),
+            mock(SecurityEventRecorder.class), mock(LoginAuditService.class), mock(SocialTokenVerifiers.class));
+
+    @Test
+    void aWrongPasswordIsTimedAsBadCredentials() {
+        runHashingTasksInline();
+        when(authenticationManager.authenticate(any())).thenThrow(new BadCredentialsException("Bad credentials"));
+
+        CompletableFuture<?> response = controller.authenticateUser(login(), new MockHttpServletRequest());
+
+        assertThatThrownBy(response::join).isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(BadCredentialsException.class);
+        assertThat(count("login", "authenticate", "bad_credentials")).isEqualTo(1);
+        assertThat(count("login", "authenticate", "success")).isZero();
+    }
+
+    @Test
+    void aLoginTurnedAwayByTheHashingPoolIsTimedAsBusy() {
+        when(passwordHashingService.submit(any())).thenThrow(new ServiceBusyException("busy", 1));
+
+        assertThatThrownBy(() -> controller.authenticateUser(login(), new MockHttpServletRequest()))
+                .isInstanceOf(ServiceBusyException.class);
+        assertThat(count("login", "authenticate", "busy")).isEqualTo(1);
+    }
+
+    @Test
+    void aRegistrationTurnedAwayByTheHashingPoolIsTimedAsBusy() {
+        when(passwordHashingService.encode(anyString())).thenThrow(new ServiceBusyException("busy", 1));
+
+        assertThatThrownBy(() -> controller.registerUser(signUp())).isInstanceOf(ServiceBusyException.class);
+        assertThat(count("register", "hash", "busy")).isEqualTo(1);
+    }
+
+    @Test
+    void aFailedHashIsTimedAsAnError() {
+        when(passwordHashingService.encode(anyString()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("pool shut down")));
+
+        CompletableFuture<?> response = controller.registerUser(signUp());
+
+        assertThatThrownBy(response::join).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(count("register", "hash", "error")).isEqualTo(1);
+        assertThat(count("register", "insert", "success")).isZero();
+    }
+
+    @Test
+    void aFailedInsertIsTimedAsAnError() {
+        when(passwordHashingService.encode(anyString())).thenReturn(CompletableFuture.completedFuture("$2a$10$hash"));
+        when(userRepository.insert(any(User.class)))
+                .thenThrow(new DataAccessResourceFailureException("Mongo is down"));
+
+        CompletableFuture<?> response = controller.registerUser(signUp());
+
+        assertThatThrownBy(response::join).hasCauseInstanceOf(DataAccessResourceFailureException.class);
+        assertThat(count("register", "hash", "success")).isEqualTo(1);
+        assertThat(count("register", "insert", "error")).isEqualTo(1);
+    }
+
+    @Test
+    void aFailedForgotPasswordLookupIsTimedAsAnError() {
+        when(userRepository.findByEmail(anyString())).thenThrow(new DataAccessResourceFailureException("Mongo is down"));
+
+        assertThatThrownBy(() -> controller.forgotPassword(new ForgotPasswordRequest("ada@example.com"), new MockHttpServletRequest()))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+        assertThat(count("forgot-password", "lookup", "error")).isEqualTo(1);
+        assertThat(count("forgot-password", "lookup", "success")).isZero();
+    }
+
+    @Test
+    void aRefreshForADeletedAccountIsTimedAsBadCredentials() {
+        RefreshToken consumed = new RefreshToken();
+        consumed.setEmail("gone@example.com");
+        when(refreshTokenService.consume(anyString())).thenReturn(consumed);
+        when(userRepository.findPrincipalByEmail("gone@example.com")).thenReturn(Optional.empty());
+        RefreshTokenRequest request = new RefreshTokenRequest();
+        request.setRefreshToken("token");
+
+        assertThatThrownBy(() -> controller.refreshToken(request)).isInstanceOf(AppApiException.class);
+        assertThat(count("refresh", "rotate", "bad_credentials")).isEqualTo(1);
+        assertThat(count("refresh", "rotate", "success")).isZero();
+    }
+
+    // Runs the submitted task on the calling thread, completing the future with its result or failure.
+    @SuppressWarnings("unchecked")
+    private void runHashingTasksInline() {
+        when(passwordHashingService.submit(any())).thenAnswer(invocation -> {
+            try {
+                return CompletableFuture.completedFuture(((Supplier<Object>) invocation.getArgument(0)).get());
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        });
+    }
+
+    private long count(String endpoint, String phase, String outcome) {
+        Timer timer = registry.find("auth.endpoint.phase")
+                .tag("endpoint", endpoint)
+                .tag("phase", phase)
+                .tag("outcome", outcome)
+                .timer();
+        return timer.count();
+    }
+
+    private static LoginRequest login() {
+        LoginRequest request = new LoginRequest();
+        request.setEmail("ada@example.com");
+        request.setPassword("password123");
+        return request;
+    }
+
+    private static SignUpRequest signUp() {
+        SignUpRequest request = new SignUpRequest();
+        request.setName("Ada");
+        request.setEmail("ada@example.com");
+        request.setPhone("555-0100");
+        request.setPassword("password123");
+        request.setRole("Alumni");
+        return request;
+    }
+}
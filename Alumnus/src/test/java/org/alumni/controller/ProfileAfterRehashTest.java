@@ -0,0 +1,83 @@
+package org.alumni.controller;
+
+import org.alumni.dto.ProfileUpdateRequest;
+import org.alumni.model.Role;
+import org.alumni.model.User;
+import org.alumni.support.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * A login that rehashes the password must not move the profile version, or the ETag in the
+ * client's hands and the version in its new token disagree with the stored profile.
+ */
+class ProfileAfterRehashTest extends IntegrationTest {
+
+    private static final String PASSWORD = "correct-horse";
+
+    @Test
+    void loginWithRehashKeepsProfileETagsValid() throws Exception {
+        // Stored with cost 4; the tests run at cost 5, so this login rehashes.
+        User user = new User();
+        user.setName("Ada");
+        user.setEmail("rehash@example.com");
+        user.setPhone("555-0100");
+        user.setRole(Role.ROLE_ALUMNI);
+        user.setPassword("{bcrypt}" + BCrypt.hashpw(PASSWORD, BCrypt.gensalt(4)));
+        user = mongoTemplate.insert(user);
+        long versionBefore = user.getVersion();
+
+        String token = login(user.getEmail(), PASSWORD);
+
+        User stored = mongoTemplate.findById(user.getId(), User.class);
+        assertThat(stored.getPassword()).startsWith("{bcrypt}$2a$05$");
+        assertThat(stored.getVersion()).isEqualTo(versionBefore);
+
+        MvcResult first = perform(get("/api/users/me").header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+        assertThat(first.getResponse().getStatus()).isEqualTo(200);
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isEqualTo("\"" + user.getId() + "-" + versionBefore + "\"");
+
+        MvcResult revalidated = perform(get("/api/users/me")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .header(HttpHeaders.IF_NONE_MATCH, etag));
+        assertThat(revalidated.getResponse().getStatus()).isEqualTo(304);
+        assertThat(revalidated.getResponse().getHeader(HttpHeaders.ETAG)).isEqualTo(etag);
+
+        ProfileUpdateRequest update = new ProfileUpdateRequest();
+        update.setName("Ada Lovelace");
+        update.setPhone("555-0101");
+        MvcResult updated = perform(put("/api/users/me")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .header(HttpHeaders.IF_MATCH, etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(update)));
+        assertThat(updated.getResponse().getStatus()).isEqualTo(200);
+        assertThat(updated.getResponse().getHeader(HttpHeaders.ETAG))
+                .isEqualTo("\"" + user.getId() + "-" + (versionBefore + 1) + "\"");
+        assertThat(json(updated).get("name").asText()).isEqualTo("Ada Lovelace");
+    }
+
+    @Test
+    void loginWithoutRehashLeavesThePasswordAlone() throws Exception {
+        User user = new User();
+        user.setName("Grace");
+        user.setEmail("no-rehash@example.com");
+        user.setPhone("555-0102");
+        user.setRole(Role.ROLE_STUDENT);
+        String hash = "{bcrypt}" + BCrypt.hashpw(PASSWORD, BCrypt.gensalt(5));
+        user.setPassword(hash);
+        user = mongoTemplate.insert(user);
+
+        login(user.getEmail(), PASSWORD);
+
+        assertThat(mongoTemplate.findById(user.getId(), User.class).getPassword()).isEqualTo(hash);
+    }
+}
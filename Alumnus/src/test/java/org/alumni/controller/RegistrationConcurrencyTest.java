@@ -0,0 +1,83 @@
+package org.alumni.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.alumni.dto.SignUpRequest;
+import org.alumni.model.User;
+import org.alumni.support.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Registration relies on the unique email index alone, so simultaneous signups for one
+ * email must still produce exactly one account.
+ */
+class RegistrationConcurrencyTest extends IntegrationTest {
+
+    private static final int SIGNUPS = 16;
+
+    @Test
+    void parallelSignupsForOneEmailCreateExactlyOneUser() throws Exception {
+        String email = "race@example.com";
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<MvcResult>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(SIGNUPS)) {
+            for (int i = 0; i < SIGNUPS; i++) {
+                SignUpRequest request = signUp(email, "Racer " + i);
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return postJson("/api/auth/register", request);
+                }));
+            }
+            start.countDown();
+
+            int succeeded = 0;
+            int taken = 0;
+            for (Future<MvcResult> future : results) {
+                MvcResult result = future.get();
+                JsonNode body = json(result);
+                if (result.getResponse().getStatus() == 200 && body.get("success").asBoolean()) {
+                    succeeded++;
+                } else if (result.getResponse().getStatus() == 400
+                        && "Email is already taken!".equals(body.get("message").asText())) {
+                    taken++;
+                }
+            }
+            assertThat(succeeded).isEqualTo(1);
+            assertThat(taken).isEqualTo(SIGNUPS - 1);
+        }
+
+        assertThat(mongoTemplate.count(new Query(Criteria.where("email").is(email)), User.class)).isEqualTo(1);
+    }
+
+    @Test
+    void registeringATakenEmailLaterIsRejected() throws Exception {
+        String email = "taken@example.com";
+        assertThat(postJson("/api/auth/register", signUp(email, "First")).getResponse().getStatus()).isEqualTo(200);
+
+        MvcResult second = postJson("/api/auth/register", signUp(email, "Second"));
+
+        assertThat(second.getResponse().getStatus()).isEqualTo(400);
+        assertThat(json(second).get("message").asText()).isEqualTo("Email is already taken!");
+    }
+
+    private static SignUpRequest signUp(String email, String name) {
+        SignUpRequest request = new SignUpRequest();
+        request.setName(name);
+        request.setEmail(email);
+        request.setPhone("555-0100");
+        request.setPassword("password123");
+        request.setRole("Student");
+        return request;
+    }
+}
@@ -0,0 +1,119 @@
+package org.alumni.controller;
+
+import org.alumni.model.User;
+import org.alumni.support.IntegrationTest;
+import org.alumni.support.JwksStandIn;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * POST /api/auth/social-login against a local JWKS endpoint.
+ */
+class SocialLoginTest extends IntegrationTest {
+
+    private static final JwksStandIn PROVIDER = JwksStandIn.start();
+
+    static {
+        PROVIDER.addKey("key-1");
+    }
+
+    @DynamicPropertySource
+    static void providerProperties(DynamicPropertyRegistry registry) {
+        registry.add("app.security.social.providers.google.jwks-uri", () -> PROVIDER.jwksUri().toString());
+        registry.add("app.security.social.providers.google.issuers", () -> JwksStandIn.ISSUER);
+        registry.add("app.security.social.providers.google.audiences", () -> JwksStandIn.AUDIENCE);
+        registry.add("app.security.social.providers.google.min-refresh-interval", () -> "0s");
+    }
+
+    @AfterAll
+    static void stopProvider() {
+        PROVIDER.close();
+    }
+
+    @Test
+    void firstLoginCreatesTheUserAndLaterOnesFindIt() throws Exception {
+        String email = "social-first@example.com";
+
+        MvcResult first = socialLogin(PROVIDER.idToken("key-1", email));
+        MvcResult second = socialLogin(PROVIDER.idToken("key-1", email));
+
+        assertThat(first.getResponse().getStatus()).isEqualTo(200);
+        assertThat(second.getResponse().getStatus()).isEqualTo(200);
+        assertThat(json(first).get("accessToken").asText()).isNotBlank();
+        assertThat(usersWithEmail(email)).hasSize(1);
+    }
+
+    @Test
+    void concurrentFirstLoginsCreateOneUser() throws Exception {
+        String email = "social-race@example.com";
+        String token = PROVIDER.idToken("key-1", email);
+        int logins = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<MvcResult>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(logins)) {
+            for (int i = 0; i < logins; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return socialLogin(token);
+                }));
+            }
+            start.countDown();
+            for (Future<MvcResult> result : results) {
+                assertThat(result.get().getResponse().getStatus()).isEqualTo(200);
+            }
+        }
+
+        List<User> users = usersWithEmail(email);
+        assertThat(users).hasSize(1);
+        assertThat(users.get(0).getPassword()).isNull();
+    }
+
+    @Test
+    void keysRotatedAtTheProviderAreFetchedOnDemand() throws Exception {
+        socialLogin(PROVIDER.idToken("key-1", "social-rotate@example.com"));
+        PROVIDER.addKey("key-2");
+
+        MvcResult result = socialLogin(PROVIDER.idToken("key-2", "social-rotate@example.com"));
+
+        assertThat(result.getResponse().getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void tokensForAnotherClientAreRejected() throws Exception {
+        String token = PROVIDER.idToken("key-1", JwksStandIn.ISSUER, "another-client", "social-aud@example.com", true);
+
+        assertThat(socialLogin(token).getResponse().getStatus()).isEqualTo(401);
+        assertThat(usersWithEmail("social-aud@example.com")).isEmpty();
+    }
+
+    @Test
+    void tokensFromAnotherIssuerAreRejected() throws Exception {
+        String token = PROVIDER.idToken("key-1", "https://attacker.test", JwksStandIn.AUDIENCE, "social-iss@example.com", true);
+
+        assertThat(socialLogin(token).getResponse().getStatus()).isEqualTo(401);
+        assertThat(usersWithEmail("social-iss@example.com")).isEmpty();
+    }
+
+    private MvcResult socialLogin(String idToken) throws Exception {
+        return postJson("/api/auth/social-login", Map.of("provider", "google", "token", idToken));
+    }
+
+    private List<User> usersWithEmail(String email) {
+        return mongoTemplate.find(new Query(Criteria.where("email").is(email)), User.class);
+    }
+}
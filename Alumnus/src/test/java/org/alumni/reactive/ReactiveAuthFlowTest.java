@@ -0,0 +1,161 @@
+package org.alumni.reactive;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.alumni.model.User;
+import org.alumni.repository.ReactiveUserRepository;
+import org.alumni.support.InMemoryMongo;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The auth API served by the 'reactive' profile: WebFlux on Netty with the reactive MongoDB driver.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+@ActiveProfiles({"test", "reactive"})
+class ReactiveAuthFlowTest {
+
+    private static final InMemoryMongo MONGO = InMemoryMongo.start();
+    private static final String PASSWORD = "password123";
+
+    @Autowired
+    private WebTestClient client;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", MONGO::uri);
+    }
+
+    @AfterAll
+    static void stopMongo() {
+        MONGO.close();
+    }
+
+    @Test
+    void runsOnTheReactiveStack() {
+        assertThat(context.getBeanNamesForType(ReactiveAuthController.class)).hasSize(1);
+        assertThat(context.getBeanNamesForType(ReactiveUserRepository.class)).hasSize(1);
+    }
+
+    @Test
+    void registerLoginAndCallAProtectedEndpoint() {
+        String email = "reactive-flow@example.com";
+        register(email).expectStatus().isOk()
+                .expectBody().jsonPath("$.success").isEqualTo(true);
+
+        JsonNode tokens = login(email, PASSWORD).expectStatus().isOk()
+                .expectBody(JsonNode.class).returnResult().getResponseBody();
+
+        assertThat(tokens.get("accessToken").asText()).isNotBlank();
+        assertThat(tokens.get("refreshToken").asText()).isNotBlank();
+        client.get().uri("/api/config-check")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokens.get("accessToken").asText())
+                .exchange()
+                .expectStatus().isOk();
+        User stored = mongoTemplate.findOne(new Query(Criteria.where("email").is(email)), User.class);
+        assertThat(passwordEncoder.matches(PASSWORD, stored.getPassword())).isTrue();
+    }
+
+    @Test
+    void aTakenEmailIsRejected() {
+        String email = "reactive-taken@example.com";
+        register(email).expectStatus().isOk();
+
+        register(email).expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("Email is already taken!");
+    }
+
+    @Test
+    void aWrongPasswordIs401() {
+        String email = "reactive-wrong@example.com";
+        register(email).expectStatus().isOk();
+
+        login(email, "not-the-password").expectStatus().isUnauthorized()
+                .expectBody().jsonPath("$.message").isEqualTo("Invalid email or password.");
+        login("reactive-nobody@example.com", PASSWORD).expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void protectedEndpointsNeedAValidToken() {
+        client.get().uri("/api/config-check").exchange().expectStatus().isForbidden();
+        client.get().uri("/api/config-check")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer not-a-token")
+                .exchange()
+                .expectStatus().isForbidden();
+    }
+
+    @Test
+    void refreshRotatesAndLogoutRevokes() {
+        String email = "reactive-refresh@example.com";
+        register(email).expectStatus().isOk();
+        JsonNode first = login(email, PASSWORD).expectBody(JsonNode.class).returnResult().getResponseBody();
+
+        JsonNode second = client.post().uri("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("refreshToken", first.get("refreshToken").asText()))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(JsonNode.class).returnResult().getResponseBody();
+        assertThat(second.get("refreshToken").asText()).isNotEqualTo(first.get("refreshToken").asText());
+
+        String accessToken = second.get("accessToken").asText();
+        client.post().uri("/api/auth/logout")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("refreshToken", second.get("refreshToken").asText()))
+                .exchange()
+                .expectStatus().isOk();
+
+        client.get().uri("/api/config-check")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .exchange()
+                .expectStatus().isForbidden();
+        client.post().uri("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("refreshToken", second.get("refreshToken").asText()))
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    private WebTestClient.ResponseSpec register(String email) {
+        return client.post().uri("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("name", "Reactive User", "email", email, "phone", "555-0100",
+                        "password", PASSWORD, "role", "Student"))
+                .exchange();
+    }
+
+    private WebTestClient.ResponseSpec login(String email, String password) {
+        return client.post().uri("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("email", email, "password", password))
+                .exchange();
+    }
+}
@@ -0,0 +1,35 @@
+package org.alumni.reactive;
+
+import org.alumni.repository.ReactiveUserRepository;
+import org.alumni.support.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * WebFlux and the reactive driver are on the classpath, but the default servlet stack must not start them.
+ */
+class ServletModeTest extends IntegrationTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Test
+    void runsOnTheServletStack() {
+        assertThat(context).isInstanceOf(WebApplicationContext.class);
+        assertThat(context.getBeanNamesForType(ReactiveAuthController.class)).isEmpty();
+        assertThat(context.getBeanNamesForType(ReactiveSecurityConfig.class)).isEmpty();
+    }
+
+    @Test
+    void createsNoReactiveMongoClientOrRepository() {
+        assertThat(context.getBeanNamesForType(com.mongodb.reactivestreams.client.MongoClient.class)).isEmpty();
+        assertThat(context.getBeanNamesForType(ReactiveMongoTemplate.class)).isEmpty();
+        assertThat(context.getBeanNamesForType(ReactiveUserRepository.class)).isEmpty();
+        assertThat(context.getBeanNamesForType(com.mongodb.client.MongoClient.class)).hasSize(1);
+    }
+}
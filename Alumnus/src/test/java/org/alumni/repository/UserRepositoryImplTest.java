@@ -0,0 +1,88 @@
+package org.alumni.repository;
+
+import org.alumni.dto.DirectoryEntry;
+import org.alumni.dto.DirectoryFilter;
+import org.alumni.model.Role;
+import org.alumni.model.User;
+import org.alumni.support.InMemoryMongo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.util.TypeInformation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserRepositoryImplTest {
+
+    private InMemoryMongo mongo;
+    private MongoTemplate mongoTemplate;
+    private UserRepositoryImpl repository;
+
+    @BeforeEach
+    void start() {
+        mongo = InMemoryMongo.start();
+        mongoTemplate = mongo.template();
+        repository = new UserRepositoryImpl(mongoTemplate);
+    }
+
+    @AfterEach
+    void stop() {
+        mongo.close();
+    }
+
+    @Test
+    void everyDirectoryFilterThatPagesByIndexHasAnIndexEndingInId() {
+        Map<String, String> keys = new HashMap<>();
+        for (IndexDefinition index : indexes()) {
+            keys.put(index.getIndexOptions().getString("name"), index.getIndexKeys().keySet().toString());
+        }
+
+        assertThat(keys).containsEntry("role", "[role, _id]")
+                .containsEntry("role_company", "[role, companyName, _id]")
+                .containsEntry("company", "[companyName, _id]")
+                .containsEntry("role_college_branch", "[role, collegeName, branch, _id]")
+                .containsEntry("college_branch", "[collegeName, branch, _id]");
+    }
+
+    @Test
+    void roleOnlyPagesWalkEveryMatchingUserInIdOrder() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 95; i++) {
+            User user = new User();
+            user.setName("User " + i);
+            user.setEmail("page" + i + "@example.com");
+            user.setRole(i % 3 == 0 ? Role.ROLE_STUDENT : Role.ROLE_ALUMNI);
+            users.add(user);
+        }
+        mongoTemplate.insertAll(users);
+
+        List<String> seen = new ArrayList<>();
+        String afterId = null;
+        List<DirectoryEntry> page;
+        do {
+            page = repository.findDirectoryPage(new DirectoryFilter(Role.ROLE_STUDENT, null, null, null), afterId, 10);
+            page.forEach(entry -> seen.add(entry.getId()));
+            afterId = page.isEmpty() ? afterId : page.get(page.size() - 1).getId();
+        } while (page.size() == 10);
+
+        assertThat(seen).hasSize(32).doesNotHaveDuplicates().isSorted();
+    }
+
+    private List<IndexDefinition> indexes() {
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        MongoPersistentEntityIndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+        return StreamSupport.stream(resolver.resolveIndexFor(TypeInformation.of(User.class)).spliterator(), false)
+                .map(IndexDefinition.class::cast)
+                .toList();
+    }
+}
@@ -0,0 +1,116 @@
+package org.alumni.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserSearchIndexTest {
+
+    @Test
+    void findsUsersByNameAndCompanyPrefix() {
+        UserSearchIndex index = new UserSearchIndex();
+        index.put("1", "Ada Lovelace", "Analytical Engines");
+        index.put("2", "Alan Turing", "Bletchley Park");
+
+        assertThat(ids(index.search("lovel", 10))).containsExactly("1");
+        assertThat(ids(index.search("bletch", 10))).containsExactly("2");
+    }
+
+    @Test
+    void updatedAndRemovedUsersAreSearchedByTheirCurrentText() {
+        UserSearchIndex index = new UserSearchIndex();
+        index.put("1", "Ada Lovelace", "Acme");
+        index.put("1", "Ada Byron", "Acme");
+        index.put("2", "Grace Hopper", "Navy");
+        index.remove("2");
+
+        assertThat(ids(index.search("lovelace", 10))).isEmpty();
+        assertThat(ids(index.search("byron", 10))).containsExactly("1");
+        assertThat(ids(index.search("hopper", 10))).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.tombstones()).isEqualTo(2);
+    }
+
+    @Test
+    void compactionDropsTombstonesAndKeepsResultsAndRanking() {
+        UserSearchIndex index = new UserSearchIndex();
+        for (int i = 0; i < 2_000; i++) {
+            index.put("user-" + i, "Person " + i + " Smith", "Company " + (i % 50));
+        }
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 2_000; i += 2) {
+                index.put("user-" + i, "Person " + i + " Smith " + round, "Company " + (i % 50));
+            }
+        }
+        for (int i = 1; i < 2_000; i += 4) {
+            index.remove("user-" + i);
+        }
+        List<UserSearchIndex.Hit> before = index.search("smith", 50);
+        List<UserSearchIndex.Hit> companyBefore = index.search("company 7", 50);
+        long bytesBefore = index.estimatedBytes();
+
+        index.compact();
+
+        assertThat(index.tombstones()).isZero();
+        assertThat(index.size()).isEqualTo(1_500);
+        assertThat(index.search("smith", 50)).isEqualTo(before);
+        assertThat(index.search("company 7", 50)).isEqualTo(companyBefore);
+        assertThat(ids(index.search("person 1 smith", 50))).doesNotContain("user-1");
+        assertThat(index.estimatedBytes()).isLessThan(bytesBefore);
+    }
+
+    @Test
+    void theIndexStaysTheSameSizeUnderRepeatedUpdatesWhenCompacted() {
+        UserSearchIndex index = new UserSearchIndex();
+        for (int i = 0; i < 1_000; i++) {
+            index.put("user-" + i, "Person " + i, "Company " + (i % 20));
+        }
+        index.compact();
+        long settled = index.estimatedBytes();
+
+        for (int round = 0; round < 20; round++) {
+            for (int i = 0; i < 1_000; i++) {
+                index.put("user-" + i, "Person " + i + (round % 2 == 0 ? " Junior" : ""), "Company " + (i % 20));
+            }
+            index.compact();
+        }
+
+        assertThat(index.size()).isEqualTo(1_000);
+        assertThat(index.estimatedBytes()).isLessThan(settled * 2);
+        assertThat(ids(index.search("person 42", 1))).containsExactly("user-42");
+    }
+
+    @Test
+    void compactingAnIndexWithoutTombstonesChangesNothing() {
+        UserSearchIndex index = new UserSearchIndex();
+        index.put("1", "Ada Lovelace", "Acme");
+        long bytes = index.estimatedBytes();
+
+        index.compact();
+
+        assertThat(index.estimatedBytes()).isEqualTo(bytes);
+        assertThat(ids(index.search("ada", 10))).containsExactly("1");
+    }
+
+    @Test
+    void theByteEstimateIsKeptUpToDateAsUsersAreAdded() {
+        UserSearchIndex index = new UserSearchIndex();
+        long empty = index.estimatedBytes();
+
+        index.put("1", "Ada Lovelace", "Acme");
+        long one = index.estimatedBytes();
+        index.put("2", "Alan Turing", "Acme");
+        long two = index.estimatedBytes();
+
+        assertThat(one).isGreaterThan(empty);
+        // The second user brings its own strings and postings but shares the company name.
+        assertThat(two).isGreaterThan(one);
+        assertThat(two - one).isLessThan(one - empty);
+    }
+
+    private static List<String> ids(List<UserSearchIndex.Hit> hits) {
+        return hits.stream().map(UserSearchIndex.Hit::id).toList();
+    }
+}
@@ -0,0 +1,30 @@
+package org.alumni.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CostAwareBCryptPasswordEncoderTest {
+
+    private final CostAwareBCryptPasswordEncoder encoder = new CostAwareBCryptPasswordEncoder(6);
+
+    @Test
+    void upgradesWeakerHashes() {
+        assertThat(encoder.upgradeEncoding(BCrypt.hashpw("secret", BCrypt.gensalt(5)))).isTrue();
+    }
+
+    @Test
+    void keepsHashesAtOrAboveTheCurrentCost() {
+        // A replica that calibrated higher wrote these; rehashing them down would flip-flop between nodes.
+        assertThat(encoder.upgradeEncoding(BCrypt.hashpw("secret", BCrypt.gensalt(6)))).isFalse();
+        assertThat(encoder.upgradeEncoding(BCrypt.hashpw("secret", BCrypt.gensalt(7)))).isFalse();
+    }
+
+    @Test
+    void readsTheCostFromTheHash() {
+        assertThat(CostAwareBCryptPasswordEncoder.costOf("$2a$12$abcdefghijklmnopqrstuv")).isEqualTo(12);
+        assertThat(CostAwareBCryptPasswordEncoder.costOf("plain-text")).isEqualTo(-1);
+        assertThat(CostAwareBCryptPasswordEncoder.costOf(null)).isEqualTo(-1);
+    }
+}
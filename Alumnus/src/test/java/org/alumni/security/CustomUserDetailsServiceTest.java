@@ -0,0 +1,30 @@
+package org.alumni.security;
+
+import org.alumni.event.UserCredentialsChangedEvent;
+import org.alumni.model.Role;
+import org.alumni.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class CustomUserDetailsServiceTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final CustomUserDetailsService service = new CustomUserDetailsService(userRepository, eventPublisher);
+
+    @Test
+    void aRehashIsStoredAndAnnounced() {
+        UserPrincipal principal = UserPrincipal.fromToken("id-1", "ada@example.com", Role.ROLE_ALUMNI, 0L, 0L)
+                .withPassword("$2a$05$old");
+
+        UserPrincipal updated = (UserPrincipal) service.updatePassword(principal, "$2a$06$new");
+
+        assertThat(updated.getPassword()).isEqualTo("$2a$06$new");
+        verify(userRepository).updatePasswordByEmail("ada@example.com", "$2a$06$new");
+        verify(eventPublisher).publishEvent(new UserCredentialsChangedEvent("ada@example.com"));
+    }
+}
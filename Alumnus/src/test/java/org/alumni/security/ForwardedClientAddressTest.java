@@ -0,0 +1,66 @@
+package org.alumni.security;
+
+import org.alumni.support.InMemoryMongo;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Requests reach the real server from a loopback "load balancer", so the per-IP buckets must key
+ * on X-Forwarded-For rather than on the balancer's address.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.security.rate-limit.enabled=true",
+        "app.security.rate-limit.endpoints.login.per-ip.capacity=1",
+        "app.security.rate-limit.endpoints.login.per-ip.refill-period=1h"
+})
+@ActiveProfiles("test")
+class ForwardedClientAddressTest {
+
+    private static final InMemoryMongo MONGO = InMemoryMongo.start();
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", MONGO::uri);
+    }
+
+    @AfterAll
+    static void stopMongo() {
+        MONGO.close();
+    }
+
+    @Test
+    void clientsBehindTheSameBalancerGetTheirOwnBuckets() throws Exception {
+        assertThat(login("203.0.113.10", "first@example.com")).isNotEqualTo(429);
+        assertThat(login("203.0.113.10", "second@example.com")).isEqualTo(429);
+
+        assertThat(login("203.0.113.20", "third@example.com")).isNotEqualTo(429);
+    }
+
+    private int login(String clientAddress, String email) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .header("X-Forwarded-For", clientAddress)
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"email\":\"" + email + "\",\"password\":\"password123\"}"))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
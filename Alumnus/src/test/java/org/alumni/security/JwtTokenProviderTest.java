@@ -0,0 +1,44 @@
+package org.alumni.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtTokenProviderTest {
+
+    @Test
+    void aSecretThatIsNotBase64FailsStartupNamingTheProperty() {
+        assertThatThrownBy(() -> provider("your-super-secret-and-long-jwt-key-that-is-base64-encoded"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageStartingWith("app.jwt-secret must be a base64-encoded key");
+    }
+
+    @Test
+    void aSecretShorterThan32BytesFailsStartupNamingTheProperty() {
+        assertThatThrownBy(() -> provider(Base64.getEncoder().encodeToString("too-short".getBytes())))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageStartingWith("app.jwt-secret must be a base64-encoded key");
+    }
+
+    @Test
+    void aValidSecretSignsTokensItCanVerify() {
+        JwtTokenProvider provider = provider(Base64.getEncoder().encodeToString(new byte[64]));
+        String token = provider.generateToken(new UsernamePasswordAuthenticationToken("ada@example.com", null, List.of()));
+
+        assertThat(provider.verify(token).isValid()).isTrue();
+    }
+
+    private static JwtTokenProvider provider(String secret) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", secret);
+        ReflectionTestUtils.setField(provider, "jwtExpirationDate", 60_000L);
+        provider.init();
+        return provider;
+    }
+}
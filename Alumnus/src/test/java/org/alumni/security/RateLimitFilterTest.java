@@ -0,0 +1,152 @@
+package org.alumni.security;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private static final String BODY = "{\"email\":\"ada@example.com\",\"password\":\"password123\"}";
+
+    @Test
+    void aBlockingReaderGetsTheWholeBody() throws IOException {
+        ContainerStream container = new ContainerStream(BODY);
+        RateLimitFilter.PrefixedBodyRequest request = wrap(container, 10);
+
+        assertThat(new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(BODY);
+    }
+
+    @Test
+    void anAsyncReaderGetsTheInspectedBytesBeforeTheRest() throws IOException {
+        ContainerStream container = new ContainerStream(BODY);
+        ServletInputStream in = wrap(container, 10).getInputStream();
+        AsyncReader reader = new AsyncReader(in);
+
+        in.setReadListener(reader);
+        container.listener.onDataAvailable();
+        container.listener.onAllDataRead();
+
+        assertThat(reader.finished).isTrue();
+        assertThat(reader.body()).isEqualTo(BODY);
+    }
+
+    @Test
+    void anAsyncReaderOfABodyInspectedToTheEndIsStillHandedTheBytes() throws IOException {
+        // The whole body fits in the inspected prefix, so the container only reports the end.
+        ContainerStream container = new ContainerStream(BODY);
+        ServletInputStream in = wrap(container, BODY.length() + 1).getInputStream();
+        AsyncReader reader = new AsyncReader(in);
+
+        assertThat(in.isReady()).isTrue();
+        in.setReadListener(reader);
+        container.listener.onAllDataRead();
+
+        assertThat(reader.body()).isEqualTo(BODY);
+        assertThat(reader.finished).isTrue();
+        assertThat(in.isFinished()).isTrue();
+    }
+
+    @Test
+    void errorsFromTheContainerReachTheReader() {
+        ContainerStream container = new ContainerStream(BODY);
+        ServletInputStream in = wrap(container, 10).getInputStream();
+        AsyncReader reader = new AsyncReader(in);
+        in.setReadListener(reader);
+
+        container.listener.onError(new IOException("connection reset"));
+
+        assertThat(reader.error).hasMessage("connection reset");
+    }
+
+    private static RateLimitFilter.PrefixedBodyRequest wrap(ContainerStream container, int inspected) {
+        MockHttpServletRequest original = new MockHttpServletRequest() {
+            @Override
+            public ServletInputStream getInputStream() {
+                return container;
+            }
+        };
+        try {
+            return new RateLimitFilter.PrefixedBodyRequest(original, container.readNBytes(inspected));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Stands in for the container's request stream: all bytes are ready, and the listener is
+     * kept so the test can make the callbacks the container would make.
+     */
+    private static final class ContainerStream extends ServletInputStream {
+        private final ByteArrayInputStream bytes;
+        ReadListener listener;
+
+        ContainerStream(String body) {
+            this.bytes = new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int read() {
+            return bytes.read();
+        }
+
+        @Override
+        public boolean isFinished() {
+            return bytes.available() == 0;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            this.listener = readListener;
+        }
+    }
+
+    /**
+     * Reads the way a non-blocking servlet reader does: only while the stream says it is ready.
+     */
+    private static final class AsyncReader implements ReadListener {
+        private final ServletInputStream in;
+        private final ByteArrayOutputStream read = new ByteArrayOutputStream();
+        boolean finished;
+        Throwable error;
+
+        AsyncReader(ServletInputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public void onDataAvailable() throws IOException {
+            byte[] buffer = new byte[8];
+            int n;
+            while (in.isReady() && (n = in.read(buffer)) != -1) {
+                read.write(buffer, 0, n);
+            }
+        }
+
+        @Override
+        public void onAllDataRead() {
+            finished = true;
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error = t;
+        }
+
+        String body() {
+            return read.toString(StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.alumni.security;
+
+import org.alumni.event.UserCredentialsChangedEvent;
+import org.alumni.model.Role;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerifiedTokenCacheTest {
+
+    private static final Date IN_AN_HOUR = new Date(System.currentTimeMillis() + 3_600_000);
+
+    @Test
+    void invalidatingAUserDropsOnlyTheirTokens() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, 1_000, Duration.ofMinutes(15));
+        cache.put("ada-phone", principal("ada@example.com"), "jti-1", IN_AN_HOUR);
+        cache.put("ada-laptop", principal("ada@example.com"), "jti-2", IN_AN_HOUR);
+        cache.put("grace-phone", principal("grace@example.com"), "jti-3", IN_AN_HOUR);
+
+        cache.invalidateUser("ada@example.com");
+
+        assertThat(cache.get("ada-phone")).isNull();
+        assertThat(cache.get("ada-laptop")).isNull();
+        assertThat(cache.get("grace-phone")).isNotNull();
+        assertThat(cache.indexedKeys()).isEqualTo(1);
+    }
+
+    @Test
+    void aCredentialsChangedEventInvalidatesTheUser() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, 1_000, Duration.ofMinutes(15));
+        cache.put("ada-phone", principal("ada@example.com"), "jti-1", IN_AN_HOUR);
+
+        cache.onCredentialsChanged(new UserCredentialsChangedEvent("ada@example.com"));
+
+        assertThat(cache.get("ada-phone")).isNull();
+    }
+
+    @Test
+    void theSameTokenCachedAgainStaysIndexed() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, 1_000, Duration.ofMinutes(15));
+        cache.put("ada-phone", principal("ada@example.com"), "jti-1", IN_AN_HOUR);
+        cache.put("ada-phone", principal("ada@example.com"), "jti-1", IN_AN_HOUR);
+
+        cache.invalidateUser("ada@example.com");
+
+        assertThat(cache.get("ada-phone")).isNull();
+    }
+
+    @Test
+    void evictedTokensLeaveTheIndex() throws InterruptedException {
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, 10, Duration.ofMinutes(15));
+        for (int i = 0; i < 1_000; i++) {
+            cache.put("token-" + i, principal("user" + (i % 50) + "@example.com"), "jti-" + i, IN_AN_HOUR);
+        }
+
+        // Removal notifications are delivered asynchronously.
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (cache.indexedKeys() > 10 && System.nanoTime() < deadline) {
+            cache.get("token-0");
+            Thread.sleep(10);
+        }
+        assertThat(cache.indexedKeys()).isLessThanOrEqualTo(10);
+    }
+
+    @Test
+    void expiredTokensAreNotServed() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, 1_000, Duration.ofMinutes(15));
+        cache.put("expired", principal("ada@example.com"), "jti-1", new Date(System.currentTimeMillis() - 1_000));
+
+        assertThat(cache.get("expired")).isNull();
+    }
+
+    private static UserPrincipal principal(String email) {
+        return UserPrincipal.fromToken("id-" + email, email, Role.ROLE_STUDENT, 0L, System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,175 @@
+package org.alumni.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.alumni.event.ProfileUpdatedEvent;
+import org.alumni.event.TokenRevokedEvent;
+import org.alumni.event.UserCredentialsChangedEvent;
+import org.alumni.model.InvalidationMessage;
+import org.alumni.search.UserSearchService;
+import org.alumni.security.RevokedTokenRegistry;
+import org.alumni.security.VerifiedTokenCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Two buses on one shared log stand in for two application nodes. The log is an in-memory
+ * stand-in for the capped collection, which the embedded test MongoDB cannot tail.
+ */
+class CacheInvalidationBusTest {
+
+    private static final long PROPAGATION_MILLIS = 5_000;
+
+    private SharedLog log;
+    private Node first;
+    private Node second;
+
+    @BeforeEach
+    void startNodes() {
+        log = new SharedLog();
+        first = new Node(log);
+        second = new Node(log);
+        first.bus.start();
+        second.bus.start();
+    }
+
+    @AfterEach
+    void stopNodes() {
+        first.bus.destroy();
+        second.bus.destroy();
+    }
+
+    @Test
+    void changesOnOneNodeReachTheOtherNodesCaches() {
+        first.bus.onCredentialsChanged(new UserCredentialsChangedEvent("ada@example.com"));
+        first.bus.onTokenRevoked(new TokenRevokedEvent("token-1"));
+        first.bus.onProfileUpdated(new ProfileUpdatedEvent("user-1", 3));
+
+        verify(second.tokenCache, timeout(PROPAGATION_MILLIS)).invalidateUser("ada@example.com");
+        awaitRevoked(second, "token-1");
+        verify(second.profileVersions, timeout(PROPAGATION_MILLIS)).markChanged("user-1");
+    }
+
+    @Test
+    void changesPropagateInBothDirections() {
+        second.bus.onCredentialsChanged(new UserCredentialsChangedEvent("grace@example.com"));
+
+        verify(first.tokenCache, timeout(PROPAGATION_MILLIS)).invalidateUser("grace@example.com");
+    }
+
+    @Test
+    void nodesSkipTheirOwnMessages() {
+        first.bus.onCredentialsChanged(new UserCredentialsChangedEvent("ada@example.com"));
+
+        verify(second.tokenCache, timeout(PROPAGATION_MILLIS)).invalidateUser("ada@example.com");
+        // The publishing node updated its own caches before the event; the bus leaves them alone.
+        verify(first.tokenCache, never()).invalidateUser(any());
+        verify(first.profileVersions, never()).markChanged(any());
+    }
+
+    @Test
+    void flushesDoNotDependOnTheSharedScheduler() {
+        // No Spring scheduler exists in this test, so the bus must be flushing on its own thread.
+        first.bus.onTokenRevoked(new TokenRevokedEvent("token-2"));
+
+        awaitRevoked(second, "token-2");
+        verify(second.profileVersions, never()).markChanged(any());
+    }
+
+    @Test
+    void aNodeStartingLateReplaysRecentChanges() {
+        first.bus.onTokenRevoked(new TokenRevokedEvent("token-3"));
+        awaitRevoked(second, "token-3");
+
+        Node third = new Node(log);
+        third.bus.start();
+        try {
+            awaitRevoked(third, "token-3");
+        } finally {
+            third.bus.destroy();
+        }
+    }
+
+    @Test
+    void messagesThatFailToPublishGoOutWithALaterFlush() {
+        log.failNextAppends(3);
+
+        first.bus.onCredentialsChanged(new UserCredentialsChangedEvent("ada@example.com"));
+
+        verify(second.tokenCache, timeout(PROPAGATION_MILLIS)).invalidateUser("ada@example.com");
+    }
+
+    // markRevoked is synchronized, so verify(mock, timeout(..)) would hold the mock's monitor
+    // while it waits and block the delivery it is waiting for. Poll with short verifications instead.
+    private static void awaitRevoked(Node node, String tokenId) {
+        await().atMost(Duration.ofMillis(PROPAGATION_MILLIS))
+                .untilAsserted(() -> verify(node.revokedTokens).markRevoked(tokenId));
+    }
+
+    private static final class Node {
+        final VerifiedTokenCache tokenCache = mock(VerifiedTokenCache.class);
+        final RevokedTokenRegistry revokedTokens = mock(RevokedTokenRegistry.class);
+        final UserSearchService userSearchService = mock(UserSearchService.class);
+        final ProfileVersionTracker profileVersions = mock(ProfileVersionTracker.class);
+        final CacheInvalidationBus bus;
+
+        Node(InvalidationLog log) {
+            this.bus = new CacheInvalidationBus(log, tokenCache, revokedTokens, userSearchService,
+                    profileVersions, new SimpleMeterRegistry(), true, Duration.ofMillis(20), Duration.ofSeconds(1));
+        }
+    }
+
+    /**
+     * Delivers each append to every follower, in order, on the appending thread.
+     */
+    private static final class SharedLog implements InvalidationLog {
+        private final List<InvalidationMessage> messages = new ArrayList<>();
+        private final List<Consumer<InvalidationMessage>> followers = new ArrayList<>();
+        private final AtomicInteger failures = new AtomicInteger();
+
+        void failNextAppends(int count) {
+            failures.set(count);
+        }
+
+        @Override
+        public void open() {
+        }
+
+        @Override
+        public synchronized void append(List<InvalidationMessage> batch) {
+            if (failures.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                throw new DataAccessResourceFailureException("Mongo is down");
+            }
+            messages.addAll(batch);
+            for (InvalidationMessage message : batch) {
+                followers.forEach(follower -> follower.accept(message));
+            }
+        }
+
+        @Override
+        public synchronized Subscription follow(Date since, Consumer<InvalidationMessage> listener) {
+            messages.stream().filter(message -> !message.getPublishedAt().before(since)).forEach(listener);
+            followers.add(listener);
+            return () -> {
+                synchronized (this) {
+                    followers.remove(listener);
+                }
+            };
+        }
+    }
+}
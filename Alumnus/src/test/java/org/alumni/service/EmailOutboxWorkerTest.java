@@ -0,0 +1,231 @@
+package org.alumni.service;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.alumni.model.OutboxEmail;
+import org.alumni.model.OutboxStatus;
+import org.alumni.repository.OutboxEmailRepository;
+import org.alumni.support.InMemoryMongo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static java.time.temporal.ChronoUnit.SECONDS;
+
+/**
+ * The outbox worker against an in-process MongoDB and SMTP server.
+ */
+class EmailOutboxWorkerTest {
+
+    private static final Duration INITIAL_BACKOFF = Duration.ofSeconds(30);
+    private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+    private static final Duration LEASE = Duration.ofMinutes(2);
+    private static final int MAX_ATTEMPTS = 3;
+
+    private InMemoryMongo mongo;
+    private MongoTemplate mongoTemplate;
+    private OutboxEmailRepository repository;
+    private EmailService emailService;
+    private GreenMail smtp;
+
+    @BeforeEach
+    void start() {
+        mongo = InMemoryMongo.start();
+        mongoTemplate = mongo.template();
+        repository = new MongoRepositoryFactory(mongoTemplate).getRepository(OutboxEmailRepository.class);
+        emailService = new EmailService(repository);
+        smtp = new GreenMail(new ServerSetup(0, "127.0.0.1", ServerSetup.PROTOCOL_SMTP).dynamicPort());
+        smtp.start();
+    }
+
+    @AfterEach
+    void stop() {
+        smtp.stop();
+        mongo.close();
+    }
+
+    @Test
+    void deliversQueuedEmail() {
+        emailService.sendPasswordResetEmail("ada@example.com", "Ada", "https://example.com/reset");
+
+        worker(smtp.getSmtp().getPort(), 50).drain();
+
+        assertThat(smtp.getReceivedMessages()).hasSize(1);
+        OutboxEmail email = only();
+        assertThat(email.getStatus()).isEqualTo(OutboxStatus.SENT);
+        assertThat(email.getAttempts()).isEqualTo(1);
+        assertThat(email.getSentAt()).isNotNull();
+        assertThat(email.getLockedUntil()).isNull();
+    }
+
+    @Test
+    void drainsMoreThanOneBatchPerPass() {
+        for (int i = 0; i < 7; i++) {
+            emailService.sendPasswordResetEmail("user" + i + "@example.com", "User", "https://example.com/reset");
+        }
+
+        worker(smtp.getSmtp().getPort(), 3).drain();
+
+        assertThat(smtp.getReceivedMessages()).hasSize(7);
+        assertThat(repository.countByStatus(OutboxStatus.SENT)).isEqualTo(7);
+    }
+
+    @Test
+    void failedDeliveriesBackOffExponentially() {
+        emailService.sendPasswordResetEmail("ada@example.com", "Ada", "https://example.com/reset");
+        EmailOutboxWorker failing = worker(closedPort(), 50);
+
+        Instant firstTry = Instant.now();
+        failing.drain();
+        OutboxEmail afterFirst = only();
+        assertThat(afterFirst.getStatus()).isEqualTo(OutboxStatus.PENDING);
+        assertThat(afterFirst.getAttempts()).isEqualTo(1);
+        assertThat(afterFirst.getLastError()).isNotBlank();
+        assertThat(afterFirst.getNextAttemptAt()).isCloseTo(firstTry.plus(INITIAL_BACKOFF), within(5, SECONDS));
+
+        makeDue(afterFirst);
+        Instant secondTry = Instant.now();
+        failing.drain();
+        OutboxEmail afterSecond = only();
+        assertThat(afterSecond.getAttempts()).isEqualTo(2);
+        assertThat(afterSecond.getNextAttemptAt()).isCloseTo(secondTry.plus(INITIAL_BACKOFF.multipliedBy(2)), within(5, SECONDS));
+    }
+
+    @Test
+    void notYetDueEmailsAreLeftAlone() {
+        emailService.sendPasswordResetEmail("ada@example.com", "Ada", "https://example.com/reset");
+        worker(closedPort(), 50).drain();
+
+        worker(smtp.getSmtp().getPort(), 50).drain();
+
+        assertThat(smtp.getReceivedMessages()).isEmpty();
+        assertThat(only().getAttempts()).isEqualTo(1);
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() {
+        emailService.sendPasswordResetEmail("ada@example.com", "Ada", "https://example.com/reset");
+        EmailOutboxWorker failing = worker(closedPort(), 50);
+
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            failing.drain();
+            makeDue(only());
+        }
+
+        OutboxEmail email = only();
+        assertThat(email.getStatus()).isEqualTo(OutboxStatus.DEAD);
+        assertThat(email.getAttempts()).isEqualTo(MAX_ATTEMPTS);
+        assertThat(email.getLastError()).isNotBlank();
+
+        // Dead letters are never claimed again, even by a worker that could deliver them.
+        worker(smtp.getSmtp().getPort(), 50).drain();
+        assertThat(smtp.getReceivedMessages()).isEmpty();
+    }
+
+    @Test
+    void anExpiredLeaseFromACrashedWorkerIsTakenOver() {
+        // Claimed by a worker that died mid-batch: still SENDING, lease run out.
+        OutboxEmail abandoned = claimed("abandoned@example.com", Instant.now().minusSeconds(1));
+        // Claimed by a live worker: SENDING with a lease still running.
+        OutboxEmail inProgress = claimed("in-progress@example.com", Instant.now().plus(LEASE));
+
+        worker(smtp.getSmtp().getPort(), 50).drain();
+
+        assertThat(smtp.getReceivedMessages()).hasSize(1);
+        OutboxEmail takenOver = mongoTemplate.findById(abandoned.getId(), OutboxEmail.class);
+        assertThat(takenOver.getStatus()).isEqualTo(OutboxStatus.SENT);
+        assertThat(takenOver.getAttempts()).isEqualTo(2);
+        OutboxEmail untouched = mongoTemplate.findById(inProgress.getId(), OutboxEmail.class);
+        assertThat(untouched.getStatus()).isEqualTo(OutboxStatus.SENDING);
+        assertThat(untouched.getAttempts()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentWorkersDeliverEachEmailOnce() throws Exception {
+        int emails = 40;
+        for (int i = 0; i < emails; i++) {
+            emailService.sendPasswordResetEmail("user" + i + "@example.com", "User", "https://example.com/reset");
+        }
+
+        int workers = 4;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> runs = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(workers)) {
+            for (int i = 0; i < workers; i++) {
+                EmailOutboxWorker worker = worker(smtp.getSmtp().getPort(), 5);
+                runs.add(executor.submit(() -> {
+                    start.await();
+                    worker.drain();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> run : runs) {
+                run.get();
+            }
+        }
+
+        assertThat(smtp.getReceivedMessages()).hasSize(emails);
+        assertThat(repository.countByStatus(OutboxStatus.SENT)).isEqualTo(emails);
+        assertThat(mongoTemplate.findAll(OutboxEmail.class)).allSatisfy(email -> assertThat(email.getAttempts()).isEqualTo(1));
+    }
+
+    private EmailOutboxWorker worker(int smtpPort, int batchSize) {
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+        sender.setHost("127.0.0.1");
+        sender.setPort(smtpPort);
+        return new EmailOutboxWorker(mongoTemplate, repository, sender, new SimpleMeterRegistry(),
+                batchSize, MAX_ATTEMPTS, INITIAL_BACKOFF, MAX_BACKOFF, LEASE);
+    }
+
+    private OutboxEmail claimed(String to, Instant lockedUntil) {
+        OutboxEmail email = new OutboxEmail();
+        email.setFrom("noreply@alumniconnect.com");
+        email.setTo(to);
+        email.setSubject("Subject");
+        email.setBody("Body");
+        email.setStatus(OutboxStatus.SENDING);
+        email.setAttempts(1);
+        email.setCreatedAt(Instant.now().minusSeconds(300));
+        email.setNextAttemptAt(Instant.now().minusSeconds(300));
+        email.setLockedUntil(lockedUntil);
+        return mongoTemplate.insert(email);
+    }
+
+    private void makeDue(OutboxEmail email) {
+        email.setNextAttemptAt(Instant.now().minusSeconds(1));
+        mongoTemplate.save(email);
+    }
+
+    private OutboxEmail only() {
+        List<OutboxEmail> all = mongoTemplate.findAll(OutboxEmail.class);
+        assertThat(all).hasSize(1);
+        return all.get(0);
+    }
+
+    // A port nothing listens on, so every SMTP connection is refused.
+    private static int closedPort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package org.alumni.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Work chained on a hashing task must run on the continuation executor, never on a hashing thread.
+ */
+class PasswordHashingServiceTest {
+
+    private final ExecutorService continuations =
+            Executors.newSingleThreadExecutor(new CustomizableThreadFactory("continuation-"));
+    private final PasswordHashingService service = new PasswordHashingService(NoOpPasswordEncoder.getInstance(),
+            new SimpleMeterRegistry(), continuations, 1, 4, 1);
+
+    @AfterEach
+    void stop() {
+        service.destroy();
+        continuations.shutdown();
+    }
+
+    @Test
+    void aSuccessfulTaskIsFollowedUpOnTheContinuationExecutor() throws Exception {
+        CountDownLatch chained = new CountDownLatch(1);
+        CompletableFuture<String> followUp = service.submit(() -> {
+            await(chained);
+            return "hash";
+        }).thenApply(result -> Thread.currentThread().getName());
+        chained.countDown();
+
+        assertThat(followUp.get(5, TimeUnit.SECONDS)).startsWith("continuation-");
+    }
+
+    @Test
+    void aFailedTaskIsFollowedUpOnTheContinuationExecutor() throws Exception {
+        CountDownLatch chained = new CountDownLatch(1);
+        CompletableFuture<String> followUp = service.<String>submit(() -> {
+            await(chained);
+            throw new IllegalStateException("bad credentials");
+        }).handle((result, failure) -> failure.getCause().getMessage() + " on " + Thread.currentThread().getName());
+        chained.countDown();
+
+        assertThat(followUp.get(5, TimeUnit.SECONDS)).startsWith("bad credentials on continuation-");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package org.alumni.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.alumni.dto.DirectoryFilter;
+import org.alumni.dto.UserExportRow;
+import org.alumni.exception.ServiceBusyException;
+import org.alumni.model.Role;
+import org.alumni.model.User;
+import org.alumni.repository.UserRepository;
+import org.alumni.repository.UserRepositoryImpl;
+import org.alumni.support.InMemoryMongo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserExportServiceTest {
+
+    private static final int USERS = 2_500;
+    private static final int BATCH_SIZE = 100;
+    private static final int FLUSH_ROWS = 250;
+
+    private InMemoryMongo mongo;
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void seed() {
+        mongo = InMemoryMongo.start();
+        MongoTemplate mongoTemplate = mongo.template();
+        userRepository = new MongoRepositoryFactory(mongoTemplate)
+                .getRepository(UserRepository.class, RepositoryFragments.just(new UserRepositoryImpl(mongoTemplate)));
+        List<User> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setName("User " + i);
+            user.setEmail("export" + i + "@example.com");
+            user.setPassword("$2a$10$secret-hash-" + i);
+            user.setRole(i % 2 == 0 ? Role.ROLE_ALUMNI : Role.ROLE_STUDENT);
+            user.setCompanyName(i % 2 == 0 ? "Acme" : null);
+            users.add(user);
+        }
+        mongoTemplate.insertAll(users);
+    }
+
+    @AfterEach
+    void stop() {
+        mongo.close();
+    }
+
+    @Test
+    void exportsEveryMatchingUserAcrossCursorBatches() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long rows = service(userRepository, 2).export(filter(null), UserExportService.Format.NDJSON, output);
+
+        String body = output.toString(StandardCharsets.UTF_8);
+        assertThat(rows).isEqualTo(USERS);
+        assertThat(body.split("\n")).hasSize(USERS);
+        assertThat(body).endsWith("\n").doesNotContain("password").doesNotContain("secret-hash");
+    }
+
+    @Test
+    void csvHasAHeaderAndHonoursTheFilter() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long rows = service(userRepository, 2).export(filter(Role.ROLE_ALUMNI), UserExportService.Format.CSV, output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(rows).isEqualTo(USERS / 2);
+        assertThat(lines).hasSize(USERS / 2 + 1);
+        assertThat(lines[0]).isEqualTo("id,name,email,phone,role,companyName,companyRole,collegeName,branch,collegeId");
+        assertThat(lines[1]).contains("ROLE_ALUMNI", "Acme").doesNotContain("secret-hash");
+    }
+
+    @Test
+    void rowsAreWrittenAsTheyAreReadRatherThanCollectedFirst() throws IOException {
+        // Far more rows than are worth holding; the source counts how far it has been read.
+        long total = 200_000;
+        AtomicLong produced = new AtomicLong();
+        UserRepository lazy = generating(total, produced, new AtomicBoolean());
+        LineCountingOutput output = new LineCountingOutput(produced);
+
+        long rows = service(lazy, 1).export(filter(null), UserExportService.Format.NDJSON, output);
+
+        assertThat(rows).isEqualTo(total);
+        assertThat(output.lines).isEqualTo(total);
+        // Output reached the client at least every FLUSH_ROWS rows, never further behind the source than that.
+        assertThat(output.flushes).isGreaterThanOrEqualTo(total / FLUSH_ROWS);
+        assertThat(output.maxLag).isLessThanOrEqualTo(FLUSH_ROWS);
+    }
+
+    @Test
+    void aClientDisconnectStopsReadingAndClosesTheCursor() {
+        long total = 200_000;
+        AtomicLong produced = new AtomicLong();
+        AtomicBoolean closed = new AtomicBoolean();
+        UserRepository lazy = generating(total, produced, closed);
+        UserExportService service = service(lazy, 1);
+
+        assertThatThrownBy(() -> service.export(filter(null), UserExportService.Format.NDJSON, new DisconnectingOutput(64 * 1024)))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Broken pipe");
+
+        assertThat(closed).isTrue();
+        assertThat(produced.get()).isLessThan(total / 10);
+    }
+
+    @Test
+    void aDisconnectMidExportFreesTheSlotForTheNextExport() throws IOException {
+        UserExportService service = service(userRepository, 1);
+
+        assertThatThrownBy(() -> service.export(filter(null), UserExportService.Format.NDJSON, new DisconnectingOutput(4 * 1024)))
+                .isInstanceOf(IOException.class);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        assertThat(service.export(filter(null), UserExportService.Format.NDJSON, output)).isEqualTo(USERS);
+    }
+
+    @Test
+    void exportsBeyondTheLimitAreTurnedAway() throws Exception {
+        UserExportService service = service(userRepository, 1);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        OutputStream stalled = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                writing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+            }
+        };
+        CompletableFuture<Long> first = CompletableFuture.supplyAsync(() -> {
+            try {
+                return service.export(filter(null), UserExportService.Format.NDJSON, stalled);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(writing.await(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> service.export(filter(null), UserExportService.Format.CSV, new ByteArrayOutputStream()))
+                .isInstanceOf(ServiceBusyException.class);
+
+        release.countDown();
+        assertThat(first.get(30, TimeUnit.SECONDS)).isEqualTo(USERS);
+    }
+
+    private static UserExportService service(UserRepository repository, int maxConcurrent) {
+        return new UserExportService(repository, new ObjectMapper(), BATCH_SIZE, FLUSH_ROWS, maxConcurrent);
+    }
+
+    private static DirectoryFilter filter(Role role) {
+        return new DirectoryFilter(role, null, null, null);
+    }
+
+    // A repository whose export stream makes each row only when it is pulled, like a cursor.
+    private static UserRepository generating(long total, AtomicLong produced, AtomicBoolean closed) {
+        UserRepository repository = mock(UserRepository.class);
+        when(repository.streamForExport(any(), anyInt())).thenAnswer(invocation -> Stream
+                .generate(() -> {
+                    UserExportRow row = new UserExportRow();
+                    long n = produced.incrementAndGet();
+                    row.setId(Long.toHexString(n));
+                    row.setName("User " + n);
+                    row.setEmail("user" + n + "@example.com");
+                    return row;
+                })
+                .limit(total)
+                .onClose(() -> closed.set(true)));
+        return repository;
+    }
+
+    private static final class LineCountingOutput extends OutputStream {
+        private final AtomicLong produced;
+        private long lines;
+        private long flushes;
+        private long maxLag;
+
+        private LineCountingOutput(AtomicLong produced) {
+            this.produced = produced;
+        }
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                write(bytes[i]);
+            }
+            maxLag = Math.max(maxLag, produced.get() - lines);
+        }
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+    }
+
+    // Accepts a number of bytes and then fails the way a closed socket does.
+    private static final class DisconnectingOutput extends OutputStream {
+        private long remaining;
+
+        private DisconnectingOutput(long accepted) {
+            this.remaining = accepted;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (--remaining < 0) {
+                throw new IOException("Broken pipe");
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package org.alumni.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.alumni.model.User;
+import org.alumni.support.InMemoryMongo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class UserImportServiceTest {
+
+    private static final String CSV_HEADER = "name,email,phone,password,role,companyName\n";
+
+    private InMemoryMongo mongo;
+    private MongoTemplate mongoTemplate;
+    private ValidatorFactory validatorFactory;
+    private UserImportService service;
+
+    @BeforeEach
+    void start() {
+        mongo = InMemoryMongo.start();
+        mongoTemplate = mongo.template();
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        service = new UserImportService(mongoTemplate, new BCryptPasswordEncoder(4), validatorFactory.getValidator(),
+                new ObjectMapper(), mock(ApplicationEventPublisher.class), 2, 2);
+    }
+
+    @AfterEach
+    void stop() {
+        service.destroy();
+        validatorFactory.close();
+        mongo.close();
+    }
+
+    @Test
+    void importsCsvRows() throws IOException {
+        List<JsonNode> report = importCsv(CSV_HEADER
+                + "Ada,ada@example.com,555-0100,password1,Alumni,Acme\n"
+                + "Grace,grace@example.com,555-0101,password2,Student,\n"
+                + "Alan,alan@example.com,555-0102,password3,Alumni,Bletchley\n");
+
+        assertThat(statuses(report)).containsExactly("CREATED", "CREATED", "CREATED");
+        assertThat(summary(report).get("created").asLong()).isEqualTo(3);
+        assertThat(mongoTemplate.count(new Query(), User.class)).isEqualTo(3);
+    }
+
+    @Test
+    void aMalformedCsvRowIsReportedAndTheRestAreImported() throws IOException {
+        List<JsonNode> report = importCsv(CSV_HEADER
+                + "Ada,ada@example.com,555-0100,password1,Alumni,Acme\n"
+                + "Grace,grace@example.com,555-0101,password2,Student,,one-column-too-many\n"
+                + "Alan,alan@example.com,555-0102,password3,Alumni,Bletchley\n");
+
+        JsonNode summary = summary(report);
+        assertThat(summary.get("rows").asLong()).isEqualTo(3);
+        assertThat(summary.get("created").asLong()).isEqualTo(2);
+        assertThat(summary.get("invalid").asLong()).isEqualTo(1);
+        assertThat(rowsWithStatus(report, "INVALID")).singleElement()
+                .satisfies(row -> assertThat(row.get("message").asText()).startsWith("Unreadable row"));
+    }
+
+    @Test
+    void anUnreadableCsvTailEndsTheImportWithASummary() throws IOException {
+        List<JsonNode> report = importCsv(CSV_HEADER
+                + "Ada,ada@example.com,555-0100,password1,Alumni,Acme\n"
+                + "\"Grace,grace@example.com,555-0101,password2,Student,\n");
+
+        JsonNode summary = summary(report);
+        assertThat(summary.get("created").asLong()).isEqualTo(1);
+        assertThat(summary.get("invalid").asLong()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void nullAndNonObjectNdjsonRowsAreRowErrors() throws IOException {
+        List<JsonNode> report = importNdjson(String.join("\n",
+                "{\"name\":\"Ada\",\"email\":\"ada@example.com\",\"phone\":\"555-0100\",\"password\":\"password1\",\"role\":\"Alumni\"}",
+                "null",
+                "[1,2,3]",
+                "42",
+                "\"just a string\"",
+                "{\"name\":\"broken\"",
+                "",
+                "{\"name\":\"Grace\",\"email\":\"grace@example.com\",\"phone\":\"555-0101\",\"password\":\"password2\",\"role\":\"Student\"}"));
+
+        assertThat(statuses(report)).containsExactly("CREATED", "INVALID", "INVALID", "INVALID", "INVALID", "INVALID", "CREATED");
+        assertThat(row(report, 2).get("message").asText()).isEqualTo("Row must be a JSON object.");
+        assertThat(row(report, 6).get("message").asText()).startsWith("Unreadable row");
+        JsonNode summary = summary(report);
+        assertThat(summary.get("rows").asLong()).isEqualTo(7);
+        assertThat(summary.get("created").asLong()).isEqualTo(2);
+        assertThat(summary.get("invalid").asLong()).isEqualTo(5);
+    }
+
+    @Test
+    void invalidRowsAreReportedPerRow() throws IOException {
+        List<JsonNode> report = importNdjson(String.join("\n",
+                "{\"name\":\"Ada\",\"email\":\"ada@example.com\",\"phone\":\"555-0100\",\"password\":\"password1\",\"role\":\"Alumni\"}",
+                "{\"name\":\"Ada\",\"email\":\"not-an-email\",\"phone\":\"555-0100\",\"password\":\"password1\",\"role\":\"Alumni\"}",
+                "{\"name\":\"Ada\",\"email\":\"ada2@example.com\",\"phone\":\"555-0100\",\"password\":\"password1\",\"role\":\"Wizard\"}"));
+
+        assertThat(statuses(report)).containsExactly("CREATED", "INVALID", "INVALID");
+        assertThat(row(report, 2).get("message").asText()).startsWith("email");
+        assertThat(row(report, 3).get("message").asText()).isEqualTo("Invalid role specified.");
+    }
+
+    private List<JsonNode> importCsv(String body) throws IOException {
+        return run(body, UserImportService.Format.CSV);
+    }
+
+    private List<JsonNode> importNdjson(String body) throws IOException {
+        return run(body, UserImportService.Format.NDJSON);
+    }
+
+    private List<JsonNode> run(String body, UserImportService.Format format) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        service.importUsers(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), format, output);
+        ObjectMapper mapper = new ObjectMapper();
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : output.toString(StandardCharsets.UTF_8).split("\n")) {
+            lines.add(mapper.readTree(line));
+        }
+        return lines;
+    }
+
+    // Invalid rows are reported as they are read and the others when their batch is written,
+    // so report lines are looked up by row number.
+    private static JsonNode row(List<JsonNode> report, long row) {
+        return report.subList(0, report.size() - 1).stream()
+                .filter(line -> line.get("row").asLong() == row)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    // The status of every row, in row order; the last report line is the summary.
+    private static List<String> statuses(List<JsonNode> report) {
+        return report.subList(0, report.size() - 1).stream()
+                .sorted((a, b) -> Long.compare(a.get("row").asLong(), b.get("row").asLong()))
+                .map(row -> row.get("status").asText())
+                .toList();
+    }
+
+    private static List<JsonNode> rowsWithStatus(List<JsonNode> report, String status) {
+        return report.subList(0, report.size() - 1).stream()
+                .filter(row -> status.equals(row.get("status").asText()))
+                .toList();
+    }
+
+    private static JsonNode summary(List<JsonNode> report) {
+        return report.get(report.size() - 1);
+    }
+}
@@ -0,0 +1,135 @@
+package org.alumni.social;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.alumni.exception.AppApiException;
+import org.alumni.support.JwksStandIn;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OidcTokenVerifierTest {
+
+    private JwksStandIn provider;
+
+    @BeforeEach
+    void startProvider() {
+        provider = JwksStandIn.start();
+        provider.addKey("key-1");
+    }
+
+    @AfterEach
+    void stopProvider() {
+        provider.close();
+    }
+
+    private OidcTokenVerifier verifier(Duration minRefreshInterval) {
+        JwksKeyCache keys = new JwksKeyCache(provider.jwksUri(), HttpClient.newHttpClient(), new ObjectMapper(),
+                Duration.ofSeconds(5), Duration.ofHours(1), minRefreshInterval);
+        return new OidcTokenVerifier("test", keys, List.of(JwksStandIn.ISSUER), List.of(JwksStandIn.AUDIENCE), 60);
+    }
+
+    @Test
+    void acceptsAValidToken() {
+        SocialIdentity identity = verifier(Duration.ZERO).verify(provider.idToken("key-1", "ada@example.com"));
+
+        assertThat(identity.email()).isEqualTo("ada@example.com");
+        assertThat(identity.provider()).isEqualTo("test");
+    }
+
+    @Test
+    void picksUpRotatedKeys() {
+        OidcTokenVerifier verifier = verifier(Duration.ZERO);
+        verifier.verify(provider.idToken("key-1", "ada@example.com"));
+
+        provider.addKey("key-2");
+        provider.retireKey("key-1");
+
+        assertThat(verifier.verify(provider.idToken("key-2", "ada@example.com")).email()).isEqualTo("ada@example.com");
+        assertThat(provider.fetches()).isEqualTo(2);
+    }
+
+    @Test
+    void rejectsAWrongIssuer() {
+        String token = provider.idToken("key-1", "https://attacker.test", JwksStandIn.AUDIENCE, "ada@example.com", true);
+
+        assertUnauthorized(() -> verifier(Duration.ZERO).verify(token));
+    }
+
+    @Test
+    void rejectsAWrongAudience() {
+        String token = provider.idToken("key-1", JwksStandIn.ISSUER, "someone-elses-client", "ada@example.com", true);
+
+        assertUnauthorized(() -> verifier(Duration.ZERO).verify(token));
+    }
+
+    @Test
+    void rejectsAnUnverifiedEmail() {
+        String token = provider.idToken("key-1", JwksStandIn.ISSUER, JwksStandIn.AUDIENCE, "ada@example.com", false);
+
+        assertUnauthorized(() -> verifier(Duration.ZERO).verify(token));
+    }
+
+    @Test
+    void rejectsATamperedToken() {
+        String token = provider.idToken("key-1", "ada@example.com");
+        String[] parts = token.split("\\.");
+        String forged = parts[0] + "." + parts[1] + "." + new StringBuilder(parts[2]).reverse();
+
+        assertUnauthorized(() -> verifier(Duration.ZERO).verify(forged));
+    }
+
+    @Test
+    void unknownKeyIdsFetchAtMostOncePerInterval() {
+        OidcTokenVerifier verifier = verifier(Duration.ofMinutes(1));
+        verifier.verify(provider.idToken("key-1", "ada@example.com"));
+
+        provider.addKey("unpublished");
+        provider.retireKey("unpublished");
+        for (int i = 0; i < 5; i++) {
+            assertUnauthorized(() -> verifier.verify(provider.idToken("unpublished", "ada@example.com")));
+        }
+
+        assertThat(provider.fetches()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentLoginsShareOneFetch() throws Exception {
+        OidcTokenVerifier verifier = verifier(Duration.ZERO);
+        provider.hold();
+        String token = provider.idToken("key-1", "ada@example.com");
+
+        int logins = 16;
+        List<Future<SocialIdentity>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < logins; i++) {
+                results.add(executor.submit(() -> verifier.verify(token)));
+            }
+            // Give every login time to find the fetch in flight, then let it finish.
+            Thread.sleep(300);
+            provider.release();
+            for (Future<SocialIdentity> result : results) {
+                assertThat(result.get().email()).isEqualTo("ada@example.com");
+            }
+        }
+
+        assertThat(provider.fetches()).isEqualTo(1);
+    }
+
+    private static void assertUnauthorized(Runnable verification) {
+        assertThatThrownBy(verification::run)
+                .isInstanceOfSatisfying(AppApiException.class,
+                        e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.UNAUTHORIZED));
+    }
+}
@@ -0,0 +1,52 @@
+package org.alumni.support;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.net.InetSocketAddress;
+
+/**
+ * An in-memory MongoDB wire-protocol server for tests, the same stand-in the load test uses.
+ * Tests that build their beans by hand use {@link #template()}; Spring Boot tests point
+ * spring.data.mongodb.uri at {@link #uri()}.
+ */
+public final class InMemoryMongo implements AutoCloseable {
+
+    public static final String DATABASE = "alumni_db";
+
+    private final MongoServer server;
+    private final String uri;
+    private final MongoClient client;
+
+    private InMemoryMongo(MongoServer server, String uri) {
+        this.server = server;
+        this.uri = uri;
+        this.client = MongoClients.create(uri);
+    }
+
+    public static InMemoryMongo start() {
+        MongoServer server = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = server.bind();
+        return new InMemoryMongo(server, "mongodb://" + address.getHostString() + ":" + address.getPort() + "/" + DATABASE);
+    }
+
+    public String uri() {
+        return uri;
+    }
+
+    /**
+     * A new template on a shared client; templates are cheap, so each simulated node can have its own.
+     */
+    public MongoTemplate template() {
+        return new MongoTemplate(client, DATABASE);
+    }
+
+    @Override
+    public void close() {
+        client.close();
+        server.shutdownNow();
+    }
+}
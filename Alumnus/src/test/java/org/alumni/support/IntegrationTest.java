@@ -0,0 +1,79 @@
+package org.alumni.support;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Boots the whole servlet application against an in-memory MongoDB shared by every test class,
+ * with the settings in application-test.properties. Tests use distinct emails instead of
+ * clearing the database.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public abstract class IntegrationTest {
+
+    private static final InMemoryMongo MONGO = InMemoryMongo.start();
+
+    @Autowired
+    protected MockMvc mockMvc;
+
+    @Autowired
+    protected MongoTemplate mongoTemplate;
+
+    @Autowired
+    protected ObjectMapper objectMapper;
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", MONGO::uri);
+    }
+
+    /**
+     * Performs a request, following it through async dispatch when the controller returned a future.
+     */
+    protected MvcResult perform(RequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request).andReturn();
+        if (result.getRequest().isAsyncStarted()) {
+            return mockMvc.perform(asyncDispatch(result)).andReturn();
+        }
+        return result;
+    }
+
+    protected MvcResult postJson(String path, Object body) throws Exception {
+        return perform(post(path).contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(body)));
+    }
+
+    protected JsonNode json(MvcResult result) throws Exception {
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+
+    /**
+     * Logs in with email and password.
+     * @return The access token.
+     */
+    protected String login(String email, String password) throws Exception {
+        MvcResult result = postJson("/api/auth/login", Map.of("email", email, "password", password));
+        if (result.getResponse().getStatus() != 200) {
+            throw new AssertionError("Login failed with " + result.getResponse().getStatus() + ": "
+                    + result.getResponse().getContentAsString());
+        }
+        return json(result).get("accessToken").asText();
+    }
+}
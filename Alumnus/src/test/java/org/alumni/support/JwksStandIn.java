@@ -0,0 +1,181 @@
+package org.alumni.support;
+
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A local OpenID provider's JWKS endpoint: publishes RSA keys by key id and signs ID tokens
+ * with them. Keys can be rotated while it runs, and fetches can be held back to test callers
+ * waiting on an in-flight fetch.
+ */
+public final class JwksStandIn implements AutoCloseable {
+
+    public static final String ISSUER = "https://issuer.test";
+    public static final String AUDIENCE = "test-client";
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final Map<String, KeyPair> published = new ConcurrentHashMap<>();
+    private final Map<String, KeyPair> retired = new ConcurrentHashMap<>();
+    private final AtomicInteger fetches = new AtomicInteger();
+    private volatile CountDownLatch gate;
+
+    private JwksStandIn(HttpServer server) {
+        this.server = server;
+    }
+
+    public static JwksStandIn start() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            JwksStandIn standIn = new JwksStandIn(server);
+            server.createContext("/certs", exchange -> {
+                standIn.fetches.incrementAndGet();
+                CountDownLatch held = standIn.gate;
+                if (held != null) {
+                    try {
+                        held.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                byte[] body = standIn.jwks().getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            server.setExecutor(standIn.executor);
+            server.start();
+            return standIn;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public URI jwksUri() {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/certs");
+    }
+
+    /**
+     * Publishes a new key; it is served from the next fetch on.
+     */
+    public void addKey(String keyId) {
+        published.put(keyId, generate());
+    }
+
+    /**
+     * Stops publishing a key, as a provider does some time after rotating to a new one.
+     * Tokens can still be signed with it.
+     */
+    public void retireKey(String keyId) {
+        KeyPair keyPair = published.remove(keyId);
+        if (keyPair != null) {
+            retired.put(keyId, keyPair);
+        }
+    }
+
+    public int fetches() {
+        return fetches.get();
+    }
+
+    /**
+     * Holds every fetch until {@link #release()}.
+     */
+    public void hold() {
+        gate = new CountDownLatch(1);
+    }
+
+    public void release() {
+        CountDownLatch held = gate;
+        gate = null;
+        if (held != null) {
+            held.countDown();
+        }
+    }
+
+    /**
+     * A valid ID token for a verified email, signed with the given key.
+     */
+    public String idToken(String keyId, String email) {
+        return idToken(keyId, ISSUER, AUDIENCE, email, true);
+    }
+
+    public String idToken(String keyId, String issuer, String audience, String email, boolean emailVerified) {
+        KeyPair keyPair = published.containsKey(keyId) ? published.get(keyId) : retired.get(keyId);
+        Instant now = Instant.now();
+        JwtBuilder builder = Jwts.builder()
+                .setHeaderParam("kid", keyId)
+                .setIssuer(issuer)
+                .setAudience(audience)
+                .setSubject("subject-" + email)
+                .claim("email", email)
+                .claim("email_verified", emailVerified)
+                .claim("name", "Test User")
+                .setIssuedAt(Date.from(now))
+                .setExpiration(Date.from(now.plusSeconds(300)));
+        return builder.signWith(keyPair.getPrivate(), SignatureAlgorithm.RS256).compact();
+    }
+
+    private String jwks() {
+        StringJoiner keys = new StringJoiner(",", "{\"keys\":[", "]}");
+        published.forEach((keyId, keyPair) -> {
+            RSAPublicKey key = (RSAPublicKey) keyPair.getPublic();
+            keys.add("{\"kty\":\"RSA\",\"use\":\"sig\",\"alg\":\"RS256\",\"kid\":\"" + keyId
+                    + "\",\"n\":\"" + base64url(key.getModulus()) + "\",\"e\":\"" + base64url(key.getPublicExponent()) + "\"}");
+        });
+        return keys.toString();
+    }
+
+    private static String base64url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        // Drop the sign byte BigInteger adds when the top bit is set.
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static KeyPair generate() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            return generator.generateKeyPair();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        release();
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}